@@ -0,0 +1,443 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code com.picocontainer.injectors.GeneratedFactory} for each class with
+ * {@code javax.inject.Inject} or {@code com.picocontainer.annotations.Inject} annotated
+ * constructors, fields or methods, so that {@code com.picocontainer.injectors.GeneratedInjection}
+ * can instantiate and inject it without reflection.
+ * <p>
+ * Only classes the generated code can reach are handled: the class has a single constructor,
+ * its injected members are neither private nor take parameterized types, and qualifiers are
+ * {@code javax.inject.Named} or {@code javax.inject.Qualifier} annotations. A note tells why
+ * other classes are left out, they are injected through reflection as before.
+ */
+@SupportedAnnotationTypes({GeneratedFactoryProcessor.JSR330_INJECT, GeneratedFactoryProcessor.PICO_INJECT})
+public class GeneratedFactoryProcessor extends AbstractProcessor {
+  static final String JSR330_INJECT = "javax.inject.Inject";
+  static final String PICO_INJECT = "com.picocontainer.annotations.Inject";
+
+  /**
+   * Same as {@code com.picocontainer.injectors.GeneratedFactory.SUFFIX}.
+   */
+  static final String SUFFIX = "$$PicoFactory";
+
+  private static final String FACTORY = "com.picocontainer.injectors.GeneratedFactory";
+  private static final String NAMED = "javax.inject.Named";
+  private static final String QUALIFIER = "javax.inject.Qualifier";
+  private static final String BIND = "com.picocontainer.annotations.Bind";
+  private static final String NULLABLE = "com.picocontainer.annotations.Nullable";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    final Set<TypeElement> components = new LinkedHashSet<>();
+
+    for (final TypeElement annotation : annotations) {
+      for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        final Element enclosing = element.getEnclosingElement();
+
+        if (enclosing instanceof TypeElement) {
+          components.add((TypeElement) enclosing);
+        }
+      }
+    }
+
+    for (final TypeElement component : components) {
+      try {
+        write(component, new Factory(component).source());
+      } catch (final UnsupportedComponentException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+            "No factory generated for " + component.getQualifiedName() + ", " + e.getMessage()
+                + ", it will be injected through reflection", component);
+      }
+    }
+
+    // Other processors may be interested in the injection annotations too
+    return false;
+  }
+
+  private void write(final TypeElement component, final String source) {
+    final PackageElement pkg = packageOf(component);
+    final String name = (pkg.isUnnamed() ? "" : pkg.getQualifiedName() + ".") + factorySimpleName(component);
+
+    try (Writer writer = processingEnv.getFiler().createSourceFile(name, component).openWriter()) {
+      writer.write(source);
+    } catch (final IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Cannot write " + name + ": " + e.getMessage(), component);
+    }
+  }
+
+  private String factorySimpleName(final TypeElement component) {
+    final String binaryName = processingEnv.getElementUtils().getBinaryName(component).toString();
+    final PackageElement pkg = packageOf(component);
+    return (pkg.isUnnamed() ? binaryName : binaryName.substring(pkg.getQualifiedName().length() + 1)) + SUFFIX;
+  }
+
+  private PackageElement packageOf(final Element element) {
+    return processingEnv.getElementUtils().getPackageOf(element);
+  }
+
+  /**
+   * The source of the factory of one component.
+   */
+  private final class Factory {
+    private final TypeElement component;
+    private final PackageElement pkg;
+    private final String componentName;
+
+    Factory(final TypeElement component) {
+      this.component = component;
+      this.pkg = packageOf(component);
+      this.componentName = component.getQualifiedName().toString();
+    }
+
+    String source() {
+      checkComponent();
+
+      final StringBuilder sb = new StringBuilder();
+
+      if (!pkg.isUnnamed()) {
+        sb.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+      }
+
+      sb.append("/**\n")
+          .append(" * Generated by ").append(GeneratedFactoryProcessor.class.getName())
+          .append(" for {@link ").append(componentName).append("}, do not edit.\n")
+          .append(" */\n")
+          .append("public final class ").append(factorySimpleName(component))
+          .append(" implements ").append(FACTORY).append('<').append(componentName).append("> {\n");
+
+      sb.append("  @Override\n")
+          .append("  public ").append(componentName).append(" newInstance(final ")
+          .append(FACTORY).append(".Dependencies dependencies) throws Exception {\n")
+          .append("    return new ").append(componentName).append('(');
+      appendArguments(sb, constructor().getParameters());
+      sb.append(");\n")
+          .append("  }\n\n");
+
+      sb.append("  @Override\n")
+          .append("  public void injectMembers(final ").append(componentName).append(" instance, final ")
+          .append(FACTORY).append(".Dependencies dependencies) throws Exception {\n");
+      appendMemberInjections(sb);
+      sb.append("  }\n")
+          .append("}\n");
+
+      return sb.toString();
+    }
+
+    private void checkComponent() {
+      if (component.getKind() != ElementKind.CLASS || component.getModifiers().contains(Modifier.ABSTRACT)) {
+        throw new UnsupportedComponentException("it is not a concrete class");
+      }
+
+      if (!component.getTypeParameters().isEmpty()) {
+        throw new UnsupportedComponentException("it has type parameters");
+      }
+
+      for (Element each = component; each instanceof TypeElement; each = each.getEnclosingElement()) {
+        final TypeElement type = (TypeElement) each;
+
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+          throw new UnsupportedComponentException("it is a local class");
+        }
+
+        if (type.getModifiers().contains(Modifier.PRIVATE)
+            || type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+          throw new UnsupportedComponentException("it is private or an inner class");
+        }
+      }
+    }
+
+    private ExecutableElement constructor() {
+      final List<ExecutableElement> constructors = ElementFilter.constructorsIn(component.getEnclosedElements());
+
+      // The greediest satisfiable of several constructors is only known at run time
+      if (constructors.size() != 1) {
+        throw new UnsupportedComponentException("it has several constructors");
+      }
+
+      final ExecutableElement constructor = constructors.get(0);
+
+      if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        throw new UnsupportedComponentException("its constructor is private");
+      }
+
+      return constructor;
+    }
+
+    /**
+     * Fields then methods of each class, starting with the topmost superclass.
+     */
+    private void appendMemberInjections(final StringBuilder sb) {
+      final List<TypeElement> hierarchy = hierarchy();
+
+      for (int i = 0; i < hierarchy.size(); i++) {
+        final TypeElement type = hierarchy.get(i);
+        final String target = type == component ? "instance" : "((" + type.getQualifiedName() + ") instance)";
+
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+          if (isInjected(field)) {
+            checkMember(type, field);
+            sb.append("    ").append(target).append('.').append(field.getSimpleName()).append(" = ");
+            appendDependency(sb, field);
+            sb.append(";\n");
+          }
+        }
+
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+          if (isInjected(method) && !isOverridden(method, hierarchy.subList(i + 1, hierarchy.size()))) {
+            checkMember(type, method);
+
+            if (!method.getTypeParameters().isEmpty()) {
+              throw new UnsupportedComponentException(method.getSimpleName() + "() has type parameters");
+            }
+
+            sb.append("    ").append(target).append('.').append(method.getSimpleName()).append('(');
+            appendArguments(sb, method.getParameters());
+            sb.append(");\n");
+          }
+        }
+      }
+    }
+
+    private List<TypeElement> hierarchy() {
+      final List<TypeElement> hierarchy = new ArrayList<>();
+      TypeElement type = component;
+
+      while (type != null && !type.getQualifiedName().contentEquals(Object.class.getName())) {
+        hierarchy.add(type);
+        final TypeMirror superclass = type.getSuperclass();
+        type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+      }
+
+      Collections.reverse(hierarchy);
+      return hierarchy;
+    }
+
+    /**
+     * JSR-330 only injects the overriding method, and only if it is annotated itself.
+     */
+    private boolean isOverridden(final ExecutableElement method, final List<TypeElement> subclasses) {
+      for (final TypeElement subclass : subclasses) {
+        for (final ExecutableElement each : ElementFilter.methodsIn(subclass.getEnclosedElements())) {
+          if (processingEnv.getElementUtils().overrides(each, method, subclass)) {
+            return true;
+          }
+        }
+      }
+
+      return false;
+    }
+
+    private void checkMember(final TypeElement declaringType, final Element member) {
+      final Set<Modifier> modifiers = member.getModifiers();
+
+      if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.ABSTRACT)) {
+        throw new UnsupportedComponentException(member.getSimpleName() + " is private or abstract");
+      }
+
+      if (member.getKind() == ElementKind.FIELD && modifiers.contains(Modifier.FINAL)) {
+        throw new UnsupportedComponentException(member.getSimpleName() + " is final");
+      }
+
+      final boolean samePackage = packageOf(declaringType).equals(pkg);
+
+      if (!samePackage && !(modifiers.contains(Modifier.PUBLIC) && isAccessible(declaringType))) {
+        throw new UnsupportedComponentException(member.getSimpleName() + " of " + declaringType.getQualifiedName()
+            + " cannot be reached from " + pkg.getQualifiedName());
+      }
+    }
+
+    private boolean isInjected(final Element member) {
+      if (member.getModifiers().contains(Modifier.STATIC)) {
+        return false;
+      }
+
+      for (final AnnotationMirror annotation : member.getAnnotationMirrors()) {
+        final String name = nameOf(annotation);
+
+        if (JSR330_INJECT.equals(name) || PICO_INJECT.equals(name)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private void appendArguments(final StringBuilder sb, final List<? extends VariableElement> parameters) {
+      for (int i = 0; i < parameters.size(); i++) {
+        sb.append(i == 0 ? "\n        " : ",\n        ");
+        appendDependency(sb, parameters.get(i));
+      }
+    }
+
+    private void appendDependency(final StringBuilder sb, final VariableElement variable) {
+      sb.append("dependencies.get(")
+          .append(classLiteral(variable.asType(), variable))
+          .append(", \"").append(variable.getSimpleName()).append("\", ");
+
+      final String key = keyOf(variable);
+      sb.append(key == null ? "null" : '"' + escape(key) + '"').append(')');
+    }
+
+    private String classLiteral(final TypeMirror type, final VariableElement variable) {
+      if (type.getKind().isPrimitive()) {
+        return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName() + ".class";
+      }
+
+      return typeName(type, variable) + ".class";
+    }
+
+    private String typeName(final TypeMirror type, final VariableElement variable) {
+      if (type.getKind().isPrimitive()) {
+        return type.toString();
+      }
+
+      if (type.getKind() == TypeKind.ARRAY) {
+        return typeName(((ArrayType) type).getComponentType(), variable) + "[]";
+      }
+
+      if (type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty()) {
+        final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+
+        if (!isAccessible(element)) {
+          throw new UnsupportedComponentException(element.getQualifiedName() + " of " + variable.getSimpleName()
+              + " cannot be reached from " + pkg.getQualifiedName());
+        }
+
+        return element.getQualifiedName().toString();
+      }
+
+      throw new UnsupportedComponentException(variable.getSimpleName() + " is of type " + type);
+    }
+
+    private boolean isAccessible(final TypeElement type) {
+      final boolean samePackage = packageOf(type).equals(pkg);
+
+      for (Element each = type; each instanceof TypeElement; each = each.getEnclosingElement()) {
+        final Set<Modifier> modifiers = each.getModifiers();
+
+        if (modifiers.contains(Modifier.PRIVATE) || !samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    /**
+     * The key {@code com.picocontainer.injectors.AnnotationInjectionUtils} looks dependencies up by.
+     */
+    private String keyOf(final VariableElement variable) {
+      for (final AnnotationMirror annotation : variable.getAnnotationMirrors()) {
+        final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+        final String name = annotationType.getQualifiedName().toString();
+
+        if (NULLABLE.equals(name)) {
+          throw new UnsupportedComponentException(variable.getSimpleName() + " is nullable");
+        }
+
+        if (NAMED.equals(name)) {
+          for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+              return (String) entry.getValue().getValue();
+            }
+          }
+
+          return "";
+        }
+
+        for (final AnnotationMirror meta : annotationType.getAnnotationMirrors()) {
+          final String metaName = nameOf(meta);
+
+          if (BIND.equals(metaName)) {
+            throw new UnsupportedComponentException(variable.getSimpleName() + " has a binding annotation");
+          }
+
+          if (QUALIFIER.equals(metaName)) {
+            return processingEnv.getElementUtils().getBinaryName(annotationType).toString();
+          }
+        }
+      }
+
+      return null;
+    }
+
+    private String nameOf(final AnnotationMirror annotation) {
+      return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+  }
+
+  private static String escape(final String value) {
+    final StringBuilder sb = new StringBuilder(value.length());
+
+    for (final char c : value.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < ' ') {
+        // Unicode escapes of line terminators would end the literal
+        sb.append(String.format("\\%03o", (int) c));
+      } else if (c > '~') {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * Thrown when the generated code could not instantiate or inject a component.
+   */
+  private static final class UnsupportedComponentException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    UnsupportedComponentException(final String reason) {
+      super(reason, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.injectors.GeneratedInjection;
+
+public class GeneratedFactoryProcessorTestCase {
+  private static Path output;
+  private static String diagnostics;
+  private static ClassLoader classLoader;
+
+  @BeforeClass
+  public static void compileComponents() throws IOException {
+    final Path sources = Files.createTempDirectory("sources");
+    output = Files.createTempDirectory("classes");
+
+    source(sources, "acme/Engine.java",
+        "package acme;",
+        "public class Engine {",
+        "}");
+    source(sources, "acme/Base.java",
+        "package acme;",
+        "import javax.inject.Inject;",
+        "public class Base {",
+        "  public String order = \"\";",
+        "  @Inject Engine baseEngine;",
+        "  @Inject void initBase(Engine engine) { order += \"base \"; }",
+        "  @Inject public void overridden(Engine engine) { order += \"overridden-in-base \"; }",
+        "}");
+    source(sources, "acme/Car.java",
+        "package acme;",
+        "import javax.inject.Inject;",
+        "import javax.inject.Named;",
+        "public class Car extends Base {",
+        "  public final Engine engine;",
+        "  public final int doors;",
+        "  @com.picocontainer.annotations.Inject public Engine spare;",
+        "  @Inject public Car(Engine engine, @Named(\"doors\") int doors) { this.engine = engine; this.doors = doors; }",
+        "  @Inject void initCar(Engine engine) { order += \"car(\" + (baseEngine != null) + \")\"; }",
+        "  @Override public void overridden(Engine engine) { order += \"not-injected \"; }",
+        "  public static class Wheel {",
+        "    public final Engine engine;",
+        "    @Inject Wheel(Engine engine) { this.engine = engine; }",
+        "  }",
+        "}");
+    source(sources, "acme/PrivateField.java",
+        "package acme;",
+        "import javax.inject.Inject;",
+        "public class PrivateField {",
+        "  @Inject private Engine engine;",
+        "  public Engine engine() { return engine; }",
+        "}");
+    source(sources, "acme/SeveralConstructors.java",
+        "package acme;",
+        "import javax.inject.Inject;",
+        "public class SeveralConstructors {",
+        "  public SeveralConstructors() {}",
+        "  @Inject public SeveralConstructors(Engine engine) {}",
+        "}");
+    source(sources, "acme/Generic.java",
+        "package acme;",
+        "import javax.inject.Inject;",
+        "import java.util.List;",
+        "public class Generic {",
+        "  @Inject public Generic(List<Engine> engines) {}",
+        "}");
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final StringWriter out = new StringWriter();
+
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+      final List<File> files = new ArrayList<>();
+      Files.walk(sources).filter(Files::isRegularFile).forEach(path -> files.add(path.toFile()));
+      final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(files);
+      final List<String> options = Arrays.asList(
+          "-classpath", System.getProperty("java.class.path"),
+          "-d", output.toString(),
+          "-s", output.toString());
+
+      final JavaCompiler.CompilationTask task = compiler.getTask(out, fileManager, null, options, null, units);
+      task.setProcessors(Collections.singletonList(new GeneratedFactoryProcessor()));
+      assertTrue(out.toString(), task.call());
+    }
+
+    diagnostics = out.toString();
+    classLoader = new URLClassLoader(new URL[] {output.toUri().toURL()}, GeneratedFactoryProcessorTestCase.class.getClassLoader());
+  }
+
+  private static void source(final Path root, final String name, final String... lines) {
+    try {
+      final Path file = root.resolve(name);
+      Files.createDirectories(file.getParent());
+      Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Class<?> load(final String name) throws ClassNotFoundException {
+    return Class.forName(name, true, classLoader);
+  }
+
+  @Test
+  public void testFactoriesAreGeneratedForReachableComponents() throws Exception {
+    assertNotNull(GeneratedInjection.factoryOf(load("acme.Car")));
+    assertNotNull(GeneratedInjection.factoryOf(load("acme.Car$Wheel")));
+    assertTrue(Files.exists(output.resolve("acme/Car$$PicoFactory.java")));
+    assertTrue(Files.exists(output.resolve("acme/Car$Wheel$$PicoFactory.java")));
+  }
+
+  @Test
+  public void testNoFactoryIsGeneratedForComponentsItCannotReach() throws Exception {
+    assertNull(GeneratedInjection.factoryOf(load("acme.PrivateField")));
+    assertNull(GeneratedInjection.factoryOf(load("acme.SeveralConstructors")));
+    assertNull(GeneratedInjection.factoryOf(load("acme.Generic")));
+    assertNull(GeneratedInjection.factoryOf(load("acme.Engine")));
+
+    assertTrue(diagnostics, diagnostics.contains("No factory generated for acme.PrivateField"));
+    assertTrue(diagnostics, diagnostics.contains("No factory generated for acme.SeveralConstructors"));
+    assertTrue(diagnostics, diagnostics.contains("No factory generated for acme.Generic"));
+  }
+
+  @Test
+  public void testGeneratedFactoriesInjectInJsr330Order() throws Exception {
+    final MutablePicoContainer pico = new PicoBuilder().withCaching().withGeneratedInjection().build();
+    final Class<?> engineClass = load("acme.Engine");
+    final Class<?> carClass = load("acme.Car");
+    pico.addComponent(engineClass);
+    pico.addComponent("doors", 4);
+    pico.addComponent(carClass);
+
+    final Object car = pico.getComponent(carClass);
+    final Object engine = pico.getComponent(engineClass);
+    assertSame(engine, carClass.getField("engine").get(car));
+    assertSame(engine, carClass.getField("spare").get(car));
+    assertEquals(4, carClass.getField("doors").get(car));
+    assertEquals("base car(true)", carClass.getField("order").get(car));
+
+    assertNotNull(pico.getComponentAdapter(carClass).findAdapterOfType(GeneratedInjection.GeneratedInjector.class));
+  }
+
+  @Test
+  public void testComponentsWithoutFactoryAreInjectedThroughReflection() throws Exception {
+    final MutablePicoContainer pico = new PicoBuilder().withCaching().withGeneratedInjection().build();
+    final Class<?> engineClass = load("acme.Engine");
+    final Class<?> privateFieldClass = load("acme.PrivateField");
+    pico.addComponent(engineClass);
+    pico.addComponent(privateFieldClass);
+
+    final Object component = pico.getComponent(privateFieldClass);
+    assertSame(pico.getComponent(engineClass), privateFieldClass.getMethod("engine").invoke(component));
+    assertNull(pico.getComponentAdapter(privateFieldClass).findAdapterOfType(GeneratedInjection.GeneratedInjector.class));
+  }
+}
@@ -0,0 +1,80 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieval of a component through {@code Caching.Cached}, {@code ConcurrentCaching.ConcurrentCached}, {@code Locking.Locked},
+ * {@code Synchronizing.Synchronized} and {@code ImplementationHiding.HiddenImplementation},
+ * and calls to it through what the container returned, on one thread and contended. {@code hidden-lambdas} has the
+ * hidden implementation call the real subject through {@code MemberInvokers.LAMBDAS}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BehaviorBenchmark {
+  @Param({"cached", "concurrent", "locked", "synchronized", "hidden", "hidden-lambdas"})
+  public String behavior;
+
+  private MutablePicoContainer pico;
+  private Service service;
+
+  @Setup
+  public void setUp() {
+    final Properties[] characteristics = "locked".equals(behavior) ? new Properties[] {Characteristics.CACHE, Characteristics.LOCK}
+        : "synchronized".equals(behavior) ? new Properties[] {Characteristics.CACHE, Characteristics.SYNCHRONIZE}
+        : "concurrent".equals(behavior) ? new Properties[] {Characteristics.CONCURRENT_CACHE}
+        : "hidden".equals(behavior) ? new Properties[] {Characteristics.CACHE, Characteristics.HIDE_IMPL}
+        : "hidden-lambdas".equals(behavior) ? new Properties[] {Characteristics.CACHE, Characteristics.HIDE_IMPL, Characteristics.LAMBDA_INVOCATION}
+        : new Properties[] {Characteristics.CACHE};
+
+    pico = new DefaultPicoContainer();
+    pico.as(characteristics).addComponent(Service.class, ServiceImpl.class);
+    service = pico.getComponent(Service.class);
+  }
+
+  @Benchmark
+  public Object retrieve() {
+    return pico.getComponent(Service.class);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object retrieveContended() {
+    return pico.getComponent(Service.class);
+  }
+
+  @Benchmark
+  public int call() {
+    return service.ping();
+  }
+
+  public interface Service {
+    int ping();
+  }
+
+  public static class ServiceImpl implements Service {
+    private int pings;
+
+    public int ping() {
+      return ++pings;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.parameters.CollectionComponentParameter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instantiation of a prototype component getting all components of a type injected as an array
+ * by the {@link CollectionComponentParameter} behind the default parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionParameterBenchmark {
+  @Param({"4", "64"})
+  public int listeners;
+
+  private MutablePicoContainer pico;
+
+  @Setup
+  public void setUp() {
+    pico = new DefaultPicoContainer();
+
+    for (int i = 0; i < listeners; i++) {
+      pico.as(Characteristics.CACHE).addComponent("listener-" + i, ListenerImpl.class);
+    }
+
+    pico.addComponent(Broadcaster.class);
+    pico.getComponent(Broadcaster.class);
+  }
+
+  @Benchmark
+  public Object arrayOfAllListeners() {
+    return pico.getComponent(Broadcaster.class);
+  }
+
+  public interface Listener {
+  }
+
+  public static class ListenerImpl implements Listener {
+  }
+
+  public static class Broadcaster {
+    public Broadcaster(final Listener[] listeners) {
+    }
+  }
+}
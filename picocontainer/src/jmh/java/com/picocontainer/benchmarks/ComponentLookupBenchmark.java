@@ -0,0 +1,97 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultPicoContainer#getComponent} of cached and prototype components in a small
+ * container and in one holding thousands of adapters, on one thread and on several threads
+ * sharing the container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentLookupBenchmark {
+  @Param({"10", "5000"})
+  public int adapters;
+
+  @Param({"cached", "prototype"})
+  public String scope;
+
+  private MutablePicoContainer pico;
+
+  @Setup
+  public void setUp() {
+    final Properties characteristics = "cached".equals(scope) ? Characteristics.CACHE : Characteristics.NO_CACHE;
+
+    pico = new DefaultPicoContainer();
+
+    for (int i = 0; i < adapters; i++) {
+      pico.as(characteristics).addComponent("filler-" + i, Filler.class);
+    }
+
+    pico.as(characteristics).addComponent("repository", Repository.class);
+    pico.as(characteristics).addComponent(Clock.class);
+    pico.as(characteristics).addComponent(Service.class);
+
+    pico.getComponent(Service.class);
+  }
+
+  @Benchmark
+  public Object byKey() {
+    return pico.getComponent("repository");
+  }
+
+  @Benchmark
+  public Object byType() {
+    return pico.getComponent(Clock.class);
+  }
+
+  @Benchmark
+  public Object withDependencies() {
+    return pico.getComponent(Service.class);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object byTypeContended() {
+    return pico.getComponent(Clock.class);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object withDependenciesContended() {
+    return pico.getComponent(Service.class);
+  }
+
+  public static class Filler {
+  }
+
+  public static class Repository {
+  }
+
+  public static class Clock {
+  }
+
+  public static class Service {
+    public Service(final Repository repository, final Clock clock) {
+    }
+  }
+}
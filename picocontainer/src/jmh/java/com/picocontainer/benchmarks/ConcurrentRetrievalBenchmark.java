@@ -0,0 +1,96 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.containers.ConcurrentPicoContainer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieval of already instantiated (cached) components from a container shared by many threads,
+ * comparing a {@link DefaultPicoContainer} to a {@link ConcurrentPicoContainer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentRetrievalBenchmark {
+  @Param({"default", "concurrent"})
+  public String container;
+
+  private MutablePicoContainer pico;
+
+  @Setup
+  public void setUp() {
+    pico = "concurrent".equals(container) ? new ConcurrentPicoContainer() : new DefaultPicoContainer();
+    pico.as(Characteristics.CACHE).addComponent(Service.class, ServiceImpl.class);
+    pico.as(Characteristics.CACHE).addComponent(Client.class);
+    pico.as(Characteristics.CACHE).addComponent("named", OtherService.class);
+
+    // Instantiate everything once, benchmarks only measure retrieval
+    pico.getComponents();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object byTypeSingleThread() {
+    return pico.getComponent(Client.class);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object byTypeAllThreads() {
+    return pico.getComponent(Client.class);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object byKeySingleThread() {
+    return pico.getComponent("named");
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object byKeyAllThreads() {
+    return pico.getComponent("named");
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void allOfTypeAllThreads(final Blackhole blackhole) {
+    final List<Service> services = pico.getComponents(Service.class);
+    blackhole.consume(services);
+  }
+
+  public interface Service {
+  }
+
+  public static class ServiceImpl implements Service {
+  }
+
+  public static class OtherService implements Service {
+  }
+
+  public static class Client {
+    private final Service service;
+
+    public Client(final ServiceImpl service) {
+      this.service = service;
+    }
+  }
+}
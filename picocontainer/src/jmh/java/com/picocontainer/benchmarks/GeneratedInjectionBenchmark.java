@@ -0,0 +1,73 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boot of a container of {@link Inject} annotated components: registration and first
+ * instantiation, with the factories generated by the picocontainer-processor module
+ * (run on the benchmark sources) or through reflection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedInjectionBenchmark {
+  @Param({"reflection", "generated"})
+  public String injection;
+
+  @Benchmark
+  public Object boot() {
+    final PicoBuilder builder = new PicoBuilder().withCaching();
+    final MutablePicoContainer pico = "generated".equals(injection) ? builder.withGeneratedInjection().build() : builder.build();
+    pico.addComponent("url", "jdbc:h2:mem:");
+    pico.addComponent(Repository.class);
+    pico.addComponent(Clock.class);
+    pico.addComponent(Service.class);
+    pico.addComponent(Controller.class);
+    return pico.getComponent(Controller.class);
+  }
+
+  public static class Clock {
+  }
+
+  public static class Repository {
+    @Inject
+    public Repository(@Named("url") final String url) {
+    }
+  }
+
+  public static class Service {
+    @Inject
+    Repository repository;
+
+    @Inject
+    Clock clock;
+
+    @Inject
+    void init(final Clock clock) {
+    }
+  }
+
+  public static class Controller {
+    @Inject
+    public Controller(final Service service, final Repository repository) {
+    }
+  }
+}
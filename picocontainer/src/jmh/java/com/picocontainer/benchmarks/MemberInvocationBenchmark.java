@@ -0,0 +1,97 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.annotations.Inject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instantiation of non cached components through constructor, setter and annotated field
+ * injection, comparing the engines the injectors call the members of components with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemberInvocationBenchmark {
+  @Param({"reflection", "method-handles", "lambdas"})
+  public String invocation;
+
+  private MutablePicoContainer pico;
+
+  @Setup
+  public void setUp() {
+    final Properties engine = "lambdas".equals(invocation) ? Characteristics.LAMBDA_INVOCATION
+        : "method-handles".equals(invocation) ? Characteristics.METHOD_HANDLE_INVOCATION
+        : Characteristics.REFLECTION_INVOCATION;
+
+    pico = new DefaultPicoContainer();
+    pico.as(Characteristics.CACHE).addComponent(Repository.class);
+    pico.as(Characteristics.CACHE).addComponent(Clock.class);
+    pico.as(engine).addComponent(ConstructorInjected.class);
+    pico.as(engine, Characteristics.SDI).addComponent(SetterInjected.class);
+    pico.as(engine).addComponent(FieldInjected.class);
+  }
+
+  @Benchmark
+  public Object constructorInjection() {
+    return pico.getComponent(ConstructorInjected.class);
+  }
+
+  @Benchmark
+  public Object setterInjection() {
+    return pico.getComponent(SetterInjected.class);
+  }
+
+  @Benchmark
+  public Object annotatedFieldInjection() {
+    return pico.getComponent(FieldInjected.class);
+  }
+
+  public static class Repository {
+  }
+
+  public static class Clock {
+  }
+
+  public static class ConstructorInjected {
+    public ConstructorInjected(final Repository repository, final Clock clock) {
+    }
+  }
+
+  public static class SetterInjected {
+    private Repository repository;
+    private Clock clock;
+
+    public void setRepository(final Repository repository) {
+      this.repository = repository;
+    }
+
+    public void setClock(final Clock clock) {
+      this.clock = clock;
+    }
+  }
+
+  public static class FieldInjected {
+    @Inject
+    public Repository repository;
+
+    @Inject
+    public Clock clock;
+  }
+}
@@ -0,0 +1,121 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.Startable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Start and stop of a container whose components block in their lifecycle methods, like
+ * connection pools and cache warmers do, one after another and on an executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelLifecycleBenchmark {
+  @Param({"serial", "parallel"})
+  public String lifecycle;
+
+  private ExecutorService executor;
+  private DefaultPicoContainer pico;
+
+  @Setup(Level.Trial)
+  public void createExecutor() {
+    executor = Executors.newFixedThreadPool(8);
+  }
+
+  @TearDown(Level.Trial)
+  public void shutdownExecutor() {
+    executor.shutdown();
+  }
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    pico = (DefaultPicoContainer) new PicoBuilder().withCaching().withLifecycle().build();
+
+    if ("parallel".equals(lifecycle)) {
+      pico.setLifecycleExecutor(executor);
+    }
+
+    pico.addComponent(Pool.class);
+    pico.addComponent(Cache.class);
+    pico.addComponent(Index.class);
+    pico.addComponent(Queue.class);
+    pico.addComponent(Repository.class);
+    pico.addComponent(Search.class);
+    pico.addComponent(Consumer.class);
+    pico.addComponent(Api.class);
+  }
+
+  @Benchmark
+  public void startAndStop() {
+    pico.start();
+    pico.stop();
+  }
+
+  public abstract static class Blocking implements Startable {
+    public void start() {
+      block();
+    }
+
+    public void stop() {
+      block();
+    }
+
+    private static void block() {
+      try {
+        Thread.sleep(2);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  public static class Pool extends Blocking {
+  }
+
+  public static class Cache extends Blocking {
+  }
+
+  public static class Index extends Blocking {
+  }
+
+  public static class Queue extends Blocking {
+  }
+
+  public static class Repository extends Blocking {
+    public Repository(final Pool pool, final Cache cache) {
+    }
+  }
+
+  public static class Search extends Blocking {
+    public Search(final Index index) {
+    }
+  }
+
+  public static class Consumer extends Blocking {
+    public Consumer(final Queue queue, final Repository repository) {
+    }
+  }
+
+  public static class Api extends Blocking {
+    public Api(final Repository repository, final Search search) {
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieval of components registered at the root of parent chains of growing depth, from the
+ * innermost container, on one thread and on several threads sharing the chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParentChainBenchmark {
+  @Param({"1", "8", "32"})
+  public int depth;
+
+  private MutablePicoContainer leaf;
+
+  @Setup
+  public void setUp() {
+    final MutablePicoContainer root = new DefaultPicoContainer();
+    root.as(Characteristics.CACHE).addComponent("configuration", Configuration.class);
+    root.as(Characteristics.CACHE).addComponent(Repository.class);
+
+    leaf = root;
+    for (int i = 0; i < depth; i++) {
+      leaf = new DefaultPicoContainer(leaf);
+    }
+
+    leaf.addComponent(Handler.class);
+    leaf.getComponent(Handler.class);
+  }
+
+  @Benchmark
+  public Object rootComponentByKey() {
+    return leaf.getComponent("configuration");
+  }
+
+  @Benchmark
+  public Object rootComponentByType() {
+    return leaf.getComponent(Repository.class);
+  }
+
+  @Benchmark
+  public Object leafPrototypeWithRootDependencies() {
+    return leaf.getComponent(Handler.class);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object rootComponentByTypeContended() {
+    return leaf.getComponent(Repository.class);
+  }
+
+  public static class Configuration {
+  }
+
+  public static class Repository {
+  }
+
+  public static class Handler {
+    public Handler(final Repository repository) {
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieval of components registered up a request -> session -> application hierarchy,
+ * as done by request scoped containers.
+ * <p>
+ * Run with the GC profiler to see the allocation rate per operation:
+ * {@code gradle jmh -PjmhArgs="ParentDelegationBenchmark -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParentDelegationBenchmark {
+  private MutablePicoContainer request;
+
+  @Setup
+  public void setUp() {
+    final MutablePicoContainer application = new DefaultPicoContainer();
+    application.as(Characteristics.CACHE).addComponent("configuration", Configuration.class);
+    application.as(Characteristics.CACHE).addComponent(Repository.class);
+
+    final MutablePicoContainer session = new DefaultPicoContainer(application);
+    session.as(Characteristics.CACHE).addComponent(User.class);
+
+    request = new DefaultPicoContainer(session);
+    request.addComponent(Handler.class);
+
+    // Instantiate the cached components once, benchmarks only measure lookups
+    request.getComponent(Handler.class);
+  }
+
+  @Benchmark
+  public Object applicationComponentByKey() {
+    return request.getComponent("configuration");
+  }
+
+  @Benchmark
+  public Object applicationComponentByType() {
+    return request.getComponent(Repository.class);
+  }
+
+  @Benchmark
+  public Object sessionComponentByType() {
+    return request.getComponent(User.class);
+  }
+
+  @Benchmark
+  public Object requestComponentWithInheritedDependencies() {
+    return request.getComponent(Handler.class);
+  }
+
+  public static class Configuration {
+  }
+
+  public static class Repository {
+    public Repository(final Configuration configuration) {
+    }
+  }
+
+  public static class User {
+  }
+
+  public static class Handler {
+    public Handler(final Repository repository, final User user) {
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of a chain of non cached components, every link of which enters and leaves
+ * the resolution stack the injectors detect dependency cycles with, on one and on several
+ * threads sharing the container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeResolutionBenchmark {
+  private MutablePicoContainer pico;
+
+  @Setup
+  public void setUp() {
+    pico = new DefaultPicoContainer();
+    pico.addComponent(Leaf.class);
+    pico.addComponent(Service.class);
+    pico.addComponent(Facade.class);
+    pico.addComponent(Controller.class);
+  }
+
+  @Benchmark
+  public Object prototypeChain() {
+    return pico.getComponent(Controller.class);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object prototypeChainOnFourThreads() {
+    return pico.getComponent(Controller.class);
+  }
+
+  public static class Leaf {
+  }
+
+  public static class Service {
+    public Service(final Leaf leaf) {
+    }
+  }
+
+  public static class Facade {
+    public Facade(final Service service, final Leaf leaf) {
+    }
+  }
+
+  public static class Controller {
+    public Controller(final Facade facade) {
+    }
+  }
+}
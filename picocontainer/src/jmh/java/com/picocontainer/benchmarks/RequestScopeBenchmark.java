@@ -0,0 +1,81 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.containers.ScopedContainerPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves one request: a child container made, filled and thrown away per request, against a container leased from a
+ * {@link ScopedContainerPool} whose template was prepared once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestScopeBenchmark {
+  private MutablePicoContainer application;
+  private ScopedContainerPool pool;
+
+  @Setup
+  public void setUp() {
+    application = new DefaultPicoContainer();
+    application.as(Characteristics.CACHE).addComponent(Repository.class);
+
+    pool = new ScopedContainerPool(application)
+        .addScopedInstance(Request.class, Request.class)
+        .addComponent(Session.class)
+        .addComponent(Controller.class)
+        .prepare();
+  }
+
+  @Benchmark
+  public Controller childContainer() {
+    final MutablePicoContainer child = application.makeChildContainer();
+
+    try {
+      child.addComponent(Request.class, new Request());
+      child.as(Characteristics.CACHE).addComponent(Session.class);
+      child.as(Characteristics.CACHE).addComponent(Controller.class);
+      return child.getComponent(Controller.class);
+    } finally {
+      application.removeChildContainer(child);
+    }
+  }
+
+  @Benchmark
+  public Controller pooledScope() {
+    try (ScopedContainerPool.ScopedContainer request = pool.acquire()) {
+      request.put(Request.class, new Request());
+      return request.getComponent(Controller.class);
+    }
+  }
+
+  public static class Repository {
+  }
+
+  public static class Request {
+  }
+
+  public static class Session {
+  }
+
+  public static class Controller {
+    public Controller(final Repository repository, final Request request, final Session session) {
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.behaviors.Scoping;
+import com.picocontainer.behaviors.Storing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100k scopes alive at the same time, each holding the instances of two components: the per thread maps of
+ * {@link Storing}, as many threads would each get one, against explicit {@link com.picocontainer.references.Scope}s.
+ * Every scope is kept until the end of the invocation, so run with {@code -prof gc}: {@code gc.alloc.rate.norm} is
+ * then the footprint of the 100k scopes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScopeFootprintBenchmark {
+  private static final int SCOPES = 100_000;
+
+  @Param({"thread-maps", "scopes"})
+  public String store;
+
+  private DefaultPicoContainer pico;
+  private Storing storing;
+  private Object[] alive;
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    if ("scopes".equals(store)) {
+      pico = new DefaultPicoContainer(new Scoping());
+    } else {
+      storing = new Storing();
+      pico = new DefaultPicoContainer(storing);
+    }
+
+    pico.addComponent(Request.class);
+    pico.addComponent(Handler.class);
+    alive = new Object[SCOPES];
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() {
+    alive = null;
+
+    if (storing != null) {
+      storing.invalidateCacheForThread();
+    }
+  }
+
+  @Benchmark
+  public Object[] openScopes() {
+    if (storing != null) {
+      for (int i = 0; i < SCOPES; i++) {
+        storing.resetCacheForThread();
+        pico.getComponent(Handler.class);
+        alive[i] = storing.getCacheForThread();
+      }
+    } else {
+      for (int i = 0; i < SCOPES; i++) {
+        final com.picocontainer.references.Scope scope = new com.picocontainer.references.Scope();
+
+        final com.picocontainer.references.Scope.Binding binding = scope.bind();
+
+        try {
+          pico.getComponent(Handler.class);
+        } finally {
+          binding.close();
+        }
+
+        alive[i] = scope;
+      }
+    }
+
+    return alive;
+  }
+
+  public static class Request {
+  }
+
+  public static class Handler {
+    public Handler(final Request request) {
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer;
+
+import com.googlecode.jtype.Generic;
+import com.picocontainer.injectors.ProviderAdapter;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Incrementally maintained index from raw types to the component adapters that may satisfy them.
+ * Lookups can safely run concurrently with a (single) thread changing the index.
+ * <p>
+ * Each adapter is filed under its implementation class and every superclass and interface of it,
+ * and, if a {@link ProviderAdapter} is part of its chain, under the provided type and its supertypes too.
+ * Lookups answer the candidates in registration order. They are only a pre-filter: callers still
+ * have to apply {@link JTypeHelper#isAssignableFrom(Generic, Class)} to each candidate.
+ */
+final class AdapterTypeIndex {
+  private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>();
+
+  static {
+    PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+    PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+    PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+    PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+    PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+    PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+    PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+    PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+  }
+
+  private final Map<Class<?>, Set<ComponentAdapter<?>>> adaptersByType = new ConcurrentHashMap<>();
+
+  /**
+   * Adapters whose types could not be determined when they were added.
+   * While there are any, lookups cannot be answered from the index.
+   */
+  private final Set<ComponentAdapter<?>> unindexed = ConcurrentHashMap.newKeySet();
+
+  AdapterTypeIndex(final Collection<ComponentAdapter<?>> adapters) {
+    for (final ComponentAdapter<?> adapter : adapters) {
+      add(adapter);
+    }
+  }
+
+  void add(final ComponentAdapter<?> adapter) {
+    final Set<Class<?>> types = typesOf(adapter);
+
+    if (types == null) {
+      unindexed.add(adapter);
+      return;
+    }
+
+    for (final Class<?> type : types) {
+      adaptersByType.computeIfAbsent(type, t -> new CopyOnWriteArraySet<>()).add(adapter);
+    }
+  }
+
+  void remove(final ComponentAdapter<?> adapter) {
+    if (unindexed.remove(adapter)) {
+      return;
+    }
+
+    final Set<Class<?>> types = typesOf(adapter);
+
+    if (types == null) {
+      return;
+    }
+
+    for (final Class<?> type : types) {
+      final Set<ComponentAdapter<?>> adapters = adaptersByType.get(type);
+
+      if (adapters != null && adapters.remove(adapter) && adapters.isEmpty()) {
+        adaptersByType.remove(type);
+      }
+    }
+  }
+
+  /**
+   * Returns the adapters that may be assignable to the given type, in registration order.
+   *
+   * @param componentType the type being looked up
+   *
+   * @return the candidate adapters, or {@code null} if the index cannot answer
+   *     and all the adapters have to be considered
+   */
+  @Nullable
+  Collection<ComponentAdapter<?>> candidatesFor(final Generic<?> componentType) {
+    if (!unindexed.isEmpty()) {
+      return null;
+    }
+
+    Class<?> rawType = rawTypeOf(componentType.getType());
+
+    // Arrays are covariant, so their supertypes cannot be enumerated from the implementation alone
+    if (rawType == null || rawType.isArray()) {
+      return null;
+    }
+
+    if (rawType.isPrimitive()) {
+      rawType = PRIMITIVE_WRAPPERS.get(rawType);
+
+      // void
+      if (rawType == null) {
+        return null;
+      }
+    }
+
+    final Set<ComponentAdapter<?>> adapters = adaptersByType.get(rawType);
+    return adapters == null ? Collections.emptySet() : adapters;
+  }
+
+  @Nullable
+  private static Class<?> rawTypeOf(final Type type) {
+    if (type instanceof Class) {
+      return (Class<?>) type;
+    }
+
+    if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class) {
+      return (Class<?>) ((ParameterizedType) type).getRawType();
+    }
+
+    return null;
+  }
+
+  @Nullable
+  private static Set<Class<?>> typesOf(final ComponentAdapter<?> adapter) {
+    final Set<Class<?>> types = new HashSet<>();
+
+    try {
+      addSupertypes(adapter.getComponentImplementation(), types);
+      final ProviderAdapter providerAdapter = adapter.findAdapterOfType(ProviderAdapter.class);
+
+      if (providerAdapter != null) {
+        addSupertypes(providerAdapter.getProviderReturnType(), types);
+      }
+    } catch (final RuntimeException e) {
+      // Let the full scan deal with (and report) adapters we cannot introspect
+      return null;
+    }
+
+    return types;
+  }
+
+  private static void addSupertypes(@Nullable final Class<?> type, final Set<Class<?>> types) {
+    if (type == null || !types.add(type)) {
+      return;
+    }
+
+    addSupertypes(type.getSuperclass(), types);
+
+    for (final Class<?> anInterface : type.getInterfaces()) {
+      addSupertypes(anInterface, types);
+    }
+
+    if (type.isInterface()) {
+      types.add(Object.class);
+    }
+  }
+}
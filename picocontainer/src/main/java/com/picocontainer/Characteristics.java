@@ -30,6 +30,7 @@ public final class Characteristics {
     private static final String _METHOD = "method";
     private static final String _SETTER = "setter";
     private static final String _CACHE = "cache";
+    private static final String _CONCURRENT_CACHE = "concurrent-cache";
     private static final String _SYNCHRONIZING = "synchronizing";
     private static final String _LOCKING = "locking";
     private static final String _HIDE_IMPL = "hide-impl";
@@ -41,6 +42,7 @@ public final class Characteristics {
     private static final String _GUARD = "guard";
     private static final String _EMJECTION = "emjection_enabled";
     private static final String _STATIC_INJECTION = "static-injection";
+    private static final String _INVOCATION = "invocation";
 
     /**
      * Since properties use strings, we supply String constants for Boolean conditions.
@@ -95,6 +97,19 @@ public final class Characteristics {
      */
     public static final Properties CACHE = immutable(_CACHE, TRUE);
 
+    /**
+     * Turns on thread safe caching of component instances: the instance is made exactly once
+     * and is then returned without locking.
+     * @see com.picocontainer.behaviors.ConcurrentCaching
+     */
+    public static final Properties CONCURRENT_CACHE = immutable(_CONCURRENT_CACHE, TRUE);
+
+    /**
+     * Turns off thread safe caching of component instances.
+     * @see com.picocontainer.behaviors.ConcurrentCaching
+     */
+    public static final Properties NO_CONCURRENT_CACHE = immutable(_CONCURRENT_CACHE, FALSE);
+
     /**
      * Turns on synchronized access to the component instance.  (Under JDK 1.5 conditions,
      * it will be better to use {@link #LOCK} instead.
@@ -115,6 +130,13 @@ public final class Characteristics {
      */
     public static final Properties LOCK = immutable(_LOCKING, TRUE);
 
+    /**
+     * Uses a java.util.concurrent read/write lock that lets retrievals of the component proceed concurrently,
+     * but not while it is started, stopped or disposed.
+     * @see com.picocontainer.behaviors.Locking.Mode#READ_WRITE
+     */
+    public static final Properties READ_WRITE_LOCK = immutable(_LOCKING, "read-write");
+
     /**
      * Turns off locking synchronization.
      * @see com.picocontainer.behaviors.Locking
@@ -171,6 +193,24 @@ public final class Characteristics {
 
     public static final Properties EMJECTION_ENABLED = immutable(_EMJECTION, TRUE);
 
+    /**
+     * Call constructors, methods and fields of the component through the reflection API (the default).
+     * @see com.picocontainer.injectors.MemberInvokers#REFLECTION
+     */
+    public static final Properties REFLECTION_INVOCATION = immutable(_INVOCATION, "reflection");
+
+    /**
+     * Call constructors, methods and fields of the component through method handles.
+     * @see com.picocontainer.injectors.MemberInvokers#METHOD_HANDLES
+     */
+    public static final Properties METHOD_HANDLE_INVOCATION = immutable(_INVOCATION, "method-handles");
+
+    /**
+     * Call constructors and methods of the component through generated lambdas.
+     * @see com.picocontainer.injectors.MemberInvokers#LAMBDAS
+     */
+    public static final Properties LAMBDA_INVOCATION = immutable(_INVOCATION, "lambdas");
+
     public static final Properties GUARD = immutable(_GUARD, "guard");
 
     public static final Properties GUARD(final String with) {
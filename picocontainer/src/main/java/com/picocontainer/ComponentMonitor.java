@@ -27,6 +27,68 @@ import java.lang.reflect.Method;
 public interface ComponentMonitor {
   Object KEEP = new Object();
 
+  /**
+   * The events that callers may leave out when a monitor {@link #isMonitoring(Event) is not monitoring} them.
+   */
+  enum Event {
+    /**
+     * {@link #instantiating} and {@link #instantiated}.
+     */
+    INSTANTIATION,
+
+    /**
+     * {@link #invoking} and {@link #invoked}, for component, injection and lifecycle methods.
+     */
+    INVOCATION,
+
+    /**
+     * {@link #lockWaited}.
+     */
+    LOCK_WAIT,
+
+    /**
+     * {@link #resolving} and {@link #resolved}.
+     */
+    RESOLUTION
+  }
+
+  /**
+   * Whether the monitor wants to be told of an event. When it does not, injectors, behaviors and lifecycle strategies
+   * skip the event altogether, along with the timing and the argument arrays that go with it. A monitor not monitoring
+   * an event must behave as {@link com.picocontainer.monitors.NullComponentMonitor} does for it: keep the constructor
+   * passed to {@link #instantiating} and return {@link #KEEP} from {@link #invoking}.
+   * <p>
+   * Failures and the other events are always reported.
+   * </p>
+   *
+   * @param event the kind of event
+   *
+   * @return true by default.
+   */
+  default boolean isMonitoring(final Event event) {
+    return true;
+  }
+
+  /**
+   * Event thrown as an injector starts getting, or decorating, an instance of its component, before it looks for the
+   * constructor and members to use. Until the matching {@link #resolved} event, the events of the thread are about the
+   * component, or about the dependencies it gets.
+   *
+   * @param container
+   * @param componentAdapter the injector
+   */
+  default void resolving(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+  }
+
+  /**
+   * Event thrown once an injector is done with an instance of its component, whether it could get one or not.
+   *
+   * @param container
+   * @param componentAdapter the injector
+   */
+  default void resolved(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+  }
+
   /**
    * Event thrown as the component is being instantiated using the given constructor.
    *
@@ -51,7 +113,7 @@ public interface ComponentMonitor {
    * @param constructor the Constructor used to instantiate the addComponent
    * @param instantiated the component that was instantiated by PicoContainer
    * @param injected the components during instantiation.
-   * @param duration the duration in milliseconds of the instantiation
+   * @param duration the duration in milliseconds of the instantiation, measured with {@link System#nanoTime()}
    */
   <T> void instantiated(
       final PicoContainer container,
@@ -141,6 +203,33 @@ public interface ComponentMonitor {
       final RuntimeException cause
   );
 
+  /**
+   * Event thrown after a thread had to wait for a lock that a behavior holds around the component adapter.
+   *
+   * @param container
+   * @param componentAdapter the component adapter the lock guards
+   * @param waited the time spent waiting for the lock, in nanoseconds
+   */
+  default void lockWaited(@Nullable final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long waited) {
+  }
+
+  /**
+   * Event thrown as a container starts, before any of its components or child containers do.
+   *
+   * @param container
+   */
+  default void containerStarting(final PicoContainer container) {
+  }
+
+  /**
+   * Event thrown once a container is done starting its components and child containers, even if one of them failed.
+   *
+   * @param container
+   * @param duration the duration in milliseconds of the start, measured with {@link System#nanoTime()}
+   */
+  default void containerStarted(final PicoContainer container, final long duration) {
+  }
+
   /**
    * No Component has been found for the key in question.
    * Implementers of this have a last chance opportunity to specify something for the need.
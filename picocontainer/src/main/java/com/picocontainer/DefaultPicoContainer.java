@@ -27,7 +27,7 @@ import com.picocontainer.converters.ConvertsNothing;
 import com.picocontainer.injectors.AbstractInjector.AmbiguousComponentResolutionException;
 import com.picocontainer.injectors.AbstractInjector.CyclicDependencyException;
 import com.picocontainer.injectors.AdaptingInjection;
-import com.picocontainer.injectors.FactoryInjector;
+import com.picocontainer.injectors.ParameterNames;
 import com.picocontainer.injectors.ProviderAdapter;
 import com.picocontainer.lifecycle.DefaultLifecycleState;
 import com.picocontainer.lifecycle.LifecycleState;
@@ -45,6 +45,12 @@ import java.lang.annotation.Annotation;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
 
 /**
  * <p/>
@@ -75,7 +81,8 @@ import java.util.*;
  * @author Mauro Talevi
  */
 @SuppressWarnings("serial")
-public class DefaultPicoContainer implements MutablePicoContainer, Converting, ComponentMonitorStrategy, Serializable {
+public class DefaultPicoContainer
+    implements MutablePicoContainer, Converting, ComponentMonitorStrategy, Generational, Serializable {
   private String name;
 
   /**
@@ -128,6 +135,59 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
 
   protected final List<ComponentAdapter<?>> orderedComponentAdapters = new ArrayList<>();
 
+  /**
+   * Executor the lifecycle of independent components is changed on, {@code null} to change it serially.
+   */
+  private transient Executor lifecycleExecutor;
+
+  /**
+   * Executor the parameter names of components are looked up on as they are added, {@code null} to look them up
+   * when first injected.
+   */
+  private transient Executor parameterNamesExecutor;
+
+  /**
+   * Dependencies between the components, recorded while a lifecycle executor is set.
+   */
+  private transient volatile DependencyGraph dependencyGraph;
+
+  /**
+   * The thread starting, stopping or disposing the container, guarded by the container's monitor. A parallel
+   * lifecycle change releases the monitor while it waits for the executor, other changes wait for it to finish.
+   */
+  @Nullable
+  private transient Thread changingLifecycle;
+
+  /**
+   * Index used for looking up component adapters by type.
+   * Derived from {@link #componentAdapters}, hence rebuilt lazily after deserialization.
+   */
+  private transient volatile AdapterTypeIndex typeIndex;
+
+  /**
+   * Membership view of {@link #getOrderedComponentAdapters()}, so that adapters which have
+   * already been ordered can be recognised without locking. Rebuilt lazily after deserialization.
+   */
+  private transient volatile Set<ComponentAdapter<?>> orderedAdapterSet;
+
+  /**
+   * Incremented whenever what this container resolves may have changed.
+   */
+  private transient volatile long generation;
+
+  private static final AtomicLongFieldUpdater<DefaultPicoContainer> GENERATION =
+      AtomicLongFieldUpdater.newUpdater(DefaultPicoContainer.class, "generation");
+
+  /**
+   * Cache of by-type adapter resolutions, see {@link #getGeneration()}.
+   */
+  private transient volatile ResolutionCache resolutionCache;
+
+  /**
+   * Adapters of the parent already bound to it by {@link #getComponentAdapter(Object)}.
+   */
+  private transient volatile ParentAdapters parentAdapters;
+
   private Converters converters;
 
   /**
@@ -316,20 +376,52 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     if (adapter == null && parent != null) {
       adapter = getParent().getComponentAdapter(key);
       if (adapter != null) {
-        adapter = new KnowsContainerAdapter(adapter, getParent());
+        adapter = knowsParent(adapter);
       }
     }
 
     if (adapter == null) {
-      final Object inst = monitor.noComponentFound(this, key);
-      if (inst != null) {
-        adapter = new LateInstance(key, inst);
-      }
+      adapter = getLateInstance(key);
     }
 
     return adapter;
   }
 
+  /**
+   * Binds an adapter found in the parent to it. The bound adapters are kept until
+   * the parent changes, so that repeated lookups of parent components do not allocate.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private ComponentAdapter<?> knowsParent(final ComponentAdapter<?> parentAdapter) {
+    final PicoContainer parentContainer = getParent();
+    final long parentGeneration = parentContainer instanceof Generational
+        ? ((Generational) parentContainer).getGeneration()
+        : UNTRACKED;
+
+    if (parentGeneration == UNTRACKED) {
+      return new ParentAdapter(parentAdapter, parentContainer, this);
+    }
+
+    ParentAdapters adapters = parentAdapters;
+
+    if (adapters == null || adapters.parentGeneration != parentGeneration) {
+      adapters = new ParentAdapters(parentGeneration);
+      parentAdapters = adapters;
+    }
+
+    return adapters.adapters.computeIfAbsent(parentAdapter, ca -> new ParentAdapter(ca, parentContainer, this));
+  }
+
+  /**
+   * Gives the monitor a chance to supply a component that could not be found.
+   */
+  @Nullable
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private ComponentAdapter<?> getLateInstance(final Object key) {
+    final Object inst = monitor.noComponentFound(this, key);
+    return inst != null ? new LateInstance(key, inst) : null;
+  }
+
   /**
    * <tt>Special Case</tt> class that is an adapter instantiated when a component monitor
    * returns a &quot;late resolution&quot; to finding a container.
@@ -421,6 +513,31 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     }
   }
 
+  /**
+   * {@link KnowsContainerAdapter} for an adapter of the parent, remembering which child
+   * looked it up so that the child can tell it is not one of its own.
+   */
+  private static final class ParentAdapter<T> extends KnowsContainerAdapter<T> {
+    private final DefaultPicoContainer child;
+
+    ParentAdapter(final ComponentAdapter<T> ca, final PicoContainer parent, final DefaultPicoContainer child) {
+      super(ca, parent);
+      this.child = child;
+    }
+  }
+
+  /**
+   * The {@link ParentAdapter}s of a given parent generation.
+   */
+  private static final class ParentAdapters {
+    final long parentGeneration;
+    final Map<ComponentAdapter<?>, ComponentAdapter<?>> adapters = new ConcurrentHashMap<>();
+
+    ParentAdapters(final long parentGeneration) {
+      this.parentGeneration = parentGeneration;
+    }
+  }
+
   @Override
   public <T> ComponentAdapter<T> getComponentAdapter(final Class<T> componentType, final NameBinding nameBinding) {
     return getComponentAdapter(Generic.get(componentType), nameBinding, null);
@@ -435,6 +552,62 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
       final Generic<T> componentType,
       final NameBinding componentNameBinding,
       final Class<? extends Annotation> binding) {
+    final long currentGeneration = getGeneration();
+
+    if (currentGeneration == UNTRACKED) {
+      return resolveComponentAdapter(componentType, componentNameBinding, binding);
+    }
+
+    final ResolutionCache cache = getResolutionCache();
+    final ResolutionCache.Resolution resolution = cache.get(currentGeneration, componentType, binding, componentNameBinding);
+
+    if (resolution != null) {
+      return resolution.adapter != null
+          ? (ComponentAdapter<T>) resolution.adapter
+          : rememberedMiss(componentType, componentNameBinding);
+    }
+
+    final ResolutionCache.ProbingNameBinding probe = componentNameBinding != null
+        ? new ResolutionCache.ProbingNameBinding(componentNameBinding)
+        : null;
+
+    final ComponentAdapter<T> adapter = resolveComponentAdapter(componentType, probe, binding);
+
+    // Late instances are the monitor's business, it has to be asked every time
+    if (!isLateInstance(adapter)) {
+      cache.put(currentGeneration, componentType, binding, probe, adapter);
+    }
+
+    return adapter;
+  }
+
+  /**
+   * Answers a by-type lookup known to find nothing here. The monitors are still told about the miss:
+   * this container's directly, the parent's through the parent's own, cached, by-type lookup.
+   */
+  @Nullable
+  private <T> ComponentAdapter<T> rememberedMiss(final Generic<T> componentType, final NameBinding componentNameBinding) {
+    final ComponentAdapter<T> lateInstance = (ComponentAdapter<T>) getLateInstance(componentType.getType());
+
+    if (lateInstance != null || parent == null) {
+      return lateInstance;
+    }
+
+    return getParent().getComponentAdapter(componentType, componentNameBinding);
+  }
+
+  private static boolean isLateInstance(@Nullable ComponentAdapter<?> adapter) {
+    while (adapter instanceof KnowsContainerAdapter) {
+      adapter = ((KnowsContainerAdapter<?>) adapter).ca;
+    }
+
+    return adapter instanceof LateInstance;
+  }
+
+  private <T> ComponentAdapter<T> resolveComponentAdapter(
+      final Generic<T> componentType,
+      final NameBinding componentNameBinding,
+      final Class<? extends Annotation> binding) {
     // See http://jira.codehaus.org/secure/ViewIssue.jspa?key=PICO-115
     final ComponentAdapter<T> adapterByKey = (ComponentAdapter<T>) getComponentAdapter(componentType);
 
@@ -515,8 +688,13 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     }
 
     final List<ComponentAdapter<T>> found = new ArrayList<>();
+    Collection<ComponentAdapter<?>> candidates = getTypeIndex().candidatesFor(componentType);
+
+    if (candidates == null) {
+      candidates = getModifiableComponentAdapterList();
+    }
 
-    for (final ComponentAdapter<?> componentAdapter : getComponentAdapters()) {
+    for (final ComponentAdapter<?> componentAdapter : candidates) {
       final Object key = componentAdapter.getComponentKey();
 
       //JSR 330 Provider compatibility... we have to be able to return both the providers that provide
@@ -524,11 +702,11 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
       final Class<?> implementation = componentAdapter.getComponentImplementation();
       boolean compatible = JTypeHelper.isAssignableFrom(componentType, implementation);
 
-      if (!compatible && componentAdapter.findAdapterOfType(ProviderAdapter.class) != null) {
+      if (!compatible) {
         //If provider
         //Todo: Direct access of provider adapter... work around.
         final ProviderAdapter adapter = componentAdapter.findAdapterOfType(ProviderAdapter.class);
-        compatible = JTypeHelper.isAssignableFrom(componentType, adapter.getProviderReturnType());
+        compatible = adapter != null && JTypeHelper.isAssignableFrom(componentType, adapter.getProviderReturnType());
       }
 
       if (compatible &&
@@ -552,6 +730,21 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
 
     getModifiableComponentAdapterList().add(componentAdapter);
     getComponentKeyToAdapterCache().put(key, componentAdapter);
+    getTypeIndex().add(componentAdapter);
+    GENERATION.incrementAndGet(this);
+
+    if (parameterNamesExecutor != null && componentAdapter.findAdapterOfType(Injector.class) != null) {
+      final Class<?> implementation = componentAdapter.getComponentImplementation();
+
+      if (implementation != null) {
+        try {
+          ParameterNames.prewarm(parameterNamesExecutor, implementation);
+        } catch (final RejectedExecutionException e) {
+          // the names are looked up when first injected instead
+        }
+      }
+    }
+
     return this;
   }
 
@@ -601,8 +794,27 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     lifecycleState.removingComponent();
 
     final ComponentAdapter<T> adapter = (ComponentAdapter<T>) getComponentKeyToAdapterCache().remove(key);
-    getModifiableComponentAdapterList().remove(adapter);
-    getOrderedComponentAdapters().remove(adapter);
+
+    if (adapter == null) {
+      return null;
+    }
+
+    if (getModifiableComponentAdapterList().remove(adapter)) {
+      getTypeIndex().remove(adapter);
+    }
+
+    synchronized (this) {
+      getOrderedAdapterSet().remove(adapter);
+      getOrderedComponentAdapters().remove(adapter);
+    }
+
+    final DependencyGraph graph = dependencyGraph;
+
+    if (graph != null) {
+      graph.remove(adapter);
+    }
+
+    GENERATION.incrementAndGet(this);
     return adapter;
   }
 
@@ -735,6 +947,7 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
   private void removeGenericPropertiesThatWeDontCareAbout(final Properties tmpProperties) {
     AbstractBehavior.removePropertiesIfPresent(tmpProperties, Characteristics.USE_NAMES);
     AbstractBehavior.removePropertiesIfPresent(tmpProperties, Characteristics.STATIC_INJECTION);
+    AbstractBehavior.getAndRemovePropertiesIfPresentByKey(tmpProperties, Characteristics.REFLECTION_INVOCATION);
   }
 
   public static class DpcBindWithOrTo<T> extends DpcBindTo<T> implements BindWithOrTo<T> {
@@ -806,9 +1019,15 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     }
   }
 
-  private synchronized void addOrderedComponentAdapter(final ComponentAdapter<?> componentAdapter) {
-    if (!getOrderedComponentAdapters().contains(componentAdapter)) {
-      getOrderedComponentAdapters().add(componentAdapter);
+  private void addOrderedComponentAdapter(final ComponentAdapter<?> componentAdapter) {
+    if (getOrderedAdapterSet().contains(componentAdapter)) {
+      return;
+    }
+
+    synchronized (this) {
+      if (getOrderedAdapterSet().add(componentAdapter)) {
+        getOrderedComponentAdapters().add(componentAdapter);
+      }
     }
   }
 
@@ -823,27 +1042,40 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
       return Collections.emptyList();
     }
 
-    final List<T> result = new ArrayList<>();
-
     synchronized (this) {
-      final Map<ComponentAdapter<T>, T> adapterToInstanceMap = new HashMap<>();
+      return getLocalComponents(componentType);
+    }
+  }
 
-      for (final ComponentAdapter<?> componentAdapter : getModifiableComponentAdapterList()) {
-        if (componentType.isAssignableFrom(componentAdapter.getComponentImplementation())) {
-          final ComponentAdapter<T> typedComponentAdapter = (ComponentAdapter<T>) componentAdapter;
-          final T componentInstance = getLocalInstance(typedComponentAdapter);
-          adapterToInstanceMap.put(typedComponentAdapter, componentInstance);
-        }
+  /**
+   * Retrieves the components of this container assignable to the given type, instantiating them
+   * if needed, in the order they were first instantiated.
+   * <p>
+   * Callers are responsible for guarding the adapter collections against concurrent modification.
+   *
+   * @param componentType the type of the components
+   *
+   * @return the components
+   */
+  protected <T> List<T> getLocalComponents(final Class<T> componentType) {
+    final List<T> result = new ArrayList<>();
+    final Map<ComponentAdapter<T>, T> adapterToInstanceMap = new HashMap<>();
+
+    for (final ComponentAdapter<?> componentAdapter : getModifiableComponentAdapterList()) {
+      if (componentType.isAssignableFrom(componentAdapter.getComponentImplementation())) {
+        final ComponentAdapter<T> typedComponentAdapter = (ComponentAdapter<T>) componentAdapter;
+        final T componentInstance = getLocalInstance(typedComponentAdapter);
+        adapterToInstanceMap.put(typedComponentAdapter, componentInstance);
       }
+    }
 
-      for (final ComponentAdapter<?> componentAdapter : getOrderedComponentAdapters()) {
-        final T componentInstance = adapterToInstanceMap.get(componentAdapter);
+    for (final ComponentAdapter<?> componentAdapter : getOrderedComponentAdapters()) {
+      final T componentInstance = adapterToInstanceMap.get(componentAdapter);
 
-        if (componentInstance != null) {
-          // may be null in the case of the "implicit" addAdapter
-          // representing "this".
-          result.add(componentInstance);
-        }
+      if (componentInstance != null) {
+        // may be null in the case of the "implicit" addAdapter
+        // representing "this".
+        result.add(componentInstance);
       }
     }
 
@@ -851,7 +1083,7 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
   }
 
   private <T> T getLocalInstance(final ComponentAdapter<T> typedComponentAdapter) {
-    final T componentInstance = typedComponentAdapter.getComponentInstance(this, NOTHING.class);
+    final T componentInstance = instantiate(typedComponentAdapter, NOTHING.class);
 
     // This is to ensure all are added. (Indirect dependencies will be added
     // from InstantiatingComponentAdapter).
@@ -943,17 +1175,13 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
   private Object getInstance(final ComponentAdapter<?> componentAdapter, final Generic<?> key, final Type into) {
     // check whether this is our adapter
     // we need to check this to ensure up-down dependencies cannot be followed
-    final boolean isLocal = getModifiableComponentAdapterList().contains(componentAdapter);
+    final boolean isLocal = !isParentAdapter(componentAdapter) && getModifiableComponentAdapterList().contains(componentAdapter);
 
     if (isLocal || componentAdapter instanceof LateInstance) {
       Object instance;
 
       try {
-        if (componentAdapter instanceof FactoryInjector) {
-          instance = ((FactoryInjector) componentAdapter).getComponentInstance(this, into);
-        } else {
-          instance = componentAdapter.getComponentInstance(this, into);
-        }
+        instance = instantiate(componentAdapter, into);
       } catch (final CyclicDependencyException e) {
         if (parent != null) {
           instance = getParent().getComponentInto(componentAdapter.getComponentKey(), into);
@@ -982,6 +1210,33 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     return null;
   }
 
+  /**
+   * Retrieves the instance of a local adapter, recording it as dependency of the adapter
+   * being instantiated on this thread, if any, while a lifecycle executor is set.
+   */
+  private <T> T instantiate(final ComponentAdapter<T> componentAdapter, final Type into) {
+    final DependencyGraph graph = dependencyGraph;
+
+    if (graph == null) {
+      return componentAdapter.getComponentInstance(this, into);
+    }
+
+    final DependencyGraph.Frame outer = graph.resolving(componentAdapter);
+
+    try {
+      return componentAdapter.getComponentInstance(this, into);
+    } finally {
+      graph.resolved(outer);
+    }
+  }
+
+  /**
+   * Adapters this container found in its parent are never its own, no need to look for them.
+   */
+  private boolean isParentAdapter(final ComponentAdapter<?> componentAdapter) {
+    return componentAdapter instanceof ParentAdapter && ((ParentAdapter<?>) componentAdapter).child == this;
+  }
+
   @Override
   public PicoContainer getParent() {
     return parent;
@@ -1016,17 +1271,30 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
    */
   @Override
   public synchronized void start() {
-    lifecycleState.starting(getName());
+    final Thread outer = beginLifecycleChange();
+
+    try {
+      lifecycleState.starting(getName());
 
-    startAdapters();
-    childrenStarted.clear();
+      final long startTime = System.nanoTime();
+      monitor.containerStarting(this);
 
-    for (final PicoContainer child : children) {
-      childrenStarted.add(new WeakReference<>(child));
+      try {
+        startAdapters();
+        childrenStarted.clear();
+
+        for (final PicoContainer child : children) {
+          childrenStarted.add(new WeakReference<>(child));
 
-      if (child instanceof Startable) {
-        ((Startable) child).start();
+          if (child instanceof Startable) {
+            ((Startable) child).start();
+          }
+        }
+      } finally {
+        monitor.containerStarted(this, millisSince(startTime));
       }
+    } finally {
+      endLifecycleChange(outer);
     }
   }
 
@@ -1047,22 +1315,28 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
    */
   @Override
   public synchronized void stop() {
-    lifecycleState.stopping(getName());
+    final Thread outer = beginLifecycleChange();
 
     try {
-      for (final PicoContainer child : children) {
-        if (childStarted(child)) {
-          if (child instanceof Startable) {
-            ((Startable) child).stop();
+      lifecycleState.stopping(getName());
+
+      try {
+        for (final PicoContainer child : children) {
+          if (childStarted(child)) {
+            if (child instanceof Startable) {
+              ((Startable) child).stop();
+            }
           }
         }
-      }
-    } finally {
-      try {
-        stopAdapters();
       } finally {
-        lifecycleState.stopped();
+        try {
+          stopAdapters();
+        } finally {
+          lifecycleState.stopped();
+        }
       }
+    } finally {
+      endLifecycleChange(outer);
     }
   }
 
@@ -1105,26 +1379,118 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
    */
   @Override
   public synchronized void dispose() {
-    if (lifecycleState.isStarted()) {
-      stop();
-    }
-
-    lifecycleState.disposing(getName());
+    final Thread outer = beginLifecycleChange();
 
     try {
-      for (final PicoContainer child : children) {
-        if (child instanceof MutablePicoContainer) {
-          ((Disposable) child).dispose();
+      if (lifecycleState.isStarted()) {
+        stop();
+      }
+
+      lifecycleState.disposing(getName());
+
+      try {
+        for (final PicoContainer child : children) {
+          if (child instanceof MutablePicoContainer) {
+            ((Disposable) child).dispose();
+          }
+        }
+      } finally {
+        try {
+          disposeAdapters();
+          componentFactory.dispose();
+        } finally {
+          lifecycleState.disposed();
         }
       }
     } finally {
+      endLifecycleChange(outer);
+    }
+  }
+
+  /**
+   * Waits for a lifecycle change made by another thread to finish, then makes the current thread the one changing
+   * the lifecycle. Called holding the container's monitor.
+   *
+   * @return the thread that was changing the lifecycle already, the current one for nested changes, null otherwise
+   */
+  @Nullable
+  private Thread beginLifecycleChange() {
+    final Thread current = Thread.currentThread();
+    boolean interrupted = false;
+
+    while (changingLifecycle != null && changingLifecycle != current) {
       try {
-        disposeAdapters();
-        componentFactory.dispose();
-      } finally {
-        lifecycleState.disposed();
+        wait();
+      } catch (final InterruptedException e) {
+        // the change under way cannot be abandoned, wait for it and interrupt again
+        interrupted = true;
       }
     }
+
+    if (interrupted) {
+      current.interrupt();
+    }
+
+    final Thread outer = changingLifecycle;
+    changingLifecycle = current;
+    return outer;
+  }
+
+  private void endLifecycleChange(@Nullable final Thread outer) {
+    changingLifecycle = outer;
+
+    if (outer == null) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * Changes the lifecycle of independent components concurrently: once all the components a
+   * component depends on are started, it is started on the executor, and once all components
+   * depending on it are stopped (or disposed), it is stopped (or disposed) on the executor.
+   * The dependencies are the local components the injectors resolve when they instantiate a
+   * component; components instantiated before the executor was set are started after all
+   * components instantiated before them. Components stored per thread are handled by the
+   * thread changing the lifecycle.
+   * <p>
+   * Unlike a serial start, a parallel start does not stop at the first failure: it starts all
+   * the components not depending on a failed one and then rethrows the failure, or a
+   * {@link com.picocontainer.lifecycle.LifecycleFailuresException LifecycleFailuresException}
+   * with all of them. Stopping and disposing carry on past failures likewise.
+   * While it waits for the executor the container releases its monitor, so components can use
+   * the container from their lifecycle methods; other threads starting, stopping or disposing the
+   * container wait for the change under way to finish.
+   *
+   * @param executor the executor, {@code null} to change the lifecycle of components one after another
+   */
+  public synchronized void setLifecycleExecutor(@Nullable final Executor executor) {
+    if (executor != null && dependencyGraph == null) {
+      dependencyGraph = new DependencyGraph(getOrderedComponentAdapters());
+    }
+
+    lifecycleExecutor = executor;
+  }
+
+  @Nullable
+  public synchronized Executor getLifecycleExecutor() {
+    return lifecycleExecutor;
+  }
+
+  /**
+   * Sets the executor the parameter names of components are looked up on as they are added, so the lookups are done
+   * in parallel, and ahead of the injections that need them. Worth it for containers of many components injected by
+   * name, whose names are read from class files.
+   *
+   * @param executor the executor, {@code null} to look the names up when first injected
+   * @see ParameterNames
+   */
+  public synchronized void setParameterNamesExecutor(@Nullable final Executor executor) {
+    parameterNamesExecutor = executor;
+  }
+
+  @Nullable
+  public synchronized Executor getParameterNamesExecutor() {
+    return parameterNamesExecutor;
   }
 
   @Override
@@ -1141,6 +1507,8 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
   public MutablePicoContainer makeChildContainer() {
     // noinspection TypeMayBeWeakened
     final DefaultPicoContainer pc = new DefaultPicoContainer(this, lifecycle, monitor, componentFactory);
+    pc.setLifecycleExecutor(lifecycleExecutor);
+    pc.setParameterNamesExecutor(parameterNamesExecutor);
     addChildContainer(pc);
     return pc;
   }
@@ -1183,6 +1551,8 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     checkCircularChildDependencies(child);
 
     if (children.add(child)) {
+      GENERATION.incrementAndGet(this);
+
       // TODO Should only be added if child container has also be started
       if (lifecycleState.isStarted()) {
         childrenStarted.add(new WeakReference<>(child));
@@ -1197,6 +1567,10 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     final boolean result = children.remove(child);
     WeakReference<PicoContainer> foundRef = null;
 
+    if (result) {
+      GENERATION.incrementAndGet(this);
+    }
+
     for (final WeakReference<PicoContainer> eachChild : childrenStarted) {
       final PicoContainer ref = eachChild.get();
 
@@ -1263,6 +1637,7 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
   public ComponentMonitor changeMonitor(final ComponentMonitor newMonitor) {
     final ComponentMonitor returnValue = monitor;
     monitor = newMonitor;
+    GENERATION.incrementAndGet(this);
 
     if (lifecycle instanceof ComponentMonitorStrategy) {
       ((ComponentMonitorStrategy) lifecycle).changeMonitor(newMonitor);
@@ -1308,7 +1683,12 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     adapters = getOrderedComponentAdapters();
 
     // clone the adapters
-    final Collection<ComponentAdapter<?>> adaptersClone = new ArrayList<>(adapters);
+    final List<ComponentAdapter<?>> adaptersClone = new ArrayList<>(adapters);
+
+    if (lifecycleExecutor != null) {
+      dependencyGraph.run(this, adaptersClone, false, true, lifecycleExecutor, this::potentiallyStartAdapter);
+      return;
+    }
 
     for (final ComponentAdapter<?> adapter : adaptersClone) {
       potentiallyStartAdapter(adapter);
@@ -1337,7 +1717,7 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
 
   protected void instantiateComponentAsIsStartable(final ComponentAdapter<?> adapter) {
     if (!lifecycle.isLazy(adapter)) {
-      adapter.getComponentInstance(this, NOTHING.class);
+      instantiate(adapter, NOTHING.class);
     }
   }
 
@@ -1346,15 +1726,23 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
    * stop(PicoContainer) method on the ones which are LifecycleManagers
    */
   private void stopAdapters() {
+    if (lifecycleExecutor != null) {
+      final List<ComponentAdapter<?>> adapters = new ArrayList<>(getOrderedComponentAdapters());
+      dependencyGraph.run(this, adapters, true, false, lifecycleExecutor, this::stopAdapter);
+      return;
+    }
+
     for (int i = getOrderedComponentAdapters().size() - 1; 0 <= i; i--) {
-      final ComponentAdapter<?> adapter = getOrderedComponentAdapters().get(i);
+      stopAdapter(getOrderedComponentAdapters().get(i));
+    }
+  }
 
-      if (adapter instanceof ComponentLifecycle) {
-        final ComponentLifecycle<?> componentLifecycle = (ComponentLifecycle<?>) adapter;
+  private void stopAdapter(final ComponentAdapter<?> adapter) {
+    if (adapter instanceof ComponentLifecycle) {
+      final ComponentLifecycle<?> componentLifecycle = (ComponentLifecycle<?>) adapter;
 
-        if (componentLifecycle.componentHasLifecycle() && componentLifecycle.isStarted()) {
-          componentLifecycle.stop(this);
-        }
+      if (componentLifecycle.componentHasLifecycle() && componentLifecycle.isStarted()) {
+        componentLifecycle.stop(this);
       }
     }
   }
@@ -1364,13 +1752,20 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
    * dispose(PicoContainer) method on the ones which are LifecycleManagers
    */
   private void disposeAdapters() {
+    if (lifecycleExecutor != null) {
+      final List<ComponentAdapter<?>> adapters = new ArrayList<>(getOrderedComponentAdapters());
+      dependencyGraph.run(this, adapters, true, false, lifecycleExecutor, this::disposeAdapter);
+      return;
+    }
+
     for (int i = getOrderedComponentAdapters().size() - 1; 0 <= i; i--) {
-      final ComponentAdapter<?> adapter = getOrderedComponentAdapters().get(i);
+      disposeAdapter(getOrderedComponentAdapters().get(i));
+    }
+  }
 
-      if (adapter instanceof ComponentLifecycle) {
-        final ComponentLifecycle<?> componentLifecycle = (ComponentLifecycle<?>) adapter;
-        componentLifecycle.dispose(this);
-      }
+  private void disposeAdapter(final ComponentAdapter<?> adapter) {
+    if (adapter instanceof ComponentLifecycle) {
+      ((ComponentLifecycle<?>) adapter).dispose(this);
     }
   }
 
@@ -1395,6 +1790,83 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     return componentAdapters;
   }
 
+  /**
+   * The generation of a container is the sum of its own and its parent's, so that it changes
+   * whenever the content of any container up the hierarchy changes.
+   * Containers whose parent is not {@link Generational} are {@link #UNTRACKED}.
+   */
+  @Override
+  public long getGeneration() {
+    // Not getParent(), which subclasses may wrap; those wrapping lookups override this method too
+    if (parent == null) {
+      return generation;
+    }
+
+    if (!(parent instanceof Generational)) {
+      return UNTRACKED;
+    }
+
+    final long parentGeneration = ((Generational) parent).getGeneration();
+    return parentGeneration == UNTRACKED ? UNTRACKED : generation + parentGeneration;
+  }
+
+  /**
+   * @return how many by-type adapter resolutions were answered from the resolution cache
+   */
+  public long getResolutionCacheHits() {
+    return getResolutionCache().getHits();
+  }
+
+  /**
+   * @return how many by-type adapter resolutions had to be computed
+   */
+  public long getResolutionCacheMisses() {
+    return getResolutionCache().getMisses();
+  }
+
+  private ResolutionCache getResolutionCache() {
+    if (resolutionCache == null) {
+      resolutionCache = new ResolutionCache();
+    }
+
+    return resolutionCache;
+  }
+
+  private AdapterTypeIndex getTypeIndex() {
+    AdapterTypeIndex index = typeIndex;
+
+    if (index == null) {
+      synchronized (this) {
+        index = typeIndex;
+
+        if (index == null) {
+          index = new AdapterTypeIndex(getModifiableComponentAdapterList());
+          typeIndex = index;
+        }
+      }
+    }
+
+    return index;
+  }
+
+  private Set<ComponentAdapter<?>> getOrderedAdapterSet() {
+    Set<ComponentAdapter<?>> set = orderedAdapterSet;
+
+    if (set == null) {
+      synchronized (this) {
+        set = orderedAdapterSet;
+
+        if (set == null) {
+          set = ConcurrentHashMap.newKeySet();
+          set.addAll(getOrderedComponentAdapters());
+          orderedAdapterSet = set;
+        }
+      }
+    }
+
+    return set;
+  }
+
   @Override
   public synchronized void setName(final String name) {
     this.name = name;
@@ -1410,7 +1882,7 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     return String.format(
         "%s:%d<%s",
         name != null ? name : super.toString(),
-        componentAdapters.size(),
+        getModifiableComponentAdapterList().size(),
         parent != null && !(parent instanceof EmptyPicoContainer) ? parent.toString() : "|"
     );
   }
@@ -1425,11 +1897,16 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
   @Override
   public synchronized Converters getConverters() {
     if (converters == null) {
-      if (parent == null || parent instanceof Converting && ((Converting) parent).getConverters() instanceof ConvertsNothing) {
-        converters = new BuiltInConverters();
-      } else {
-        return ((Converting) parent).getConverters();
+      if (parent != null) {
+        // ask the parent once, asking twice per level is exponential in the depth of the hierarchy
+        final Converters inherited = ((Converting) parent).getConverters();
+
+        if (!(inherited instanceof ConvertsNothing)) {
+          return inherited;
+        }
       }
+
+      converters = new BuiltInConverters();
     }
 
     return converters;
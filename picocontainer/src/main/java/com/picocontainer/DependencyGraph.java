@@ -0,0 +1,316 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer;
+
+import com.picocontainer.behaviors.Caching.Cached;
+import com.picocontainer.behaviors.Storing.Stored;
+import com.picocontainer.lifecycle.LifecycleFailuresException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * The dependencies between the component adapters of one container, as resolved by the
+ * injectors when they instantiate the components, and the means to run a lifecycle operation
+ * on independent components concurrently.
+ * <p>
+ * While a component is being instantiated every local component it resolves is recorded as
+ * its dependency. Components instantiated before the graph existed have unknown dependencies:
+ * they wait for every component ordered before them, as does the next of them for them.
+ */
+final class DependencyGraph {
+  private static final ThreadLocal<Frame> RESOLVING = new ThreadLocal<>();
+
+  private final Map<ComponentAdapter<?>, Set<ComponentAdapter<?>>> dependencies = new IdentityHashMap<>();
+  private final Set<ComponentAdapter<?>> unknown = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /**
+   * @param instantiated the adapters that have been instantiated already
+   */
+  DependencyGraph(final List<ComponentAdapter<?>> instantiated) {
+    unknown.addAll(instantiated);
+  }
+
+  /**
+   * Marks the start of a resolution of the adapter on the current thread.
+   *
+   * @return the frame to pass to {@link #resolved(Frame)} once the resolution is done
+   */
+  Frame resolving(final ComponentAdapter<?> adapter) {
+    final Frame outer = RESOLVING.get();
+
+    if (outer != null && outer.graph == this && outer.adapter != adapter) {
+      synchronized (this) {
+        dependencies.computeIfAbsent(outer.adapter, a -> new LinkedHashSet<>()).add(adapter);
+      }
+    }
+
+    RESOLVING.set(new Frame(this, adapter, outer));
+    return outer;
+  }
+
+  void resolved(final Frame outer) {
+    RESOLVING.set(outer);
+  }
+
+  synchronized void remove(final ComponentAdapter<?> adapter) {
+    dependencies.remove(adapter);
+    unknown.remove(adapter);
+  }
+
+  /**
+   * Runs the operation on the adapters, each once all the adapters it depends on are done,
+   * or, in reverse, once all the adapters depending on it are done. The operation runs on the
+   * executor, except for components stored per thread, which are handled by the calling thread.
+   * <p>
+   * The calling thread waits on the monitor of the container, which the container is holding
+   * while it changes its lifecycle, so the components may use the container meanwhile.
+   *
+   * @param container the container, whose monitor the current thread holds
+   * @param ordered the adapters in the order they have been instantiated
+   * @param reverse {@code true} to run the operation on dependents first
+   * @param skipDependentsOfFailures {@code true} not to run the operation on the components
+   *     depending on a component whose operation failed
+   *
+   * @throws LifecycleFailuresException if more than one operation failed, the failure itself if one did
+   */
+  void run(
+      final Object container,
+      final List<ComponentAdapter<?>> ordered,
+      final boolean reverse,
+      final boolean skipDependentsOfFailures,
+      final Executor executor,
+      final Consumer<ComponentAdapter<?>> operation) {
+    new Run(container, plan(ordered), reverse, skipDependentsOfFailures, executor, operation).run();
+  }
+
+  private Node[] plan(final List<ComponentAdapter<?>> ordered) {
+    final Map<ComponentAdapter<?>, Node> nodes = new IdentityHashMap<>();
+    final Node[] plan = new Node[ordered.size()];
+    final Set<Node> frontier = new LinkedHashSet<>();
+
+    synchronized (this) {
+      for (int i = 0; i < plan.length; i++) {
+        final ComponentAdapter<?> adapter = ordered.get(i);
+        final Node node = new Node(adapter);
+
+        if (unknown.contains(adapter)) {
+          for (final Node prerequisite : frontier) {
+            node.dependsOn(prerequisite);
+          }
+          frontier.clear();
+        } else {
+          final Set<ComponentAdapter<?>> direct = dependencies.get(adapter);
+
+          if (direct != null) {
+            for (final ComponentAdapter<?> dependency : direct) {
+              final Node prerequisite = nodes.get(dependency);
+
+              if (prerequisite != null) {
+                node.dependsOn(prerequisite);
+                frontier.remove(prerequisite);
+              }
+            }
+          }
+        }
+
+        frontier.add(node);
+        nodes.put(adapter, node);
+        plan[i] = node;
+      }
+    }
+
+    return plan;
+  }
+
+  /**
+   * An adapter being resolved on a thread.
+   */
+  static final class Frame {
+    private final DependencyGraph graph;
+    private final ComponentAdapter<?> adapter;
+    private final Frame outer;
+
+    private Frame(final DependencyGraph graph, final ComponentAdapter<?> adapter, final Frame outer) {
+      this.graph = graph;
+      this.adapter = adapter;
+      this.outer = outer;
+    }
+  }
+
+  private static final class Node {
+    private final ComponentAdapter<?> adapter;
+    private final boolean confined;
+    private final List<Node> prerequisites = new ArrayList<>();
+    private final List<Node> dependents = new ArrayList<>();
+    private int pending;
+    private boolean skipped;
+
+    private Node(final ComponentAdapter<?> adapter) {
+      this.adapter = adapter;
+      final Stored<?> stored = adapter.findAdapterOfType(Stored.class);
+      confined = stored != null && !(stored instanceof Cached);
+    }
+
+    private void dependsOn(final Node node) {
+      prerequisites.add(node);
+      node.dependents.add(this);
+    }
+  }
+
+  private static final class Run {
+    private final Object lock;
+    private final Node[] plan;
+    private final boolean reverse;
+    private final boolean skipDependentsOfFailures;
+    private final Executor executor;
+    private final Consumer<ComponentAdapter<?>> operation;
+    private final Deque<Node> confined = new ArrayDeque<>();
+    private final List<Throwable> failures = new ArrayList<>();
+    private int remaining;
+
+    private Run(
+        final Object lock,
+        final Node[] plan,
+        final boolean reverse,
+        final boolean skipDependentsOfFailures,
+        final Executor executor,
+        final Consumer<ComponentAdapter<?>> operation) {
+      this.lock = lock;
+      this.plan = plan;
+      this.reverse = reverse;
+      this.skipDependentsOfFailures = skipDependentsOfFailures;
+      this.executor = executor;
+      this.operation = operation;
+    }
+
+    private void run() {
+      boolean interrupted = false;
+
+      synchronized (lock) {
+        remaining = plan.length;
+
+        for (final Node node : plan) {
+          node.pending = reverse ? node.dependents.size() : node.prerequisites.size();
+        }
+
+        for (final Node node : plan) {
+          if (node.pending == 0) {
+            ready(node);
+          }
+        }
+
+        while (remaining > 0) {
+          final Node node = confined.poll();
+
+          if (node != null) {
+            perform(node);
+            continue;
+          }
+
+          try {
+            lock.wait();
+          } catch (final InterruptedException e) {
+            // the operations under way cannot be abandoned, finish them and interrupt again
+            interrupted = true;
+          }
+        }
+      }
+
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+
+      rethrow();
+    }
+
+    /**
+     * Called holding the lock.
+     */
+    private void ready(final Node node) {
+      if (node.skipped) {
+        done(node, false);
+      } else if (node.confined) {
+        confined.add(node);
+        lock.notifyAll();
+      } else {
+        try {
+          executor.execute(() -> perform(node));
+        } catch (final RejectedExecutionException e) {
+          confined.add(node);
+          lock.notifyAll();
+        }
+      }
+    }
+
+    private void perform(final Node node) {
+      Throwable failure = null;
+
+      try {
+        operation.accept(node.adapter);
+      } catch (final RuntimeException | Error e) {
+        failure = e;
+      }
+
+      synchronized (lock) {
+        if (failure != null) {
+          failures.add(failure);
+        }
+
+        done(node, failure == null);
+      }
+    }
+
+    /**
+     * Called holding the lock.
+     */
+    private void done(final Node node, final boolean succeeded) {
+      remaining--;
+
+      for (final Node next : reverse ? node.prerequisites : node.dependents) {
+        if (!succeeded && skipDependentsOfFailures) {
+          next.skipped = true;
+        }
+
+        if (--next.pending == 0) {
+          ready(next);
+        }
+      }
+
+      lock.notifyAll();
+    }
+
+    private void rethrow() {
+      if (failures.size() == 1) {
+        final Throwable failure = failures.get(0);
+
+        if (failure instanceof Error) {
+          throw (Error) failure;
+        }
+
+        throw (RuntimeException) failure;
+      }
+
+      if (!failures.isEmpty()) {
+        throw new LifecycleFailuresException(failures);
+      }
+    }
+  }
+}
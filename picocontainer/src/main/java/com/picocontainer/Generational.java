@@ -0,0 +1,32 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer;
+
+/**
+ * Interface for containers that can tell whether what they resolve may have changed.
+ * <p>
+ * Child containers use it to find out whether lookups they remembered are still valid,
+ * including the parts that were answered by their parent.
+ */
+@SuppressWarnings("InterfaceMayBeAnnotatedFunctional")
+public interface Generational {
+  /**
+   * Generation returned by containers whose content cannot be tracked.
+   */
+  long UNTRACKED = -1;
+
+  /**
+   * Retrieve the current generation of this container.
+   *
+   * @return a non-negative number that changes every time a component is added to or removed
+   *     from this container or any of its ancestors, or {@link #UNTRACKED}
+   */
+  long getGeneration();
+}
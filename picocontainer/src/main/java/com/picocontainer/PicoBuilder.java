@@ -10,12 +10,14 @@
 package com.picocontainer;
 
 import com.picocontainer.behaviors.Automating;
+import com.picocontainer.behaviors.ConcurrentCaching;
 import com.picocontainer.behaviors.Locking;
 import com.picocontainer.behaviors.PropertyApplying;
 import com.picocontainer.behaviors.Synchronizing;
 import com.picocontainer.containers.EmptyPicoContainer;
 import com.picocontainer.containers.TransientPicoContainer;
 import com.picocontainer.injectors.CompositeInjection;
+import com.picocontainer.injectors.GeneratedInjection;
 import com.picocontainer.injectors.MethodInjection;
 import com.picocontainer.lifecycle.JavaEE5LifecycleStrategy;
 import com.picocontainer.lifecycle.NullLifecycleStrategy;
@@ -27,7 +29,9 @@ import com.picocontainer.monitors.NullComponentMonitor;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.Stack;
+import java.util.concurrent.Executor;
 
 import static com.picocontainer.behaviors.Behaviors.caching;
 import static com.picocontainer.behaviors.Behaviors.implementationHiding;
@@ -56,6 +60,8 @@ public class PicoBuilder {
     private final List<InjectionType> injectors = new ArrayList<InjectionType>();
     private Class<? extends ComponentMonitor> monitorClass = NullComponentMonitor.class;
     private Class<? extends LifecycleStrategy> lifecycleClass = NullLifecycleStrategy.class;
+    private Properties invocation;
+    private Executor lifecycleExecutor;
 
 
     public PicoBuilder(final PicoContainer parentContainer, final InjectionType injectionType) {
@@ -191,6 +197,17 @@ public class PicoBuilder {
 
         MutablePicoContainer newContainer = (MutablePicoContainer) tempContainer.getComponent("mpc");
 
+        if (invocation != null) {
+            newContainer.change(invocation);
+        }
+
+        if (lifecycleExecutor != null) {
+            if (!(newContainer instanceof DefaultPicoContainer)) {
+                throw new PicoCompositionException("A parallel lifecycle needs a DefaultPicoContainer, not a " + mpcClass.getName());
+            }
+            ((DefaultPicoContainer) newContainer).setLifecycleExecutor(lifecycleExecutor);
+        }
+
         addChildToParent(newContainer);
         return newContainer;
     }
@@ -268,6 +285,16 @@ public class PicoBuilder {
         return this;
     }
 
+    /**
+     * Components with a factory generated by the picocontainer-processor module are injected
+     * without reflection, the others as if no injection was specified.
+     * @see GeneratedInjection
+     */
+    public PicoBuilder withGeneratedInjection() {
+        addInjector(generatedDI());
+        return this;
+    }
+
     public PicoBuilder withConstructorInjection() {
         addInjector(CDI());
         return this;
@@ -288,6 +315,15 @@ public class PicoBuilder {
         return this;
     }
 
+    /**
+     * Components get cached thread safely, without any locking once they are instantiated.
+     * @see Characteristics#CONCURRENT_CACHE
+     */
+    public PicoBuilder withConcurrentCaching() {
+        behaviors.push(new ConcurrentCaching());
+        return this;
+    }
+
     public PicoBuilder withComponentFactory(final ComponentFactory componentFactory) {
         if (componentFactory == null) {
             throw new NullPointerException("CAF cannot be null");
@@ -306,6 +342,15 @@ public class PicoBuilder {
         return this;
     }
 
+    /**
+     * Retrievals of components share a lock that start, stop and dispose hold exclusively.
+     * @see Characteristics#READ_WRITE_LOCK
+     */
+    public PicoBuilder withReadWriteLocking() {
+        behaviors.push(new Locking(Locking.Mode.READ_WRITE));
+        return this;
+    }
+
     public PicoBuilder withBehaviors(final Behavior... factories) {
         for (Behavior componentFactory : factories) {
             behaviors.push(componentFactory);
@@ -349,6 +394,37 @@ public class PicoBuilder {
         return this;
     }
 
+    /**
+     * Components of the container get their constructors, methods and fields called through method handles.
+     * @see Characteristics#METHOD_HANDLE_INVOCATION
+     */
+    public PicoBuilder withMethodHandleInvocation() {
+        invocation = Characteristics.METHOD_HANDLE_INVOCATION;
+        return this;
+    }
+
+    /**
+     * Components of the container get their constructors and methods called through generated lambdas.
+     * @see Characteristics#LAMBDA_INVOCATION
+     */
+    public PicoBuilder withLambdaInvocation() {
+        invocation = Characteristics.LAMBDA_INVOCATION;
+        return this;
+    }
+
+    /**
+     * Components of the container that do not depend on each other get started, stopped and disposed
+     * concurrently on the executor.
+     * @see DefaultPicoContainer#setLifecycleExecutor(Executor)
+     */
+    public PicoBuilder withParallelLifecycle(final Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("executor cannot be null");
+        }
+        lifecycleExecutor = executor;
+        return this;
+    }
+
     public PicoBuilder addChildToParent() {
         addChildToParent =  true;
         return this;
@@ -0,0 +1,172 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer;
+
+import com.googlecode.jtype.Generic;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the outcome, found or not found, of resolving a component adapter by type.
+ * <p>
+ * Outcomes are stamped with the {@link Generational#getGeneration() generation} of the container
+ * they were computed for, and are only answered while that generation is current.
+ * <p>
+ * The name of the injection point is often expensive to obtain and only matters when a type is ambiguous,
+ * so an outcome is keyed by name only if the {@link NameBinding} was actually consulted to compute it.
+ */
+final class ResolutionCache {
+  private final ConcurrentMap<Query, Resolution> resolutions = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Looks up a remembered outcome.
+   *
+   * @return the outcome, or {@code null} if it has to be computed (again)
+   */
+  @Nullable
+  Resolution get(
+      final long generation,
+      final Generic<?> componentType,
+      @Nullable final Class<? extends Annotation> binding,
+      @Nullable final NameBinding nameBinding) {
+    Resolution resolution = resolutions.get(new Query(componentType, binding, null));
+
+    if (resolution != null && resolution.nameSensitive && resolution.generation == generation) {
+      final String name = nameBinding == null ? null : nameBinding.getName();
+      resolution = name == null ? null : resolutions.get(new Query(componentType, binding, name));
+    }
+
+    if (resolution == null || resolution.generation != generation) {
+      misses.increment();
+      return null;
+    }
+
+    hits.increment();
+    return resolution;
+  }
+
+  /**
+   * Remembers an outcome.
+   *
+   * @param nameBinding the name binding that was used to compute the outcome
+   * @param adapter the resolved adapter, {@code null} if none was found
+   */
+  void put(
+      final long generation,
+      final Generic<?> componentType,
+      @Nullable final Class<? extends Annotation> binding,
+      @Nullable final ProbingNameBinding nameBinding,
+      @Nullable final ComponentAdapter<?> adapter) {
+    if (nameBinding == null || !nameBinding.consulted) {
+      resolutions.put(new Query(componentType, binding, null), new Resolution(generation, false, adapter));
+      return;
+    }
+
+    final String name = nameBinding.getName();
+
+    if (name != null) {
+      resolutions.put(new Query(componentType, binding, null), new Resolution(generation, true, null));
+      resolutions.put(new Query(componentType, binding, name), new Resolution(generation, false, adapter));
+    }
+  }
+
+  long getHits() {
+    return hits.sum();
+  }
+
+  long getMisses() {
+    return misses.sum();
+  }
+
+  static final class Resolution {
+    final long generation;
+    final boolean nameSensitive;
+
+    @Nullable
+    final ComponentAdapter<?> adapter;
+
+    private Resolution(
+        final long generation,
+        final boolean nameSensitive,
+        @Nullable final ComponentAdapter<?> adapter) {
+      this.generation = generation;
+      this.nameSensitive = nameSensitive;
+      this.adapter = adapter;
+    }
+  }
+
+  /**
+   * {@code NameBinding} decorator that records whether the name was asked for.
+   */
+  static final class ProbingNameBinding implements NameBinding {
+    private final NameBinding delegate;
+    private volatile boolean consulted;
+
+    ProbingNameBinding(final NameBinding delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+      consulted = true;
+      return delegate.getName();
+    }
+  }
+
+  private static final class Query {
+    private final Generic<?> componentType;
+
+    @Nullable
+    private final Class<? extends Annotation> binding;
+
+    @Nullable
+    private final String name;
+
+    Query(
+        final Generic<?> componentType,
+        @Nullable final Class<? extends Annotation> binding,
+        @Nullable final String name) {
+      this.componentType = componentType;
+      this.binding = binding;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof Query)) {
+        return false;
+      }
+
+      final Query query = (Query) o;
+      return componentType.equals(query.componentType)
+          && binding == query.binding
+          && Objects.equals(name, query.name);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = componentType.hashCode();
+      result = 31 * result + (binding != null ? binding.hashCode() : 0);
+      result = 31 * result + (name != null ? name.hashCode() : 0);
+      return result;
+    }
+  }
+}
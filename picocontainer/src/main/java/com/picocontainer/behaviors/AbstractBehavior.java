@@ -19,6 +19,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Properties;
 
@@ -202,9 +203,44 @@ public class AbstractBehavior implements ComponentFactory, Serializable, Behavio
                  ComponentMonitorStrategy,
                  LifecycleStrategy,
                  Serializable {
+    /**
+     * Whether the behaviors of a class only pass on the instances of their delegate, not overriding
+     * {@link #getComponentInstance(PicoContainer, Type)}.
+     */
+    private static final ClassValue<Boolean> PASSING_INSTANCES_THROUGH = new ClassValue<Boolean>() {
+      @Override
+      protected Boolean computeValue(final Class<?> type) {
+        try {
+          return type.getMethod("getComponentInstance", PicoContainer.class, Type.class).getDeclaringClass()
+              == AbstractChangedBehavior.class;
+        } catch (final NoSuchMethodException e) {
+          return false;
+        }
+      }
+    };
+
+    private static final Object[] NOTHING_FOUND = new Object[0];
+
+    /**
+     * How many types {@link #findAdapterOfType(Class)} remembers the adapter of.
+     */
+    private static final int MAX_FOUND = 8;
+
     @NotNull
     protected final ComponentAdapter<T> delegate;
 
+    /**
+     * The first adapter down the chain that does something to get instances, found on first use.
+     */
+    @Nullable
+    private transient ComponentAdapter<T> instanceSource;
+
+    /**
+     * The types asked for by {@link #findAdapterOfType(Class)}, each followed by the adapter found, null for none.
+     */
+    @Nullable
+    private transient volatile Object[] found;
+
     public AbstractChangedBehavior(@NotNull final ComponentAdapter<T> delegate) {
       this.delegate = delegate;
     }
@@ -219,9 +255,34 @@ public class AbstractBehavior implements ComponentFactory, Serializable, Behavio
       return delegate.getComponentImplementation();
     }
 
+    /**
+     * Gets the instance from the delegate, going straight to the first adapter down the chain that is not a behavior
+     * passing instances through, as the chain does not change.
+     */
     @Override
     public T getComponentInstance(final PicoContainer container, final Type into) {
-      return delegate.getComponentInstance(container, into);
+      ComponentAdapter<T> source = instanceSource;
+
+      if (source == null) {
+        source = delegate;
+
+        while (source instanceof AbstractChangedBehavior
+            && ((AbstractChangedBehavior<T>) source).passesInstancesThrough()) {
+          source = ((AbstractChangedBehavior<T>) source).delegate;
+        }
+
+        instanceSource = source;
+      }
+
+      return source.getComponentInstance(container, into);
+    }
+
+    /**
+     * @return whether {@link #getComponentInstance(PicoContainer, Type)} does nothing but get the instance from the
+     *     delegate, so that the behaviors above this one can skip it. True when it is not overridden.
+     */
+    protected boolean passesInstancesThrough() {
+      return PASSING_INSTANCES_THROUGH.get(getClass());
     }
 
     @Override
@@ -235,11 +296,40 @@ public class AbstractBehavior implements ComponentFactory, Serializable, Behavio
       return delegate;
     }
 
+    /**
+     * Finds the adapter of a type down the chain once per type, as the chain does not change, and remembers it for the
+     * next queries: the containers and parameters ask each adapter for the same few types over and over.
+     */
     @Override
     public final <U extends ComponentAdapter<?>> U findAdapterOfType(final Class<U> adapterType) {
-      return adapterType.isAssignableFrom(getClass())
-          ? (U) this
-          : delegate.findAdapterOfType(adapterType);
+      Object[] known = found;
+
+      if (known == null) {
+        known = NOTHING_FOUND;
+      }
+
+      for (int i = 0; i < known.length; i += 2) {
+        if (known[i] == adapterType) {
+          return (U) known[i + 1];
+        }
+      }
+
+      ComponentAdapter<?> adapter = this;
+
+      while (adapter instanceof AbstractChangedBehavior && !adapterType.isInstance(adapter)) {
+        adapter = ((AbstractChangedBehavior<?>) adapter).delegate;
+      }
+
+      final U result = adapter instanceof AbstractChangedBehavior ? (U) adapter : adapter.findAdapterOfType(adapterType);
+
+      if (known.length < MAX_FOUND * 2) {
+        final Object[] more = Arrays.copyOf(known, known.length + 2);
+        more[known.length] = adapterType;
+        more[known.length + 1] = result;
+        found = more;
+      }
+
+      return result;
     }
 
     @Override
@@ -35,7 +35,12 @@ import java.util.List;
 import java.util.Properties;
 
 /**
- * TODO
+ * Adds the behaviors asked for by the characteristics of each component, outermost first: static injection,
+ * guarding, caching, implementation hiding, automating, property applying, locking and synchronizing.
+ * <p>
+ * Behaviors that only pass instances on, such as automating, are skipped when instances are got, so the depth of the
+ * chain costs only as much as the behaviors that act on the instances.
+ * </p>
  */
 @SuppressWarnings({"serial", "RedundantInterfaceDeclaration"})
 public class AdaptingBehavior extends AbstractBehavior implements Behavior, Serializable {
@@ -150,6 +155,8 @@ public class AdaptingBehavior extends AbstractBehavior implements Behavior, Seri
   protected void processLocking(final Properties componentProps, final List<? super Behavior> list) {
     if (AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.LOCK)) {
       list.add(new Locking());
+    } else if (AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.READ_WRITE_LOCK)) {
+      list.add(new Locking(Locking.Mode.READ_WRITE));
     }
   }
 
@@ -157,12 +164,16 @@ public class AdaptingBehavior extends AbstractBehavior implements Behavior, Seri
       final Properties componentProps,
       final Class<?> impl,
       final List<? super Behavior> list) {
-    if (AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.CACHE)
+    if (AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.CONCURRENT_CACHE)) {
+      AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.CACHE);
+      list.add(new ConcurrentCaching());
+    } else if (AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.CACHE)
         || impl.getAnnotation(Cache.class) != null) {
       list.add(new Caching());
     }
 
     AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.NO_CACHE);
+    AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.NO_CONCURRENT_CACHE);
   }
 
   protected void processGuarding(
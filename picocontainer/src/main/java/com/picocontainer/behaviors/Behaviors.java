@@ -15,6 +15,7 @@ import com.picocontainer.ComponentAdapter;
 import com.picocontainer.Decorator;
 import com.picocontainer.ObjectReference;
 import com.picocontainer.behaviors.Caching.Cached;
+import com.picocontainer.behaviors.ConcurrentCaching.ConcurrentCached;
 import com.picocontainer.behaviors.Decorating.Decorated;
 
 /**
@@ -34,6 +35,10 @@ public class Behaviors {
     return new Caching();
   }
 
+  public static Behavior concurrentCaching() {
+    return new ConcurrentCaching();
+  }
+
   public static Behavior synchronizing() {
     return new Synchronizing();
   }
@@ -42,6 +47,10 @@ public class Behaviors {
     return new Locking();
   }
 
+  public static Behavior scoping() {
+    return new Scoping();
+  }
+
   public static Behavior propertyApplying() {
     return new PropertyApplying();
   }
@@ -58,6 +67,10 @@ public class Behaviors {
     return new Cached<T>(delegate, instanceReference);
   }
 
+  public static <T> ChangedBehavior<T> concurrentCached(final ComponentAdapter<T> delegate) {
+    return new ConcurrentCached<>(delegate);
+  }
+
   public static <T> ChangedBehavior<T> decorated(final ComponentAdapter<T> delegate, final Decorator decorator) {
     return new Decorated<>(delegate, decorator);
   }
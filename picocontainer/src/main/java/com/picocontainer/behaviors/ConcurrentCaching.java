@@ -0,0 +1,290 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.behaviors;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.parameters.ConstructorParameters;
+import com.picocontainer.parameters.FieldParameters;
+import com.picocontainer.parameters.MethodParameters;
+
+import java.lang.reflect.Type;
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Factory class creating thread safe cached behaviours. Unlike {@link Caching}, the component is
+ * instantiated exactly once even when several threads ask for it at the same time, without having to
+ * stack {@link Locking} on top of it, and once instantiated it is returned without taking any lock.
+ * <p>
+ * It honours {@link Characteristics#NO_CACHE} and {@link Characteristics#CACHE} as well, so that it
+ * can replace {@link Caching} as the behavior of a whole container.
+ * </p>
+ *
+ * @see Characteristics#CONCURRENT_CACHE
+ */
+@SuppressWarnings("serial")
+public class ConcurrentCaching extends AbstractBehavior {
+  @Override
+  public <T> ComponentAdapter<T> createComponentAdapter(
+      final ComponentMonitor monitor,
+      final LifecycleStrategy lifecycle,
+      final Properties componentProps,
+      final Object key,
+      final Class<T> impl,
+      final ConstructorParameters constructorParams,
+      final FieldParameters[] fieldParams,
+      final MethodParameters[] methodParams) {
+    if (removeOptOut(componentProps)) {
+      return super.createComponentAdapter(monitor, lifecycle, componentProps, key, impl, constructorParams, fieldParams, methodParams);
+    }
+
+    removeOptIn(componentProps);
+    return monitor.changedBehavior(
+        new ConcurrentCached<>(
+            super.createComponentAdapter(
+                monitor,
+                lifecycle,
+                componentProps,
+                key,
+                impl,
+                constructorParams,
+                fieldParams,
+                methodParams
+            )
+        )
+    );
+  }
+
+  @Override
+  public <T> ComponentAdapter<T> addComponentAdapter(
+      final ComponentMonitor monitor,
+      final LifecycleStrategy lifecycle,
+      final Properties componentProps,
+      final ComponentAdapter<T> adapter) {
+    if (removeOptOut(componentProps)) {
+      return super.addComponentAdapter(monitor, lifecycle, componentProps, adapter);
+    }
+
+    removeOptIn(componentProps);
+    return monitor.changedBehavior(new ConcurrentCached<>(super.addComponentAdapter(monitor, lifecycle, componentProps, adapter)));
+  }
+
+  private static boolean removeOptOut(final Properties componentProps) {
+    final boolean noConcurrentCache = removePropertiesIfPresent(componentProps, Characteristics.NO_CONCURRENT_CACHE);
+    final boolean noCache = removePropertiesIfPresent(componentProps, Characteristics.NO_CACHE);
+    return noConcurrentCache || noCache;
+  }
+
+  private static void removeOptIn(final Properties componentProps) {
+    removePropertiesIfPresent(componentProps, Characteristics.CONCURRENT_CACHE);
+    removePropertiesIfPresent(componentProps, Characteristics.CACHE);
+  }
+
+  /**
+   * <p>
+   * {@link ComponentAdapter} implementation that caches the component instance, instantiating it
+   * exactly once.
+   * </p>
+   * <p>
+   * The instance is published through a volatile field: readers that find it there return it straight
+   * away, only the threads racing for the first instantiation contend for the lock, and the one that
+   * gets it second finds the instance the first one made. Start, stop and dispose take the same lock, and
+   * keep the same lifecycle state as {@link Caching.Cached}: the component can't be started if already
+   * started, it can't be started or stopped if disposed, it can't be stopped if not started, it can't be
+   * disposed if already disposed.
+   * </p>
+   */
+  @SuppressWarnings("serial")
+  public static class ConcurrentCached<T> extends AbstractChangedBehavior<T> {
+    private final Lock lock = new ReentrantLock();
+    private final boolean hasLifecycle;
+
+    private volatile T instance;
+
+    private boolean started;
+    private boolean disposed;
+
+    public ConcurrentCached(final ComponentAdapter<T> delegate) {
+      super(delegate);
+      hasLifecycle = delegate instanceof LifecycleStrategy
+          && ((LifecycleStrategy) delegate).hasLifecycle(delegate.getComponentImplementation());
+    }
+
+    @Override
+    public T getComponentInstance(final PicoContainer container, final Type into) {
+      final T cached = instance;
+
+      if (cached != null) {
+        return cached;
+      }
+
+      lock.lock();
+
+      try {
+        if (instance == null) {
+          instance = super.getComponentInstance(container, into);
+        }
+
+        return instance;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Retrieves the cached instance.
+     *
+     * @return the instance, or null if it has not been instantiated yet or has been flushed.
+     */
+    public T getStoredObject() {
+      return instance;
+    }
+
+    /**
+     * Flushes the cache.
+     * If the component instance is started is will stop and dispose it before
+     * flushing the cache.
+     */
+    public void flush() {
+      lock.lock();
+
+      try {
+        final T flushed = instance;
+
+        if (flushed != null && started) {
+          stop(flushed);
+          dispose(flushed);
+        }
+
+        instance = null;
+        started = false;
+        disposed = false;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public boolean componentHasLifecycle() {
+      return hasLifecycle;
+    }
+
+    /**
+     * Starts the cached component instance, instantiating it if need be.
+     * {@inheritDoc}
+     */
+    @Override
+    public void start(final PicoContainer container) {
+      if (!hasLifecycle) {
+        return;
+      }
+
+      lock.lock();
+
+      try {
+        guardAlreadyDisposed();
+        guardStartState(true, "already started");
+        start(getComponentInstance(container, NOTHING.class));
+        started = true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Stops the cached component instance
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop(final PicoContainer container) {
+      if (!hasLifecycle) {
+        return;
+      }
+
+      lock.lock();
+
+      try {
+        guardAlreadyDisposed();
+        guardNotInstantiated();
+        guardStartState(false, "not started");
+        stop(instance);
+        started = false;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Disposes the cached component instance
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose(final PicoContainer container) {
+      if (!hasLifecycle) {
+        return;
+      }
+
+      lock.lock();
+
+      try {
+        if (instance != null) {
+          guardAlreadyDisposed();
+          dispose(instance);
+          disposed = true;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public boolean isStarted() {
+      if (!hasLifecycle) {
+        return false;
+      }
+
+      lock.lock();
+
+      try {
+        return started;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public String getDescriptor() {
+      return "ConcurrentCached" + (hasLifecycle ? "+Lifecycle" : "");
+    }
+
+    private void guardNotInstantiated() {
+      if (instance == null) {
+        throw new IllegalStateException("'" + getComponentKey() + "' not instantiated");
+      }
+    }
+
+    private void guardStartState(final boolean unexpectedStartState, final String message) {
+      if (started == unexpectedStartState) {
+        throw new IllegalStateException("'" + getComponentKey() + "' " + message);
+      }
+    }
+
+    private void guardAlreadyDisposed() {
+      if (disposed) {
+        throw new IllegalStateException("'" + getComponentKey() + "' already disposed");
+      }
+    }
+  }
+}
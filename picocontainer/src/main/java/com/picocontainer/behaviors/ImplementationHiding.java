@@ -15,17 +15,26 @@ import com.picocontainer.ComponentMonitor;
 import com.picocontainer.LifecycleStrategy;
 import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
+import com.picocontainer.injectors.MemberInvoker;
+import com.picocontainer.injectors.MemberInvokers;
 import com.picocontainer.parameters.ConstructorParameters;
 import com.picocontainer.parameters.FieldParameters;
 import com.picocontainer.parameters.MethodParameters;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Properties;
 
+import static java.util.Objects.requireNonNull;
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
 /**
  * @author Aslak Helles&oslash;y
  * @see com.picocontainer.gems.adapters.HotSwappingComponentFactory for a more feature-rich version of the class
@@ -60,7 +69,9 @@ public class ImplementationHiding extends AbstractBehavior {
     }
 
     removePropertiesIfPresent(componentProps, Characteristics.HIDE_IMPL);
-    return monitor.changedBehavior(new HiddenImplementation<>(componentAdapter));
+    return monitor.changedBehavior(
+        new HiddenImplementation<>(componentAdapter, MemberInvokers.fromProperties(componentProps))
+    );
   }
 
   @Override
@@ -80,7 +91,8 @@ public class ImplementationHiding extends AbstractBehavior {
                 lifecycle,
                 componentProps,
                 adapter
-            )
+            ),
+            MemberInvokers.fromProperties(componentProps)
         )
     );
   }
@@ -94,6 +106,12 @@ public class ImplementationHiding extends AbstractBehavior {
    * This class exists here, because a) it has no deps on external jars, b) dynamic proxy is quite easy.
    * The user is prompted to look at picocontainer-gems for alternate and bigger implementations.
    * </p>
+   * <p>
+   * Calls to the proxy reach the real subject through the {@link #getMemberInvoker() member invoker}
+   * the {@link Characteristics#METHOD_HANDLE_INVOCATION invocation} characteristic of the component asks for, and skip
+   * the monitor altogether when it is not {@link ComponentMonitor#isMonitoring monitoring} invocations. The proxy class is looked up once, later
+   * proxies are made straight from its constructor.
+   * </p>
    *
    * @author Aslak Helles&oslash;y
    * @author Paul Hammant
@@ -101,13 +119,31 @@ public class ImplementationHiding extends AbstractBehavior {
    */
   @SuppressWarnings("serial")
   public static class HiddenImplementation<T> extends AbstractChangedBehavior<T> {
+    /**
+     * Null for {@link MemberInvokers#REFLECTION}, so that the default does not show in the serialized form.
+     */
+    @Nullable
+    private final MemberInvoker memberInvoker;
+
+    @Nullable
+    private transient volatile ProxyClass proxyClass;
+
     /**
      * Creates an ImplementationHidingComponentAdapter with a delegate
      *
      * @param delegate the component adapter to which this adapter delegates
      */
     public HiddenImplementation(final ComponentAdapter<T> delegate) {
+      this(delegate, MemberInvokers.REFLECTION);
+    }
+
+    /**
+     * @param delegate the component adapter to which this adapter delegates
+     * @param memberInvoker how the methods of the real subject are called by the proxy, see {@link MemberInvokers}
+     */
+    public HiddenImplementation(final ComponentAdapter<T> delegate, @NotNull final MemberInvoker memberInvoker) {
       super(delegate);
+      this.memberInvoker = requireNonNull(memberInvoker, "memberInvoker") == MemberInvokers.REFLECTION ? null : memberInvoker;
     }
 
     @Override
@@ -133,9 +169,14 @@ public class ImplementationHiding extends AbstractBehavior {
       return "Hidden";
     }
 
+    protected MemberInvoker getMemberInvoker() {
+      final MemberInvoker invoker = memberInvoker;
+      return invoker != null ? invoker : MemberInvokers.REFLECTION;
+    }
+
     protected T createProxy(final Class<?>[] interfaces, final PicoContainer container, final ClassLoader classLoader) {
       final PicoContainer container1 = container;
-      return (T) Proxy.newProxyInstance(classLoader, interfaces, new InvocationHandler() {
+      final InvocationHandler handler = new InvocationHandler() {
         private final PicoContainer container = container1;
         private volatile Object instance;
 
@@ -151,7 +192,17 @@ public class ImplementationHiding extends AbstractBehavior {
 
           return invokeMethod(instance, method, args, container);
         }
-      });
+      };
+
+      final ProxyClass known = proxyClass;
+
+      if (known != null && known.isFor(interfaces, classLoader)) {
+        return (T) known.newInstance(handler);
+      }
+
+      final Object proxy = Proxy.newProxyInstance(classLoader, interfaces, handler);
+      proxyClass = new ProxyClass(interfaces, classLoader, proxy.getClass());
+      return (T) proxy;
     }
 
     protected Object invokeMethod(
@@ -162,10 +213,14 @@ public class ImplementationHiding extends AbstractBehavior {
       final ComponentMonitor monitor = currentMonitor();
 
       try {
+        if (!monitor.isMonitoring(ComponentMonitor.Event.INVOCATION)) {
+          return getMemberInvoker().invoke(method, componentInstance, args);
+        }
+
         monitor.invoking(container, this, method, componentInstance, args);
-        final long startTime = System.currentTimeMillis();
-        final Object rv = method.invoke(componentInstance, args);
-        monitor.invoked(container, this, method, componentInstance, System.currentTimeMillis() - startTime, rv, args);
+        final long startTime = System.nanoTime();
+        final Object rv = getMemberInvoker().invoke(method, componentInstance, args);
+        monitor.invoked(container, this, method, componentInstance, millisSince(startTime), rv, args);
         return rv;
       } catch (final InvocationTargetException ite) {
         monitor.invocationFailed(method, componentInstance, ite);
@@ -180,5 +235,52 @@ public class ImplementationHiding extends AbstractBehavior {
         }
       }
     }
+
+    /**
+     * The proxy class made for some interfaces, and its constructor if it can be called from here.
+     */
+    private static final class ProxyClass {
+      private final Class<?>[] interfaces;
+      private final ClassLoader classLoader;
+
+      @Nullable
+      private final Constructor<?> constructor;
+
+      ProxyClass(final Class<?>[] interfaces, final ClassLoader classLoader, final Class<?> proxyClass) {
+        this.interfaces = interfaces.clone();
+        this.classLoader = classLoader;
+        this.constructor = constructorOf(proxyClass);
+      }
+
+      @Nullable
+      private static Constructor<?> constructorOf(final Class<?> proxyClass) {
+        try {
+          final Constructor<?> constructor = proxyClass.getConstructor(InvocationHandler.class);
+          constructor.setAccessible(true);
+          return constructor;
+        } catch (final NoSuchMethodException | RuntimeException e) {
+          // Proxy classes of named modules may not be open to us, Proxy makes those
+          return null;
+        }
+      }
+
+      boolean isFor(final Class<?>[] interfaces, final ClassLoader classLoader) {
+        return this.classLoader == classLoader && Arrays.equals(this.interfaces, interfaces);
+      }
+
+      Object newInstance(final InvocationHandler handler) {
+        if (constructor == null) {
+          return Proxy.newProxyInstance(classLoader, interfaces, handler);
+        }
+
+        try {
+          return constructor.newInstance(handler);
+        } catch (final InvocationTargetException e) {
+          throw new PicoCompositionException(e.getTargetException());
+        } catch (final ReflectiveOperationException e) {
+          throw new PicoCompositionException(e);
+        }
+      }
+    }
   }
 }
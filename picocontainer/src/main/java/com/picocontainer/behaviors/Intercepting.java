@@ -13,6 +13,8 @@ import com.picocontainer.ComponentMonitor;
 import com.picocontainer.LifecycleStrategy;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.behaviors.ImplementationHiding.HiddenImplementation;
+import com.picocontainer.injectors.MemberInvoker;
+import com.picocontainer.injectors.MemberInvokers;
 import com.picocontainer.parameters.ConstructorParameters;
 import com.picocontainer.parameters.FieldParameters;
 import com.picocontainer.parameters.MethodParameters;
@@ -21,9 +23,12 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Paul Hammant
@@ -51,30 +56,47 @@ public class Intercepting extends AbstractBehavior {
                 constructorParams,
                 fieldParams,
                 methodParams
-            )
+            ),
+            MemberInvokers.fromProperties(componentProps)
         )
     );
   }
 
   /**
+   * Calls the interceptors added for the interface declaring a method around each call to it, pre invocations in the
+   * order they were added, then the component, then post invocations in the order they were added.
+   * <p>
+   * The interceptors of a method are looked up on its first call and kept until more are added. Methods without any
+   * go straight to the component, without touching the {@link #getController() controller}.
+   * </p>
+   *
    * @author Paul Hammant
    */
   @SuppressWarnings("serial")
   public static class Intercepted<T> extends HiddenImplementation<T> {
-    private final Map<Class<?>, Object> pres = new HashMap<>();
-    private final Map<Class<?>, Object> posts = new HashMap<>();
+    private final Map<Class<?>, List<Object>> pres = new HashMap<>();
+    private final Map<Class<?>, List<Object>> posts = new HashMap<>();
     private final Controller controller = new ControllerWrapper(new InterceptorThreadLocal());
 
+    @Nullable
+    private transient volatile Map<Method, Chain> chains;
+
     public Intercepted(final ComponentAdapter<T> delegate) {
       super(delegate);
     }
 
-    public void addPreInvocation(final Class<?> type, final Object interceptor) {
-      pres.put(type, interceptor);
+    public Intercepted(final ComponentAdapter<T> delegate, final MemberInvoker memberInvoker) {
+      super(delegate, memberInvoker);
+    }
+
+    public synchronized void addPreInvocation(final Class<?> type, final Object interceptor) {
+      pres.computeIfAbsent(type, k -> new ArrayList<>()).add(interceptor);
+      chains = null;
     }
 
-    public void addPostInvocation(final Class<?> type, final Object interceptor) {
-      posts.put(type, interceptor);
+    public synchronized void addPostInvocation(final Class<?> type, final Object interceptor) {
+      posts.computeIfAbsent(type, k -> new ArrayList<>()).add(interceptor);
+      chains = null;
     }
 
     @Override
@@ -83,26 +105,30 @@ public class Intercepting extends AbstractBehavior {
         final Method method,
         final Object[] args,
         final PicoContainer container) throws Throwable {
+      final MemberInvoker memberInvoker = getMemberInvoker();
+      final Chain chain = chainOf(method);
+
       try {
+        if (chain == Chain.NONE) {
+          return memberInvoker.invoke(method, componentInstance, args);
+        }
+
         controller.clear();
         controller.instance(componentInstance);
 
-        final Object pre = pres.get(method.getDeclaringClass());
-
-        if (pre != null) {
-          final Object rv = method.invoke(pre, args);
+        for (final Object pre : chain.pres) {
+          final Object rv = memberInvoker.invoke(method, pre, args);
 
           if (controller.isVetoed()) {
             return rv;
           }
         }
 
-        final Object result = method.invoke(componentInstance, args);
+        final Object result = memberInvoker.invoke(method, componentInstance, args);
         controller.setOriginalRetVal(result);
-        final Object post = posts.get(method.getDeclaringClass());
 
-        if (post != null) {
-          final Object rv = method.invoke(post, args);
+        for (final Object post : chain.posts) {
+          final Object rv = memberInvoker.invoke(method, post, args);
 
           if (controller.isOverridden()) {
             return rv;
@@ -115,6 +141,26 @@ public class Intercepting extends AbstractBehavior {
       }
     }
 
+    private Chain chainOf(final Method method) {
+      final Map<Method, Chain> known = chains;
+      final Chain chain = known == null ? null : known.get(method);
+
+      if (chain != null) {
+        return chain;
+      }
+
+      synchronized (this) {
+        Map<Method, Chain> current = chains;
+
+        if (current == null) {
+          current = new ConcurrentHashMap<>();
+          chains = current;
+        }
+
+        return current.computeIfAbsent(method, m -> Chain.of(pres.get(m.getDeclaringClass()), posts.get(m.getDeclaringClass())));
+      }
+    }
+
     public Controller getController() {
       return controller;
     }
@@ -125,6 +171,32 @@ public class Intercepting extends AbstractBehavior {
     }
   }
 
+  /**
+   * The interceptors of a method.
+   */
+  private static final class Chain {
+    static final Chain NONE = new Chain(new Object[0], new Object[0]);
+
+    final Object[] pres;
+    final Object[] posts;
+
+    private Chain(final Object[] pres, final Object[] posts) {
+      this.pres = pres;
+      this.posts = posts;
+    }
+
+    static Chain of(@Nullable final List<Object> pres, @Nullable final List<Object> posts) {
+      if (pres == null && posts == null) {
+        return NONE;
+      }
+
+      return new Chain(
+          pres == null ? NONE.pres : pres.toArray(),
+          posts == null ? NONE.posts : posts.toArray()
+      );
+    }
+  }
+
   public static class InterceptorThreadLocal extends ThreadLocal<Controller> implements Serializable {
     @Override
     protected Controller initialValue() {
@@ -9,9 +9,11 @@
  *****************************************************************************/
 package com.picocontainer.behaviors;
 
+import com.picocontainer.ChangedBehavior;
 import com.picocontainer.Characteristics;
 import com.picocontainer.ComponentAdapter;
 import com.picocontainer.ComponentMonitor;
+import com.picocontainer.ComponentMonitorStrategy;
 import com.picocontainer.LifecycleStrategy;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.parameters.ConstructorParameters;
@@ -21,17 +23,38 @@ import com.picocontainer.parameters.MethodParameters;
 import java.lang.reflect.Type;
 import java.util.Properties;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * This behavior factory provides {@code java.util.concurrent} locks.
  * It is recommended to be used instead of {@link Synchronizing} since it results in better performance.
+ * <p>
+ * By default every retrieval of the component is exclusive. In {@link Mode#READ_WRITE read/write} mode retrievals
+ * share the lock and only the start, stop and dispose of the component are exclusive, for components that can be
+ * instantiated concurrently but must not be handed out while their lifecycle changes. It is selected for a component
+ * with {@link Characteristics#READ_WRITE_LOCK}, or for all the components of the factory with {@link #Locking(Mode)}.
+ * </p>
+ * <p>
+ * A thread that has to wait for the lock is reported with {@link ComponentMonitor#lockWaited}.
+ * </p>
  *
  * @author Aslak Helles&oslash;y
  * @author Paul Hammant.
  */
 @SuppressWarnings("serial")
 public class Locking extends AbstractBehavior {
+  private final Mode mode;
+
+  public Locking() {
+    this(Mode.EXCLUSIVE);
+  }
+
+  public Locking(final Mode mode) {
+    this.mode = mode;
+  }
+
   @Override
   public <T> ComponentAdapter<T> createComponentAdapter(
       final ComponentMonitor monitor,
@@ -55,9 +78,9 @@ public class Locking extends AbstractBehavior {
       );
     }
 
-    removePropertiesIfPresent(componentProps, Characteristics.LOCK);
+    final Mode componentMode = getAndRemoveMode(componentProps);
     return monitor.changedBehavior(
-        new Locked<>(
+        newLocked(
             super.createComponentAdapter(
                 monitor,
                 lifecycle,
@@ -67,7 +90,8 @@ public class Locking extends AbstractBehavior {
                 constructorParams,
                 fieldParams,
                 methodParams
-            )
+            ),
+            componentMode
         )
     );
   }
@@ -82,18 +106,47 @@ public class Locking extends AbstractBehavior {
       return super.addComponentAdapter(monitor, lifecycle, componentProps, adapter);
     }
 
-    removePropertiesIfPresent(componentProps, Characteristics.LOCK);
+    final Mode componentMode = getAndRemoveMode(componentProps);
     return monitor.changedBehavior(
-        new Locked<>(
+        newLocked(
             super.addComponentAdapter(monitor,
                 lifecycle,
                 componentProps,
                 adapter
-            )
+            ),
+            componentMode
         )
     );
   }
 
+  private Mode getAndRemoveMode(final Properties componentProps) {
+    if (removePropertiesIfPresent(componentProps, Characteristics.READ_WRITE_LOCK)) {
+      return Mode.READ_WRITE;
+    }
+
+    removePropertiesIfPresent(componentProps, Characteristics.LOCK);
+    return mode;
+  }
+
+  private static <T> ChangedBehavior<T> newLocked(final ComponentAdapter<T> delegate, final Mode mode) {
+    return mode == Mode.READ_WRITE ? new ReadWriteLocked<>(delegate) : new Locked<>(delegate);
+  }
+
+  /**
+   * What the lock of a component guards.
+   */
+  public enum Mode {
+    /**
+     * Every retrieval of the component holds the lock exclusively.
+     */
+    EXCLUSIVE,
+
+    /**
+     * Retrievals of the component share the lock, start, stop and dispose hold it exclusively.
+     */
+    READ_WRITE
+  }
+
   /**
    * @author Paul Hammant
    */
@@ -107,7 +160,7 @@ public class Locking extends AbstractBehavior {
 
     @Override
     public T getComponentInstance(final PicoContainer container, final Type into) {
-      lock.lock();
+      acquire(lock, container, this);
 
       try {
         return super.getComponentInstance(container, into);
@@ -121,4 +174,90 @@ public class Locking extends AbstractBehavior {
       return "Locked";
     }
   }
+
+  /**
+   * Lets retrievals of the component proceed concurrently, but not while it is started, stopped or disposed.
+   */
+  @SuppressWarnings("serial")
+  public static class ReadWriteLocked<T> extends AbstractChangedBehavior<T> {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ReadWriteLocked(final ComponentAdapter<T> delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public T getComponentInstance(final PicoContainer container, final Type into) {
+      final Lock read = lock.readLock();
+      acquire(read, container, this);
+
+      try {
+        return super.getComponentInstance(container, into);
+      } finally {
+        read.unlock();
+      }
+    }
+
+    @Override
+    public void start(final PicoContainer container) {
+      final Lock write = lock.writeLock();
+      acquire(write, container, this);
+
+      try {
+        super.start(container);
+      } finally {
+        write.unlock();
+      }
+    }
+
+    @Override
+    public void stop(final PicoContainer container) {
+      final Lock write = lock.writeLock();
+      acquire(write, container, this);
+
+      try {
+        super.stop(container);
+      } finally {
+        write.unlock();
+      }
+    }
+
+    @Override
+    public void dispose(final PicoContainer container) {
+      final Lock write = lock.writeLock();
+      acquire(write, container, this);
+
+      try {
+        super.dispose(container);
+      } finally {
+        write.unlock();
+      }
+    }
+
+    @Override
+    public String getDescriptor() {
+      return "ReadWriteLocked";
+    }
+  }
+
+  /**
+   * Takes the lock, timing and reporting the wait only when it is not free straight away. The monitor is looked up
+   * then, so that it follows {@link ComponentMonitorStrategy#changeMonitor changes} of the container's monitor.
+   */
+  private static void acquire(final Lock lock, final PicoContainer container, final AbstractChangedBehavior<?> adapter) {
+    if (lock.tryLock()) {
+      return;
+    }
+
+    final ComponentMonitor monitor = adapter.getDelegate() instanceof ComponentMonitorStrategy ? adapter.currentMonitor() : null;
+
+    if (monitor == null || !monitor.isMonitoring(ComponentMonitor.Event.LOCK_WAIT)) {
+      lock.lock();
+      return;
+    }
+
+    final long waitStart = System.nanoTime();
+    lock.lock();
+    monitor.lockWaited(container, adapter, System.nanoTime() - waitStart);
+  }
 }
@@ -28,6 +28,8 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
 /**
  * A {@link com.picocontainer.ComponentFactory} that creates
  * {@link PropertyApplicator} instances.
@@ -116,12 +118,16 @@ public final class PropertyApplying extends AbstractBehavior {
                     Object valueToInvoke = this.getSetterParameter(propertyName, propertyValue, componentInstance, container);
 
                     try {
-                        monitor.invoking(container, PropertyApplicator.this, setter, componentInstance, new Object[] {valueToInvoke});
-                        long startTime = System.currentTimeMillis();
-                        setter.invoke(componentInstance, valueToInvoke);
-                        monitor.invoked(container,
-                                                 PropertyApplicator.this,
-                                                 setter, componentInstance, System.currentTimeMillis() - startTime, null, new Object[] {valueToInvoke});
+                        if (monitor.isMonitoring(ComponentMonitor.Event.INVOCATION)) {
+                            monitor.invoking(container, PropertyApplicator.this, setter, componentInstance, new Object[] {valueToInvoke});
+                            long startTime = System.nanoTime();
+                            setter.invoke(componentInstance, valueToInvoke);
+                            monitor.invoked(container,
+                                                     PropertyApplicator.this,
+                                                     setter, componentInstance, millisSince(startTime), null, new Object[] {valueToInvoke});
+                        } else {
+                            setter.invoke(componentInstance, valueToInvoke);
+                        }
                     } catch (final Exception e) {
                         monitor.invocationFailed(setter, componentInstance, e);
                         throw new PicoCompositionException("Failed to set property " + propertyName + " to " + propertyValue + ": " + e.getMessage(), e);
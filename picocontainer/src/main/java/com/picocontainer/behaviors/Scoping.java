@@ -0,0 +1,135 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.behaviors;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.Storing.Stored;
+import com.picocontainer.parameters.ConstructorParameters;
+import com.picocontainer.parameters.FieldParameters;
+import com.picocontainer.parameters.MethodParameters;
+import com.picocontainer.references.Scope;
+import com.picocontainer.references.ScopeReference;
+
+import java.util.Properties;
+
+/**
+ * Caches components in the explicit {@link Scope} the calling thread runs in, instead of in the calling thread itself
+ * as {@link Storing} and {@link ThreadCaching} do. The instances of a scope are shared by every thread it is carried to,
+ * and go away with it, which suits many short lived or virtual threads.
+ */
+@SuppressWarnings("serial")
+public class Scoping extends AbstractBehavior {
+  @Override
+  public <T> ComponentAdapter<T> createComponentAdapter(
+      final ComponentMonitor monitor,
+      final LifecycleStrategy lifecycle,
+      final Properties componentProps,
+      final Object key,
+      final Class<T> impl,
+      final ConstructorParameters constructorParams,
+      final FieldParameters[] fieldParams,
+      final MethodParameters[] methodParams) {
+    if (removePropertiesIfPresent(componentProps, Characteristics.NO_CACHE)) {
+      return super.createComponentAdapter(
+          monitor,
+          lifecycle,
+          componentProps,
+          key,
+          impl,
+          constructorParams,
+          fieldParams,
+          methodParams
+      );
+    }
+
+    removePropertiesIfPresent(componentProps, Characteristics.CACHE);
+    return monitor.changedBehavior(
+        new Scoped<>(
+            super.createComponentAdapter(
+                monitor,
+                lifecycle,
+                componentProps,
+                key,
+                impl,
+                constructorParams,
+                fieldParams,
+                methodParams
+            )
+        )
+    );
+  }
+
+  @Override
+  public <T> ComponentAdapter<T> addComponentAdapter(
+      final ComponentMonitor monitor,
+      final LifecycleStrategy lifecycle,
+      final Properties componentProps,
+      final ComponentAdapter<T> adapter) {
+    if (removePropertiesIfPresent(componentProps, Characteristics.NO_CACHE)) {
+      return super.addComponentAdapter(monitor, lifecycle, componentProps, adapter);
+    }
+
+    removePropertiesIfPresent(componentProps, Characteristics.CACHE);
+    return monitor.changedBehavior(
+        new Scoped<>(super.addComponentAdapter(monitor, lifecycle, componentProps, adapter))
+    );
+  }
+
+  /**
+   * This behavior supports cached values per {@link Scope}. Outside of any scope the component has no lifecycle,
+   * so a container started there neither instantiates nor starts it: the lifecycle applies to the instance of the
+   * scope the container is started, stopped and disposed in.
+   */
+  public static final class Scoped<T> extends Stored<T> {
+    public Scoped(final ComponentAdapter<T> delegate) {
+      super(delegate, new ScopeReference<>());
+    }
+
+    @Override
+    public boolean componentHasLifecycle() {
+      return Scope.current() != null && super.componentHasLifecycle();
+    }
+
+    @Override
+    public void start(final PicoContainer container) {
+      if (Scope.current() != null) {
+        super.start(container);
+      }
+    }
+
+    @Override
+    public void stop(final PicoContainer container) {
+      if (Scope.current() != null) {
+        super.stop(container);
+      }
+    }
+
+    @Override
+    public void dispose(final PicoContainer container) {
+      if (Scope.current() != null) {
+        super.dispose(container);
+      }
+    }
+
+    @Override
+    public boolean isStarted() {
+      return Scope.current() != null && super.isStarted();
+    }
+
+    @Override
+    public String getDescriptor() {
+      return "Scoped" + getLifecycleDescriptor();
+    }
+  }
+}
@@ -191,6 +191,12 @@ public class Storing extends AbstractBehavior {
 
         @Override
 		public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
+            // Read the reference once when hit, as it may be a thread local or a session attribute
+            final Instance<T> stored = instanceReference.get();
+            final T hit = stored != null ? stored.instance : null;
+            if (hit != null) {
+                return hit;
+            }
             guardInstRef();
             T instance = instanceReference.get().instance;
             if (instance == null) {
@@ -0,0 +1,213 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.containers;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentFactory;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.AdaptingBehavior;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link DefaultPicoContainer} meant to be read by many threads at once, even while it is being changed.
+ * <p>
+ * Component adapters are kept in concurrent and copy-on-write collections, so looking up and retrieving
+ * components never takes a lock once the components have been instantiated for the first time.
+ * Changes to the container (adding or removing components, children or the monitor) are serialized
+ * on the container's monitor, and are relatively more expensive than with a {@code DefaultPicoContainer}.
+ * <p>
+ * Use {@link com.picocontainer.PicoBuilder#implementedBy(Class)} to build one.
+ */
+@SuppressWarnings("serial")
+public class ConcurrentPicoContainer extends DefaultPicoContainer {
+  private final Map<Object, ComponentAdapter<?>> keyToAdapterCache = new NullTolerantConcurrentHashMap<>();
+  private final Set<ComponentAdapter<?>> componentAdapters = new CopyOnWriteLinkedSet<>();
+  private final List<ComponentAdapter<?>> startOrderedAdapters = new CopyOnWriteArrayList<>();
+
+  /**
+   * Creates a new container with a {@link AdaptingBehavior} and no parent container.
+   */
+  public ConcurrentPicoContainer() {
+    this(null);
+  }
+
+  /**
+   * Creates a new container with a {@link AdaptingBehavior} and a parent container.
+   *
+   * @param parent the parent container (used for component dependency lookups).
+   */
+  public ConcurrentPicoContainer(@Nullable final PicoContainer parent) {
+    this(parent, new StartableLifecycleStrategy(new NullComponentMonitor()), new NullComponentMonitor());
+  }
+
+  /**
+   * Creates a new container with a {@link AdaptingBehavior}, a custom ComponentMonitor and lifecycle strategy.
+   *
+   * @param parent the parent container (used for component dependency lookups).
+   * @param lifecycle the lifecycle strategy to use.
+   * @param monitor the ComponentMonitor to use
+   */
+  public ConcurrentPicoContainer(
+      @Nullable final PicoContainer parent,
+      final LifecycleStrategy lifecycle,
+      final ComponentMonitor monitor) {
+    super(parent, lifecycle, monitor);
+  }
+
+  /**
+   * Creates a new container with custom ComponentFactories, ComponentMonitor and lifecycle strategy.
+   *
+   * @param parent the parent container (used for component dependency lookups).
+   * @param lifecycle the lifecycle strategy to use.
+   * @param monitor the ComponentMonitor to use
+   * @param componentFactories the factories to use for creation of ComponentAdapters.
+   */
+  public ConcurrentPicoContainer(
+      @Nullable final PicoContainer parent,
+      final LifecycleStrategy lifecycle,
+      final ComponentMonitor monitor,
+      final ComponentFactory... componentFactories) {
+    super(parent, lifecycle, monitor, componentFactories);
+  }
+
+  @Override
+  protected synchronized MutablePicoContainer addAdapterInternal(final ComponentAdapter<?> componentAdapter) {
+    return super.addAdapterInternal(componentAdapter);
+  }
+
+  @Override
+  public synchronized <T> ComponentAdapter<T> removeComponent(final Object key) {
+    return super.removeComponent(key);
+  }
+
+  @Override
+  public synchronized MutablePicoContainer addChildContainer(final PicoContainer child) {
+    return super.addChildContainer(child);
+  }
+
+  @Override
+  public synchronized boolean removeChildContainer(final PicoContainer child) {
+    return super.removeChildContainer(child);
+  }
+
+  @Override
+  public synchronized ComponentMonitor changeMonitor(final ComponentMonitor newMonitor) {
+    return super.changeMonitor(newMonitor);
+  }
+
+  @Override
+  public MutablePicoContainer makeChildContainer() {
+    final ConcurrentPicoContainer pc = new ConcurrentPicoContainer(this, lifecycle, monitor, componentFactory);
+    addChildContainer(pc);
+    return pc;
+  }
+
+  /**
+   * The adapter collections tolerate concurrent modification, no need to lock.
+   */
+  @Override
+  public <T> List<T> getComponents(final Class<T> componentType) {
+    if (componentType == null) {
+      return Collections.emptyList();
+    }
+
+    return getLocalComponents(componentType);
+  }
+
+  @Override
+  protected List<ComponentAdapter<?>> getOrderedComponentAdapters() {
+    return startOrderedAdapters;
+  }
+
+  @Override
+  protected Map<Object, ComponentAdapter<?>> getComponentKeyToAdapterCache() {
+    return keyToAdapterCache;
+  }
+
+  @Override
+  protected Set<ComponentAdapter<?>> getModifiableComponentAdapterList() {
+    return componentAdapters;
+  }
+
+  /**
+   * {@code ConcurrentHashMap} that answers lookups of {@code null} keys like a {@code HashMap} does.
+   */
+  private static final class NullTolerantConcurrentHashMap<K, V> extends ConcurrentHashMap<K, V> {
+    @Override
+    public V get(final Object key) {
+      return key == null ? null : super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return key != null && super.containsKey(key);
+    }
+
+    @Override
+    public V remove(final Object key) {
+      return key == null ? null : super.remove(key);
+    }
+  }
+
+  /**
+   * Insertion ordered set with constant time, lock-free {@code contains} and snapshot iteration.
+   * Changes are serialized and copy the ordering.
+   */
+  private static final class CopyOnWriteLinkedSet<E> extends AbstractSet<E> implements Serializable {
+    private final Set<E> members = ConcurrentHashMap.newKeySet();
+    private final List<E> order = new CopyOnWriteArrayList<>();
+
+    @Override
+    public synchronized boolean add(final E e) {
+      if (!members.add(e)) {
+        return false;
+      }
+
+      order.add(e);
+      return true;
+    }
+
+    @Override
+    public synchronized boolean remove(final Object o) {
+      if (o == null || !members.remove(o)) {
+        return false;
+      }
+
+      order.remove(o);
+      return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+      return o != null && members.contains(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return Collections.unmodifiableList(order).iterator();
+    }
+
+    @Override
+    public int size() {
+      return order.size();
+    }
+  }
+}
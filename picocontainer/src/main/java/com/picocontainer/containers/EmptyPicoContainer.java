@@ -13,6 +13,7 @@ import com.googlecode.jtype.Generic;
 import com.picocontainer.ComponentAdapter;
 import com.picocontainer.Converters;
 import com.picocontainer.Converting;
+import com.picocontainer.Generational;
 import com.picocontainer.NameBinding;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
@@ -34,7 +35,7 @@ import java.util.List;
  * @author Konstantin Pribluda
  */
 @SuppressWarnings("serial")
-public class EmptyPicoContainer implements PicoContainer, Converting, Serializable {
+public class EmptyPicoContainer implements PicoContainer, Converting, Generational, Serializable {
   @Nullable
   @Override
   public Object getComponent(final Object keyOrType) {
@@ -184,4 +185,12 @@ public class EmptyPicoContainer implements PicoContainer, Converting, Serializab
   public Converters getConverters() {
     return new ConvertsNothing();
   }
+
+  /**
+   * Nothing can ever be added to an empty container.
+   */
+  @Override
+  public long getGeneration() {
+    return 0;
+  }
 }
@@ -14,6 +14,7 @@ import com.picocontainer.ComponentAdapter;
 import com.picocontainer.ComponentAdapter.NOTHING;
 import com.picocontainer.Converters;
 import com.picocontainer.Converting;
+import com.picocontainer.Generational;
 import com.picocontainer.NameBinding;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
@@ -32,7 +33,7 @@ import java.util.List;
  * @author Konstantin Pribluda
  */
 @SuppressWarnings("serial")
-public final class ImmutablePicoContainer implements PicoContainer, Converting, Serializable {
+public final class ImmutablePicoContainer implements PicoContainer, Converting, Generational, Serializable {
   private final PicoContainer delegate;
 
   public ImmutablePicoContainer(final PicoContainer delegate) {
@@ -194,4 +195,11 @@ public final class ImmutablePicoContainer implements PicoContainer, Converting,
 
     return new ConvertsNothing();
   }
+
+  @Override
+  public long getGeneration() {
+    return delegate instanceof Generational
+        ? ((Generational) delegate).getGeneration()
+        : UNTRACKED;
+  }
 }
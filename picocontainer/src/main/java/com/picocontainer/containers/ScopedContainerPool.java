@@ -0,0 +1,321 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.containers;
+
+import com.googlecode.jtype.Generic;
+import com.picocontainer.Characteristics;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.Parameter;
+import com.picocontainer.PicoCompositionException;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.adapters.AbstractAdapter;
+import com.picocontainer.behaviors.AdaptingBehavior;
+import com.picocontainer.behaviors.Scoping;
+import com.picocontainer.lifecycle.NullLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
+import com.picocontainer.references.Scope;
+import com.picocontainer.references.ScopeReference;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A replacement for making a child container per request: the components of a request are registered once in a
+ * template, and each request {@link #acquire() acquires} a {@link ScopedContainer} that only holds the instances of
+ * that request, and whose scope is reset and pooled when {@link ScopedContainer#close() closed}.
+ * <p>
+ * The adapters, the constructors they choose and the resolution of their arguments are worked out once for the
+ * template, instead of once per child container. Components of the template get one instance per request,
+ * {@link #addScopedInstance(Object, Class) scoped instances} are {@link ScopedContainer#put(Object, Object) put} in
+ * by the request itself, and everything else comes from the parent.
+ * </p>
+ * <pre>
+ * ScopedContainerPool requests = new ScopedContainerPool(application)
+ *     .addScopedInstance(HttpServletRequest.class, HttpServletRequest.class)
+ *     .addComponent(Controller.class)
+ *     .prepare();
+ *
+ * try (ScopedContainerPool.ScopedContainer request = requests.acquire()) {
+ *   request.put(HttpServletRequest.class, httpRequest);
+ *   request.getComponent(Controller.class).handle();
+ * }
+ * </pre>
+ * Template components have no lifecycle: they are not started, stopped or disposed.
+ */
+public class ScopedContainerPool {
+  private final DefaultPicoContainer template;
+  private final Map<Object, ScopedInstance<?>> scopedInstances = new ConcurrentHashMap<>();
+  private final Queue<PooledScope> idle = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final int maxIdle;
+
+  public ScopedContainerPool(final PicoContainer parent) {
+    this(parent, 64);
+  }
+
+  /**
+   * @param parent the container the components of the template can depend on.
+   * @param maxIdle how many closed scoped containers are kept for reuse.
+   */
+  public ScopedContainerPool(final PicoContainer parent, final int maxIdle) {
+    template = new DefaultPicoContainer(
+        parent,
+        new NullLifecycleStrategy(),
+        new NullComponentMonitor(),
+        new Scoping().wrap(new AdaptingBehavior())
+    );
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * Registers a component that gets one instance per request.
+   */
+  public ScopedContainerPool addComponent(final Object implOrInstance) {
+    template.addComponent(implOrInstance);
+    return this;
+  }
+
+  /**
+   * Registers a component that gets one instance per request.
+   */
+  public ScopedContainerPool addComponent(final Object key, final Object implOrInstance, final Parameter... parameters) {
+    template.addComponent(key, implOrInstance, parameters);
+    return this;
+  }
+
+  /**
+   * Registers a component whose instance is {@link ScopedContainer#put(Object, Object) put} in by each request.
+   */
+  public <T> ScopedContainerPool addScopedInstance(final Object key, final Class<T> type) {
+    final ScopedInstance<T> scopedInstance = new ScopedInstance<>(key, type);
+    template.as(Characteristics.NO_CACHE).addAdapter(scopedInstance);
+    scopedInstances.put(key, scopedInstance);
+    return this;
+  }
+
+  /**
+   * Works out the constructors of the components of the template and verifies that they can be satisfied, rather
+   * than doing so for the first request.
+   */
+  public ScopedContainerPool prepare() {
+    for (final ComponentAdapter<?> adapter : template.getComponentAdapters()) {
+      adapter.verify(template);
+    }
+
+    return this;
+  }
+
+  /**
+   * @return a scoped container for a request, to close when the request is over.
+   */
+  public ScopedContainer acquire() {
+    PooledScope pooled = idle.poll();
+
+    if (pooled == null) {
+      pooled = new PooledScope();
+    } else {
+      idleCount.decrementAndGet();
+    }
+
+    return new ScopedContainer(this, pooled, pooled.lease.get());
+  }
+
+  private void release(final PooledScope pooled) {
+    pooled.scope.clear();
+
+    if (idleCount.incrementAndGet() <= maxIdle) {
+      idle.offer(pooled);
+    } else {
+      idleCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * @return how many closed scopes are kept for reuse
+   */
+  int getIdleCount() {
+    return idleCount.get();
+  }
+
+  /**
+   * The reusable part of a request: its {@link Scope}, and the number of the lease it is currently handed out
+   * under, which closing ends.
+   */
+  private static final class PooledScope {
+    private final Scope scope = new Scope();
+    private final AtomicLong lease = new AtomicLong();
+  }
+
+  /**
+   * The container of a request: retrievals run in the {@link Scope} of the request, so that the components of the
+   * template are instantiated once per request. A new one is handed out for each request, over a pooled scope.
+   */
+  @SuppressWarnings("serial")
+  public static final class ScopedContainer extends AbstractDelegatingPicoContainer implements Closeable {
+    private final transient ScopedContainerPool pool;
+    private final transient PooledScope pooled;
+    private final transient long lease;
+
+    private ScopedContainer(final ScopedContainerPool pool, final PooledScope pooled, final long lease) {
+      super(pool.template);
+      this.pool = pool;
+      this.pooled = pooled;
+      this.lease = lease;
+    }
+
+    /**
+     * Puts the instance of a {@link ScopedContainerPool#addScopedInstance(Object, Class) scoped instance} for this
+     * request.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ScopedContainer put(final Object key, final T instance) {
+      final ScopedInstance<T> scopedInstance = (ScopedInstance<T>) pool.scopedInstances.get(key);
+
+      if (scopedInstance == null) {
+        throw new PicoCompositionException("'" + key + "' is not a scoped instance of the pool");
+      }
+
+      final Scope.Binding scopeBinding = bind();
+
+      try {
+        scopedInstance.reference.set(instance);
+      } finally {
+        scopeBinding.close();
+      }
+
+      return this;
+    }
+
+    @Override
+    public Object getComponentInto(final Object keyOrType, final Type into) {
+      final Scope.Binding scopeBinding = bind();
+
+      try {
+        return super.getComponentInto(keyOrType, into);
+      } finally {
+        scopeBinding.close();
+      }
+    }
+
+    @Override
+    public <T> T getComponent(final Class<T> componentType, final Class<? extends Annotation> binding, final Type into) {
+      final Scope.Binding scopeBinding = bind();
+
+      try {
+        return super.getComponent(componentType, binding, into);
+      } finally {
+        scopeBinding.close();
+      }
+    }
+
+    @Override
+    public <T> T getComponent(final Class<T> componentType, final Class<? extends Annotation> binding) {
+      final Scope.Binding scopeBinding = bind();
+
+      try {
+        return super.getComponent(componentType, binding);
+      } finally {
+        scopeBinding.close();
+      }
+    }
+
+    @Override
+    public <T> T getComponent(final Generic<T> componentType) {
+      final Scope.Binding scopeBinding = bind();
+
+      try {
+        return super.getComponent(componentType);
+      } finally {
+        scopeBinding.close();
+      }
+    }
+
+    @Override
+    public List<Object> getComponents() {
+      final Scope.Binding scopeBinding = bind();
+
+      try {
+        return super.getComponents();
+      } finally {
+        scopeBinding.close();
+      }
+    }
+
+    @Override
+    public <T> List<T> getComponents(final Class<T> type) {
+      final Scope.Binding scopeBinding = bind();
+
+      try {
+        return super.getComponents(type);
+      } finally {
+        scopeBinding.close();
+      }
+    }
+
+    /**
+     * Drops the instances of the request and gives the container back to the pool. It can't be used afterwards.
+     */
+    @Override
+    public void close() {
+      if (pooled.lease.compareAndSet(lease, lease + 1)) {
+        pool.release(pooled);
+      }
+    }
+
+    private Scope.Binding bind() {
+      if (pooled.lease.get() != lease) {
+        throw new IllegalStateException("Scoped container closed");
+      }
+
+      return pooled.scope.bind();
+    }
+  }
+
+  /**
+   * The adapter of an instance put in by each request.
+   */
+  @SuppressWarnings("serial")
+  private static final class ScopedInstance<T> extends AbstractAdapter<T> {
+    private final ScopeReference<T> reference = new ScopeReference<>();
+
+    ScopedInstance(final Object key, final Class<T> type) {
+      super(key, type);
+    }
+
+    @Override
+    public T getComponentInstance(final PicoContainer container, final Type into) {
+      final T instance = reference.get();
+
+      if (instance == null) {
+        throw new PicoCompositionException("No instance of '" + getComponentKey() + "' was put in the scope");
+      }
+
+      return instance;
+    }
+
+    @Override
+    public void verify(final PicoContainer container) {
+    }
+
+    @Override
+    public String getDescriptor() {
+      return "ScopedInstance-";
+    }
+  }
+}
@@ -126,6 +126,15 @@ public class TieringPicoContainer extends DefaultPicoContainer {
     return new TieringGuard(super.getParent());
   }
 
+  /**
+   * Containers with a parent are {@link #UNTRACKED}: the parent answers lookups through the
+   * tiering guard, which a remembered resolution would bypass.
+   */
+  @Override
+  public long getGeneration() {
+    return super.getParent() == null ? super.getGeneration() : UNTRACKED;
+  }
+
   @Override
   public MutablePicoContainer makeChildContainer() {
     return new TieringPicoContainer(componentFactory, lifecycle, this, monitor);
@@ -12,6 +12,7 @@ import com.picocontainer.monitors.NullComponentMonitor;
 
 import java.io.Serializable;
 import java.lang.reflect.Type;
+import java.util.Properties;
 
 /**
  * TODO
@@ -27,6 +28,15 @@ public abstract class AbstractInjectionType implements InjectionType, Serializab
     visitor.visitComponentFactory(this);
   }
 
+  /**
+   * Makes the injector call members the way the {@link com.picocontainer.Characteristics#REFLECTION_INVOCATION invocation}
+   * characteristic of the component asks for.
+   */
+  protected <I extends AbstractInjector<?>> I withMemberInvoker(final I injector, final Properties componentProps) {
+    injector.withMemberInvoker(MemberInvokers.fromProperties(componentProps));
+    return injector;
+  }
+
   protected <T> ComponentAdapter<T> wrapLifeCycle(
       final com.picocontainer.Injector<T> injector,
       final LifecycleStrategy lifecycle) {
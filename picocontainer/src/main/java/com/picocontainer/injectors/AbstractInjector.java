@@ -35,8 +35,8 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 
 import static java.util.Objects.requireNonNull;
@@ -57,7 +57,10 @@ import static java.util.Objects.requireNonNull;
 public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements com.picocontainer.Injector<T> {
   /**
    * The cycle guard for the verification.
+   *
+   * @deprecated no longer used, injectors detect cycles on the {@link ResolutionStack} of the current thread
    */
+  @Deprecated
   protected transient ThreadLocalCyclicDependencyGuard<?> verifyingGuard;
 
   /**
@@ -70,6 +73,13 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
    */
   private final boolean useNames;
 
+  /**
+   * Calls the constructors, methods and fields of the component, null for {@link MemberInvokers#REFLECTION}
+   * so that the default does not show in the serialized form.
+   */
+  @Nullable
+  private MemberInvoker memberInvoker;
+
   /**
    * Constructs a new ComponentAdapter for the given key and implementation.
    *
@@ -125,6 +135,23 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
     return useNames;
   }
 
+  /**
+   * Chooses how the constructors, methods and fields of the component are called.
+   *
+   * @param memberInvoker the engine to use, see {@link MemberInvokers}
+   *
+   * @return this injector
+   */
+  public AbstractInjector<T> withMemberInvoker(@NotNull final MemberInvoker memberInvoker) {
+    this.memberInvoker = requireNonNull(memberInvoker, "memberInvoker") == MemberInvokers.REFLECTION ? null : memberInvoker;
+    return this;
+  }
+
+  protected MemberInvoker getMemberInvoker() {
+    final MemberInvoker invoker = memberInvoker;
+    return invoker != null ? invoker : MemberInvokers.REFLECTION;
+  }
+
   private void checkConcrete() {
     // Assert that the component class is concrete
     final boolean isAbstract = (getComponentImplementation().getModifiers() & Modifier.ABSTRACT) == Modifier.ABSTRACT;
@@ -391,7 +418,7 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
              IllegalAccessException,
              InvocationTargetException {
     try {
-      return constructor.newInstance(parameters);
+      return getMemberInvoker().newInstance(constructor, parameters);
     } catch (final IllegalArgumentException e) {
       //Chain it with the calling parameters to give us some real information.
       throw new IllegalArgumentException(
@@ -543,19 +570,16 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
    * Abstract utility class to detect recursion cycles.
    * Derive from this class and implement {@link ThreadLocalCyclicDependencyGuard#run}.
    * The method will be called by  {@link ThreadLocalCyclicDependencyGuard#observe}.
-   * Select an appropriate guard for your scope: any {@link ObjectReference} can be
-   * used as long as it is initialized with {@code Boolean.FALSE}.
+   * The guard keeps no state per thread of its own, it enters itself on the
+   * {@link ResolutionStack} of the current thread while {@code run} executes.
    *
    * @author J&ouml;rg Schaible
+   * @deprecated not thread local any more, injectors enter themselves on the {@link ResolutionStack} directly
    */
-  abstract static class ThreadLocalCyclicDependencyGuard<T> extends ThreadLocal<Boolean> {
+  @Deprecated
+  abstract static class ThreadLocalCyclicDependencyGuard<T> {
     protected PicoContainer guardedContainer;
 
-    @Override
-    protected Boolean initialValue() {
-      return Boolean.FALSE;
-    }
-
     /**
      * Derive from this class and implement this function with the functionality
      * to observe for a dependency cycle.
@@ -566,27 +590,19 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
     public abstract T run(Object instance);
 
     /**
-     * Call the observing function. The provided guard will hold the {@link Boolean} value.
-     * If the guard is already {@code Boolean.TRUE} a {@link CyclicDependencyException}
-     * will be  thrown.
+     * Call the observing function. If this guard is already observing on the current
+     * thread a {@link CyclicDependencyException} will be thrown.
      *
      * @param stackFrame the current stack frame
      *
      * @return the result of the {@code run} method
      */
     public final T observe(final Class<?> stackFrame, final Object instance) {
-      if (Boolean.TRUE.equals(get())) {
-        throw new CyclicDependencyException(stackFrame);
-      }
-
+      final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, stackFrame);
       try {
-        set(Boolean.TRUE);
         return run(instance);
-      } catch (final CyclicDependencyException e) {
-        e.push(stackFrame);
-        throw e;
       } finally {
-        set(Boolean.FALSE);
+        resolution.exit();
       }
     }
 
@@ -601,7 +617,7 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
 
     public CyclicDependencyException(@NotNull final Class<?> element) {
       super((Throwable) null);
-      stack = new LinkedList<>();
+      stack = new ArrayList<>();
       push(element);
     }
 
@@ -79,14 +79,17 @@ public class AnnotatedFieldInjection extends AbstractInjectionType {
 
     return wrapLifeCycle(
         monitor.newInjector(
-            new AnnotatedFieldInjector<>(
-                key,
-                impl,
-                fieldParams,
-                monitor,
-                useNames,
-                requireConsumptionOfAllParameters,
-                injectionAnnotations
+            withMemberInvoker(
+                new AnnotatedFieldInjector<>(
+                    key,
+                    impl,
+                    fieldParams,
+                    monitor,
+                    useNames,
+                    requireConsumptionOfAllParameters,
+                    injectionAnnotations
+                ),
+                componentProps
             )
         ),
         lifecycle
@@ -209,7 +212,7 @@ public class AnnotatedFieldInjection extends AbstractInjectionType {
         final Object toInject) throws IllegalAccessException {
       final Field field = (Field) member;
       AnnotationInjectionUtils.setMemberAccessible(member);
-      field.set(componentInstance, toInject);
+      getMemberInvoker().set(field, componentInstance, toInject);
       return null;
     }
 
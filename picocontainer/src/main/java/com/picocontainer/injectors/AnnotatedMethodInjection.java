@@ -71,7 +71,7 @@ public class AnnotatedMethodInjection extends AbstractInjectionType {
 
         boolean requireConsumptionOfAllParameters = !(AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.ALLOW_UNUSED_PARAMETERS, false));
 
-        return wrapLifeCycle(monitor.newInjector(new AnnotatedMethodInjector<T>(key, impl, methodParams, monitor, useNames, requireConsumptionOfAllParameters, injectionAnnotations)), lifecycle);
+        return wrapLifeCycle(monitor.newInjector(withMemberInvoker(new AnnotatedMethodInjector<T>(key, impl, methodParams, monitor, useNames, requireConsumptionOfAllParameters, injectionAnnotations), componentProps)), lifecycle);
     }
 
      @SuppressWarnings("unchecked")
@@ -213,6 +213,14 @@ public class AnnotatedStaticInjection extends AbstractBehavior {
       return super.getComponentInstance(container, into);
     }
 
+    /**
+     * @return true if the component has no static members left to inject, as then instances are only passed on.
+     */
+    @Override
+    protected boolean passesInstancesThrough() {
+      return wrappedInjectors.isEmpty();
+    }
+
     @Override
     public String getDescriptor() {
       return "StaticAnnotationInjector";
@@ -71,7 +71,7 @@ public class CompositeInjection extends AbstractInjectionType {
     }
 
     final boolean useNames = AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.USE_NAMES, true);
-    final Injector<T> injector = new CompositeInjector<>(key, impl, monitor, useNames, injectors);
+    final Injector<T> injector = withMemberInvoker(new CompositeInjector<>(key, impl, monitor, useNames, injectors), componentProps);
     return wrapLifeCycle(monitor.newInjector(injector), lifecycle);
   }
 
@@ -90,6 +90,20 @@ public class CompositeInjection extends AbstractInjectionType {
       this.injectors = injectors;
     }
 
+    /**
+     * Also hands the engine to the injectors this one is composed of.
+     */
+    @Override
+    public AbstractInjector<T> withMemberInvoker(@NotNull final MemberInvoker memberInvoker) {
+      for (final com.picocontainer.Injector<T> injector : injectors) {
+        if (injector instanceof AbstractInjector) {
+          ((AbstractInjector<T>) injector).withMemberInvoker(memberInvoker);
+        }
+      }
+
+      return super.withMemberInvoker(memberInvoker);
+    }
+
     @Override
     public T getComponentInstance(final PicoContainer container, final Type into) {
       T instance = null;
@@ -30,6 +30,8 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
 
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
 /**
  * An {@link InjectionType} for constructor injection.
  * The factory creates {@link ConstructorInjector}.
@@ -73,7 +75,7 @@ public class ConstructorInjection extends AbstractInjectionType {
     final boolean useNames = AbstractBehavior.arePropertiesPresent(properties, Characteristics.USE_NAMES, true);
     final ConstructorInjector<T> injector = newConstructorInjector(monitor, key, impl, useNames, constructorParams);
     injector.enableEmjection(AbstractBehavior.removePropertiesIfPresent(properties, Characteristics.EMJECTION_ENABLED));
-    return wrapLifeCycle(monitor.newInjector(injector), lifecycle);
+    return wrapLifeCycle(monitor.newInjector(withMemberInvoker(injector, properties)), lifecycle);
   }
 
   protected <T> ConstructorInjector<T> newConstructorInjector(
@@ -97,7 +99,6 @@ public class ConstructorInjection extends AbstractInjectionType {
    */
   public static class ConstructorInjector<T> extends MultiArgMemberInjector<T> {
     private transient List<Constructor<T>> sortedMatchingConstructors;
-    private transient ThreadLocalCyclicDependencyGuard<T> instantiationGuard;
     private boolean rememberChosenConstructor = true;
     private transient CtorAndAdapters<T> chosenConstructor;
     private boolean enableEmjection;
@@ -240,7 +241,7 @@ public class ConstructorInjection extends AbstractInjectionType {
             lastParameterTested = j;
             // check whether this constructor is satisfiable
             final Type expectedType = box(parameterTypes[j]);
-            final NameBinding expectedNameBinding = new ParameterNameBinding(getParanamer(), sortedMatchingConstructor, j);
+            final NameBinding expectedNameBinding = ParameterNames.bindingOf(sortedMatchingConstructor, j);
             final Parameter parameterToUse = getParameterToUse(sortedMatchingConstructor, j, currentParameters[j]);
             parametersUsed.set(j, parameterToUse);
             final ResolverKey resolverKey = new ResolverKey(expectedType, useNames() ? expectedNameBinding.getName() : null, useNames(), bindings[j], parameterToUse);
@@ -389,10 +390,19 @@ public class ConstructorInjection extends AbstractInjectionType {
       }
     }
 
+    /**
+     * The injection plan of the chosen constructor: the (boxed) types, bindings and names of its
+     * arguments are worked out once, and so are the argument {@link Resolver}s for as long as
+     * the container they were resolved in does not change (see {@link Generational}).
+     */
     protected class CtorAndAdapters<TYPE> {
       private final Constructor<TYPE> ctor;
       private final Parameter[] constructorParameters;
       private final ComponentAdapter<?>[] injecteeAdapters;
+      private final Type[] parameterTypes;
+      private final Annotation[] bindings;
+      private final ParameterNameBinding[] nameBindings;
+      private volatile ResolvedArguments resolvedArguments;
 
       @SuppressWarnings("rawtypes")
       public CtorAndAdapters(
@@ -402,14 +412,8 @@ public class ConstructorInjection extends AbstractInjectionType {
         this.ctor = ctor;
         constructorParameters = parameters;
         this.injecteeAdapters = injecteeAdapters;
-      }
-
-      public Constructor<TYPE> getConstructor() {
-        return ctor;
-      }
 
-      public Object[] getParameterArguments(final PicoContainer container, final Type into) {
-        final Type[] parameterTypes = ctor.getGenericParameterTypes();
+        parameterTypes = ctor.getGenericParameterTypes();
         // as per fixParameterType()
         for (int i = 0; i < parameterTypes.length; i++) {
           final Type parameterType = parameterTypes[i];
@@ -418,12 +422,30 @@ public class ConstructorInjection extends AbstractInjectionType {
           }
         }
         boxParameters(parameterTypes);
+        bindings = getBindings(ctor.getParameterAnnotations());
+
+        nameBindings = new ParameterNameBinding[parameterTypes.length];
+        for (int i = 0; i < nameBindings.length; i++) {
+          nameBindings[i] = ParameterNames.bindingOf(ctor, i);
+        }
+      }
+
+      public Constructor<TYPE> getConstructor() {
+        return ctor;
+      }
+
+      public Object[] getParameterArguments(final PicoContainer container, final Type into) {
+        final Resolver[] resolvers = getResolvers(container);
         final Object[] result = new Object[constructorParameters.length];
-        final Annotation[] bindings = getBindings(ctor.getParameterAnnotations());
         for (int i = 0; i < constructorParameters.length; i++) {
 
-          result[i] = getParameter(container, ctor, i, parameterTypes[i],
-              bindings[i], constructorParameters[i], injecteeAdapters[i], into);
+          if (resolvers == null) {
+            result[i] = getParameter(container, ctor, i, parameterTypes[i],
+                bindings[i], constructorParameters[i], injecteeAdapters[i], into);
+          } else {
+            result[i] = resolvers[i].resolveInstance(into);
+            nullCheck(ctor, i, nameBindings[i], result[i]);
+          }
 
           //Shouldn't be possible for CDI.
           assert result[i] != Parameter.NULL_RESULT;
@@ -431,6 +453,45 @@ public class ConstructorInjection extends AbstractInjectionType {
         return result;
       }
 
+      /**
+       * @return the argument resolvers, or {@code null} if they cannot be reused in the given container
+       */
+      @Nullable
+      private Resolver[] getResolvers(final PicoContainer container) {
+        final long generation = container instanceof Generational
+            ? ((Generational) container).getGeneration()
+            : Generational.UNTRACKED;
+
+        if (generation == Generational.UNTRACKED) {
+          return null;
+        }
+
+        final ResolvedArguments resolved = resolvedArguments;
+
+        if (resolved != null && resolved.generation == generation && resolved.container == container) {
+          return resolved.resolvers;
+        }
+
+        final Resolver[] resolvers = new Resolver[constructorParameters.length];
+        boolean reusable = true;
+        for (int i = 0; i < resolvers.length; i++) {
+          resolvers[i] = constructorParameters[i].resolve(container, ConstructorInjector.this, injecteeAdapters[i],
+              parameterTypes[i], nameBindings[i], useNames(), bindings[i]);
+          reusable &= !isLateInstance(resolvers[i].getComponentAdapter());
+        }
+
+        // Late instances are the monitor's answer of the moment, which does not change the generation
+        if (reusable) {
+          resolvedArguments = new ResolvedArguments(container, generation, resolvers);
+        }
+        return resolvers;
+      }
+
+      @SuppressWarnings({"rawtypes", "unchecked"})
+      private boolean isLateInstance(@Nullable final ComponentAdapter<?> adapter) {
+        return adapter != null && adapter.findAdapterOfType((Class) DefaultPicoContainer.LateInstance.class) != null;
+      }
+
       @SuppressWarnings("rawtypes")
       public ComponentAdapter[] getInjecteeAdapters() {
         return injecteeAdapters;
@@ -441,60 +502,79 @@ public class ConstructorInjection extends AbstractInjectionType {
       }
     }
 
+    /**
+     * Argument resolvers of a {@link CtorAndAdapters}, valid in a given generation of a container.
+     */
+    private static final class ResolvedArguments {
+      private final PicoContainer container;
+      private final long generation;
+      private final Resolver[] resolvers;
+
+      private ResolvedArguments(final PicoContainer container, final long generation, final Resolver[] resolvers) {
+        this.container = container;
+        this.generation = generation;
+        this.resolvers = resolvers;
+      }
+    }
+
     @Override
     public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
-      boolean i_Instantiated = false;
-      T inst;
+      final ComponentMonitor monitor = currentMonitor();
+      final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.RESOLUTION);
+      if (monitored) {
+        monitor.resolving(container, this);
+      }
       try {
-        if (instantiationGuard == null) {
-          i_Instantiated = true;
-          instantiationGuard = new ThreadLocalCyclicDependencyGuard<T>() {
-            @Override
-            @SuppressWarnings("synthetic-access")
-            public T run(final Object instance) {
-              final CtorAndAdapters<T> ctorAndAdapters = getGreediestSatisfiableConstructor(guardedContainer, getComponentImplementation());
-              final ComponentMonitor monitor = currentMonitor();
-              Constructor<T> ctor = ctorAndAdapters.getConstructor();
-              try {
-                final Object[] ctorParameters = ctorAndAdapters.getParameterArguments(guardedContainer, into);
-                ctor = monitor.instantiating(container, ConstructorInjector.this, ctor);
-                if (ctor == null) {
-                  throw new NullPointerException("Component Monitor " + monitor
-                      + " returned a null constructor from method 'instantiating' after passing in " + ctorAndAdapters);
-                }
-                final long startTime = System.currentTimeMillis();
-                changeAccessToModifierIfNeeded(ctor);
-                final T inst = newInstance(ctor, ctorParameters);
-                monitor.instantiated(container, ConstructorInjector.this,
-                    ctor, inst, ctorParameters, System.currentTimeMillis() - startTime);
-                return inst;
-              } catch (final InvocationTargetException e) {
-                monitor.instantiationFailed(container, ConstructorInjector.this, ctor, e);
-                if (e.getTargetException() instanceof RuntimeException) {
-                  throw (RuntimeException) e.getTargetException();
-                } else if (e.getTargetException() instanceof Error) {
-                  throw (Error) e.getTargetException();
-                }
-                throw new PicoCompositionException(e.getTargetException());
-              } catch (final InstantiationException e) {
-                return caughtInstantiationException(monitor, ctor, e, container);
-              } catch (final IllegalAccessException e) {
-                return caughtIllegalAccessException(monitor, ctor, e, container);
-
-              }
-            }
-          };
+        final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
+        final T inst;
+        try {
+          inst = instantiate(container, into);
+        } finally {
+          resolution.exit();
         }
-        instantiationGuard.setGuardedContainer(container);
-        inst = instantiationGuard.observe(getComponentImplementation(), null);
         decorate(inst, container);
+        return inst;
       } finally {
-        if (i_Instantiated) {
-          instantiationGuard.remove();
-          instantiationGuard = null;
+        if (monitored) {
+          monitor.resolved(container, this);
         }
       }
-      return inst;
+    }
+
+    private T instantiate(final PicoContainer container, final Type into) {
+      final CtorAndAdapters<T> ctorAndAdapters = getGreediestSatisfiableConstructor(container, getComponentImplementation());
+      final ComponentMonitor monitor = currentMonitor();
+      Constructor<T> ctor = ctorAndAdapters.getConstructor();
+      try {
+        final Object[] ctorParameters = ctorAndAdapters.getParameterArguments(container, into);
+        final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INSTANTIATION);
+        if (monitored) {
+          ctor = monitor.instantiating(container, this, ctor);
+          if (ctor == null) {
+            throw new NullPointerException("Component Monitor " + monitor
+                + " returned a null constructor from method 'instantiating' after passing in " + ctorAndAdapters);
+          }
+        }
+        final long startTime = monitored ? System.nanoTime() : 0L;
+        changeAccessToModifierIfNeeded(ctor);
+        final T inst = newInstance(ctor, ctorParameters);
+        if (monitored) {
+          monitor.instantiated(container, this, ctor, inst, ctorParameters, millisSince(startTime));
+        }
+        return inst;
+      } catch (final InvocationTargetException e) {
+        monitor.instantiationFailed(container, this, ctor, e);
+        if (e.getTargetException() instanceof RuntimeException) {
+          throw (RuntimeException) e.getTargetException();
+        } else if (e.getTargetException() instanceof Error) {
+          throw (Error) e.getTargetException();
+        }
+        throw new PicoCompositionException(e.getTargetException());
+      } catch (final InstantiationException e) {
+        return caughtInstantiationException(monitor, ctor, e, container);
+      } catch (final IllegalAccessException e) {
+        return caughtIllegalAccessException(monitor, ctor, e, container);
+      }
     }
 
     private void decorate(final T inst, final PicoContainer container) {
@@ -556,36 +636,21 @@ public class ConstructorInjection extends AbstractInjectionType {
     @Override
     @SuppressWarnings("rawtypes")
     public void verify(final PicoContainer container) {
-      boolean i_instantiated = false;
+      final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.VERIFICATION, getComponentImplementation());
       try {
-        if (verifyingGuard == null) {
-          i_instantiated = true;
-          verifyingGuard = new ThreadLocalCyclicDependencyGuard() {
-            @Override
-            public Object run(final Object inst) {
-              final Constructor constructor = getGreediestSatisfiableConstructor(guardedContainer).getConstructor();
-              final Class[] parameterTypes = constructor.getParameterTypes();
-
-              final ConstructorParameters constructorParameters = (ConstructorParameters) (parameters != null && parameters.length > 0 ? parameters[0] : new ConstructorParameters());
-              final Parameter[] currentParameters = constructorParameters.getParams() != null ? constructorParameters.getParams() : createDefaultParameters(parameterTypes.length);
-
-              for (int i = 0; i < currentParameters.length; i++) {
-                currentParameters[i].verify(container, ConstructorInjector.this, box(parameterTypes[i]),
-                    new ParameterNameBinding(getParanamer(), constructor, i),
-                    useNames(), getBindings(constructor.getParameterAnnotations())[i]);
-              }
-              return null;
-            }
-          };
-        }
-        verifyingGuard.setGuardedContainer(container);
-        verifyingGuard.observe(getComponentImplementation(), null);
+        final Constructor constructor = getGreediestSatisfiableConstructor(container).getConstructor();
+        final Class[] parameterTypes = constructor.getParameterTypes();
 
-      } finally {
-        if (i_instantiated) {
-          verifyingGuard.remove();
-          verifyingGuard = null;
+        final ConstructorParameters constructorParameters = (ConstructorParameters) (parameters != null && parameters.length > 0 ? parameters[0] : new ConstructorParameters());
+        final Parameter[] currentParameters = constructorParameters.getParams() != null ? constructorParameters.getParams() : createDefaultParameters(parameterTypes.length);
+
+        for (int i = 0; i < currentParameters.length; i++) {
+          currentParameters[i].verify(container, this, box(parameterTypes[i]),
+              ParameterNames.bindingOf(constructor, i),
+              useNames(), getBindings(constructor.getParameterAnnotations())[i]);
         }
+      } finally {
+        resolution.exit();
       }
     }
 
@@ -0,0 +1,57 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Instantiates and injects a component without reflection.
+ * <p>
+ * Implementations are generated at compile time by the annotation processor of the
+ * picocontainer-processor module, for classes with {@link javax.inject.Inject} or
+ * {@link com.picocontainer.annotations.Inject} annotated members. The factory of
+ * {@code com.acme.Foo} is {@code com.acme.Foo$$PicoFactory}, it is found and used by
+ * {@link GeneratedInjection}.
+ *
+ * @param <T> the type of the component
+ */
+public interface GeneratedFactory<T> {
+  /**
+   * The suffix appended to the binary name of a component to get the name of its factory.
+   */
+  String SUFFIX = "$$PicoFactory";
+
+  /**
+   * Calls the constructor of the component.
+   *
+   * @throws Exception whatever the constructor throws
+   */
+  T newInstance(Dependencies dependencies) throws Exception;
+
+  /**
+   * Injects the annotated fields, then calls the annotated methods, of each class of
+   * the component starting with its topmost superclass, as JSR-330 requires.
+   *
+   * @throws Exception whatever the methods throw
+   */
+  void injectMembers(T instance, Dependencies dependencies) throws Exception;
+
+  /**
+   * Supplies the dependencies of a component.
+   */
+  interface Dependencies {
+    /**
+     * @param type the type of the dependency, the wrapper type of primitives
+     * @param name the name of the parameter or field, used to tell several candidates apart
+     * @param key the key given by {@link javax.inject.Named} or the name of a {@link javax.inject.Qualifier}
+     *     annotation, {@code null} to look the dependency up by type
+     */
+    <D> D get(Class<D> type, String name, @Nullable String key);
+  }
+}
@@ -0,0 +1,210 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.InjectionType;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.Parameter;
+import com.picocontainer.PicoCompositionException;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.AbstractBehavior;
+import com.picocontainer.parameters.ConstructorParameters;
+import com.picocontainer.parameters.FieldParameters;
+import com.picocontainer.parameters.JSR330ComponentParameter;
+import com.picocontainer.parameters.MethodParameters;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.Properties;
+
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
+/**
+ * A {@link InjectionType} for components that have a {@link GeneratedFactory}, which
+ * instantiates and injects them without reflecting over their classes.
+ * <p>
+ * Components without a generated factory, components registered with explicit parameters
+ * and components asking for setter, method or emjection are handed to the fallback
+ * injection type, {@link AdaptingInjection} unless another one is given.
+ */
+@SuppressWarnings("serial")
+public class GeneratedInjection extends AbstractInjectionType {
+  private static final ClassValue<GeneratedFactory<?>> FACTORIES = new ClassValue<GeneratedFactory<?>>() {
+    @Override
+    protected GeneratedFactory<?> computeValue(final Class<?> type) {
+      return loadFactory(type);
+    }
+  };
+
+  private final InjectionType fallback;
+
+  public GeneratedInjection() {
+    this(new AdaptingInjection());
+  }
+
+  public GeneratedInjection(@NotNull final InjectionType fallback) {
+    this.fallback = fallback;
+  }
+
+  @Override
+  public <T> ComponentAdapter<T> createComponentAdapter(
+      final ComponentMonitor monitor,
+      final LifecycleStrategy lifecycle,
+      final Properties componentProps,
+      final Object key,
+      final Class<T> impl,
+      final ConstructorParameters constructorParams,
+      final FieldParameters[] fieldParams,
+      final MethodParameters[] methodParams) {
+    final GeneratedFactory<T> factory = factoryOf(impl);
+
+    if (factory == null
+        || constructorParams != null && constructorParams.getParams() != null
+        || fieldParams != null && fieldParams.length > 0
+        || methodParams != null && methodParams.length > 0
+        || AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.SDI, false)
+        || AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.METHOD_INJECTION, false)
+        || AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.EMJECTION_ENABLED, false)) {
+      return fallback.createComponentAdapter(
+          monitor, lifecycle, componentProps, key, impl, constructorParams, fieldParams, methodParams);
+    }
+
+    AbstractBehavior.removePropertiesIfPresent(componentProps, Characteristics.CDI);
+    final boolean useNames = AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.USE_NAMES, true);
+    return wrapLifeCycle(monitor.newInjector(new GeneratedInjector<>(key, impl, monitor, useNames, factory)), lifecycle);
+  }
+
+  @Override
+  public void verify(final PicoContainer container) {
+    fallback.verify(container);
+  }
+
+  /**
+   * @return the generated factory of the component, {@code null} if it has none
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public static <T> GeneratedFactory<T> factoryOf(final Class<T> impl) {
+    return (GeneratedFactory<T>) FACTORIES.get(impl);
+  }
+
+  @Nullable
+  private static GeneratedFactory<?> loadFactory(final Class<?> impl) {
+    final ClassLoader classLoader = impl.getClassLoader();
+
+    if (classLoader == null || impl.isInterface() || impl.isArray() || impl.isPrimitive()) {
+      return null;
+    }
+
+    final Class<?> factoryClass;
+
+    try {
+      factoryClass = Class.forName(impl.getName() + GeneratedFactory.SUFFIX, true, classLoader);
+    } catch (final ClassNotFoundException e) {
+      return null;
+    }
+
+    if (!GeneratedFactory.class.isAssignableFrom(factoryClass)) {
+      throw new PicoCompositionException(factoryClass.getName() + " is not a " + GeneratedFactory.class.getName());
+    }
+
+    try {
+      return (GeneratedFactory<?>) factoryClass.getDeclaredConstructor().newInstance();
+    } catch (final ReflectiveOperationException e) {
+      throw new PicoCompositionException("Cannot instantiate " + factoryClass.getName(), e);
+    }
+  }
+
+  /**
+   * Instantiates and injects components with their {@link GeneratedFactory}.
+   */
+  public static class GeneratedInjector<T> extends AbstractInjector<T> {
+    private final GeneratedFactory<T> factory;
+
+    public GeneratedInjector(
+        @NotNull final Object key,
+        @NotNull final Class<T> impl,
+        @NotNull final ComponentMonitor monitor,
+        final boolean useNames,
+        @NotNull final GeneratedFactory<T> factory) {
+      super(key, impl, monitor, useNames);
+      this.factory = factory;
+    }
+
+    @Override
+    public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
+      final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
+      try {
+        return instantiate(container, into);
+      } finally {
+        resolution.exit();
+      }
+    }
+
+    private T instantiate(final PicoContainer container, final Type into) {
+      final ComponentMonitor monitor = currentMonitor();
+      final ContainerDependencies dependencies = new ContainerDependencies(container, into);
+      try {
+        final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INSTANTIATION);
+        if (monitored) {
+          monitor.instantiating(container, this, null);
+        }
+        final long startTime = monitored ? System.nanoTime() : 0L;
+        final T inst = factory.newInstance(dependencies);
+        factory.injectMembers(inst, dependencies);
+        if (monitored) {
+          monitor.instantiated(container, this, null, inst, null, millisSince(startTime));
+        }
+        return inst;
+      } catch (final RuntimeException e) {
+        throw e;
+      } catch (final Exception e) {
+        monitor.instantiationFailed(container, this, null, e);
+        throw new PicoCompositionException(e);
+      }
+    }
+
+    @Override
+    public String getDescriptor() {
+      return "GeneratedInjector-";
+    }
+
+    /**
+     * Resolves dependencies the way the annotated injectors do, {@link JSR330ComponentParameter}s
+     * looking them up by type or by the key of their qualifier.
+     */
+    private final class ContainerDependencies implements GeneratedFactory.Dependencies {
+      private final PicoContainer container;
+      private final Type into;
+
+      ContainerDependencies(final PicoContainer container, final Type into) {
+        this.container = container;
+        this.into = into;
+      }
+
+      @Override
+      public <D> D get(final Class<D> type, final String name, @Nullable final String key) {
+        final Parameter parameter = key == null ? JSR330ComponentParameter.DEFAULT : new JSR330ComponentParameter(key);
+        final Parameter.Resolver resolver = parameter.resolve(
+            container, GeneratedInjector.this, null, type, () -> name, useNames(), null);
+
+        if (!resolver.isResolved()) {
+          throw new UnsatisfiableDependenciesException(getComponentImplementation().getName()
+              + " has unsatisfied dependency '" + type.getName() + "' for '" + name + "' from " + container);
+        }
+
+        return type.cast(resolver.resolveInstance(into));
+      }
+    }
+  }
+}
@@ -54,4 +54,8 @@ public class Injectors {
   public static InjectionType typedFieldDI() {
     return new TypedFieldInjection();
   }
+
+  public static InjectionType generatedDI() {
+    return new GeneratedInjection();
+  }
 }
@@ -14,10 +14,6 @@ import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.annotations.Bind;
 import com.picocontainer.parameters.AccessibleObjectParameterSet;
-import com.thoughtworks.paranamer.AdaptiveParanamer;
-import com.thoughtworks.paranamer.AnnotationParanamer;
-import com.thoughtworks.paranamer.CachingParanamer;
-import com.thoughtworks.paranamer.Paranamer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -37,6 +33,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
 /**
  * Injection will happen iteratively after component instantiation.  This class deals with injection types that only
  * have one argument.  Examples would be single-argument methods such as setters, or an object's fields.
@@ -45,13 +43,10 @@ import java.util.Set;
 public abstract class IterativeInjector<T> extends AbstractInjector<T> {
   private static final Object[] NONE = new Object[0];
 
-  private transient ThreadLocalCyclicDependencyGuard<T> instantiationGuard;
-
   protected transient volatile List<AccessibleObject> injectionMembers;
   protected transient Type[] injectionTypes;
   protected transient Annotation[] bindings;
 
-  private transient Paranamer paranamer;
   private transient volatile boolean initialized;
 
   private final boolean requireConsumptionOfAllParameters;
@@ -299,10 +294,7 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
       throw new NullPointerException("member");
     }
 
-    if (paranamer == null) {
-      paranamer = new CachingParanamer(new AnnotationParanamer(new AdaptiveParanamer()));
-    }
-    return new ParameterNameBinding(paranamer, member, 0);
+    return ParameterNames.bindingOf(member, 0);
   }
 
   protected abstract void unsatisfiedDependencies(
@@ -312,30 +304,26 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
 
   @Override
   public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
-    final Constructor<?> constructor = getConstructor();
-    boolean iInstantiated = false;
-    T result;
+    final ComponentMonitor monitor = currentMonitor();
+    final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.RESOLUTION);
+    if (monitored) {
+      monitor.resolving(container, this);
+    }
     try {
-      if (instantiationGuard == null) {
-        iInstantiated = true;
-        instantiationGuard = new ThreadLocalCyclicDependencyGuard<T>() {
-          @Override
-          public T run(final Object instance) {
-            final ParameterToAccessibleObjectPair[] matchingParameters = getMatchingParameterListForMembers(guardedContainer);
-            final Object componentInstance = makeInstance(container, constructor, currentMonitor());
-            return decorateComponentInstance(matchingParameters, currentMonitor(), componentInstance, container, guardedContainer, into, null);
-          }
-        };
+      final Constructor<?> constructor = getConstructor();
+      final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
+      try {
+        final ParameterToAccessibleObjectPair[] matchingParameters = getMatchingParameterListForMembers(container);
+        final Object componentInstance = makeInstance(container, constructor, monitor);
+        return decorateComponentInstance(matchingParameters, monitor, componentInstance, container, container, into, null);
+      } finally {
+        resolution.exit();
       }
-      instantiationGuard.setGuardedContainer(container);
-      result = instantiationGuard.observe(getComponentImplementation(), null);
     } finally {
-      if (iInstantiated) {
-        instantiationGuard.remove();
-        instantiationGuard = null;
+      if (monitored) {
+        monitor.resolved(container, this);
       }
     }
-    return result;
   }
 
   T decorateComponentInstance(
@@ -349,6 +337,7 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
     AccessibleObject member = null;
     final Object[] injected = new Object[injectionMembers.size()];
     Object lastReturn = null;
+    final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INVOCATION);
     try {
       for (int i = 0; i < matchingParameters.length; i++) {
         if (matchingParameters[i] != null) {
@@ -366,13 +355,17 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
           final Object toInject = matchingParameters[i].getAccessibleObjectParameters().getParams()[0].resolve(guardedContainer, this, null, injectionTypes[i],
               makeParameterNameImpl(injectionMembers.get(i)),
               useNames(), bindings[i]).resolveInstance(into);
-          final Object rv = monitor.invoking(container, this, (Member) member, componentInstance, toInject);
-          if (rv == ComponentMonitor.KEEP) {
-            final long str = System.currentTimeMillis();
+          if (!monitored) {
             lastReturn = injectIntoMember(member, componentInstance, toInject);
-            monitor.invoked(container, this, (Member) member, componentInstance, System.currentTimeMillis() - str, lastReturn, toInject);
           } else {
-            lastReturn = rv;
+            final Object rv = monitor.invoking(container, this, (Member) member, componentInstance, toInject);
+            if (rv == ComponentMonitor.KEEP) {
+              final long str = System.nanoTime();
+              lastReturn = injectIntoMember(member, componentInstance, toInject);
+              monitor.invoked(container, this, (Member) member, componentInstance, millisSince(str), lastReturn, toInject);
+            } else {
+              lastReturn = rv;
+            }
           }
           injected[i] = toInject;
         }
@@ -391,9 +384,9 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
       final PicoContainer container,
       final Constructor constructor,
       final ComponentMonitor monitor) {
-    final long startTime = System.currentTimeMillis();
-    final Constructor constructorToUse = monitor.instantiating(container,
-        this, constructor);
+    final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INSTANTIATION);
+    final long startTime = monitored ? System.nanoTime() : 0L;
+    final Constructor constructorToUse = monitored ? monitor.instantiating(container, this, constructor) : constructor;
     final Object componentInstance;
     try {
       componentInstance = newInstance(constructorToUse, null);
@@ -410,12 +403,14 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
     } catch (final IllegalAccessException e) {
       return caughtIllegalAccessException(monitor, constructor, e, container);
     }
-    monitor.instantiated(container,
-        this,
-        constructorToUse,
-        componentInstance,
-        NONE,
-        System.currentTimeMillis() - startTime);
+    if (monitored) {
+      monitor.instantiated(container,
+          this,
+          constructorToUse,
+          componentInstance,
+          NONE,
+          millisSince(startTime));
+    }
     return componentInstance;
   }
 
@@ -430,28 +425,24 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
       final Type into,
       final T instance,
       final Class<?> superclassPortion) {
-    boolean iInstantiated = false;
-    T result;
+    final ComponentMonitor monitor = currentMonitor();
+    final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.RESOLUTION);
+    if (monitored) {
+      monitor.resolving(container, this);
+    }
     try {
-      if (instantiationGuard == null) {
-        iInstantiated = true;
-        instantiationGuard = new ThreadLocalCyclicDependencyGuard<T>() {
-          @Override
-          public T run(final Object inst) {
-            final ParameterToAccessibleObjectPair[] matchingParameters = getMatchingParameterListForMembers(guardedContainer);
-            return decorateComponentInstance(matchingParameters, currentMonitor(), inst, container, guardedContainer, into, superclassPortion);
-          }
-        };
+      final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
+      try {
+        final ParameterToAccessibleObjectPair[] matchingParameters = getMatchingParameterListForMembers(container);
+        return decorateComponentInstance(matchingParameters, monitor, instance, container, container, into, superclassPortion);
+      } finally {
+        resolution.exit();
       }
-      instantiationGuard.setGuardedContainer(container);
-      result = instantiationGuard.observe(getComponentImplementation(), instance);
     } finally {
-      if (iInstantiated) {
-        instantiationGuard.remove();
-        instantiationGuard = null;
+      if (monitored) {
+        monitor.resolved(container, this);
       }
     }
-    return result;
   }
 
   protected abstract Object injectIntoMember(
@@ -460,31 +451,16 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
       Object toInject) throws IllegalAccessException, InvocationTargetException;
 
   @Override
-  @SuppressWarnings("unchecked")
   public void verify(final PicoContainer container) throws PicoCompositionException {
-    boolean i_Instantiated = false;
+    final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.VERIFICATION, getComponentImplementation());
     try {
-      if (verifyingGuard == null) {
-        i_Instantiated = true;
-        verifyingGuard = new ThreadLocalCyclicDependencyGuard<T>() {
-          @Override
-          public T run(final Object inst) {
-            final ParameterToAccessibleObjectPair[] currentParameters = getMatchingParameterListForMembers(guardedContainer);
-            for (int i = 0; i < currentParameters.length; i++) {
-              currentParameters[i].getAccessibleObjectParameters().getParams()[0].verify(container, IterativeInjector.this, injectionTypes[i],
-                  makeParameterNameImpl(currentParameters[i].getAccessibleObject()), useNames(), bindings[i]);
-            }
-            return null;
-          }
-        };
+      final ParameterToAccessibleObjectPair[] currentParameters = getMatchingParameterListForMembers(container);
+      for (int i = 0; i < currentParameters.length; i++) {
+        currentParameters[i].getAccessibleObjectParameters().getParams()[0].verify(container, this, injectionTypes[i],
+            makeParameterNameImpl(currentParameters[i].getAccessibleObject()), useNames(), bindings[i]);
       }
-      verifyingGuard.setGuardedContainer(container);
-      verifyingGuard.observe(getComponentImplementation(), null);
     } finally {
-      if (i_Instantiated) {
-        verifyingGuard.remove();
-        verifyingGuard = null;
-      }
+      resolution.exit();
     }
   }
 
@@ -0,0 +1,44 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Engine used by injectors, and by hidden implementations, to call the constructors, methods and fields of components.
+ * <p>
+ * Implementations behave like the reflection API does: failures of the member itself are
+ * reported as {@link InvocationTargetException}, arguments that do not fit as
+ * {@link IllegalArgumentException}, and inaccessible members as {@link IllegalAccessException}.
+ *
+ * @see MemberInvokers
+ */
+public interface MemberInvoker {
+  /**
+   * @see Constructor#newInstance(Object...)
+   */
+  <T> T newInstance(Constructor<T> constructor, Object @Nullable [] args)
+      throws InstantiationException, IllegalAccessException, InvocationTargetException;
+
+  /**
+   * @see Method#invoke(Object, Object...)
+   */
+  Object invoke(Method method, @Nullable Object target, Object @Nullable [] args)
+      throws IllegalAccessException, InvocationTargetException;
+
+  /**
+   * @see Field#set(Object, Object)
+   */
+  void set(Field field, @Nullable Object target, @Nullable Object value) throws IllegalAccessException;
+}
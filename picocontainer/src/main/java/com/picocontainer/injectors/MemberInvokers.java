@@ -0,0 +1,525 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.behaviors.AbstractBehavior;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The available {@link MemberInvoker}s.
+ * <ul>
+ * <li>{@link #REFLECTION} calls members through the reflection API, this is the default.</li>
+ * <li>{@link #METHOD_HANDLES} calls members through {@link MethodHandle}s.</li>
+ * <li>{@link #LAMBDAS} calls public members of public classes through classes spun by the
+ * {@link LambdaMetafactory}, which the JIT can inline like hand-written code. Other members,
+ * fields and members with many arguments are called through method handles instead.</li>
+ * </ul>
+ * Handles and lambdas are made once per member and kept for as long as its class is loaded.
+ * The engine of a component can be chosen with {@link Characteristics#METHOD_HANDLE_INVOCATION}
+ * and {@link Characteristics#LAMBDA_INVOCATION}, or for a whole container with
+ * {@link com.picocontainer.PicoBuilder#withMethodHandleInvocation()} and
+ * {@link com.picocontainer.PicoBuilder#withLambdaInvocation()}.
+ */
+public enum MemberInvokers implements MemberInvoker {
+  REFLECTION {
+    @Override
+    public <T> T newInstance(final Constructor<T> constructor, final Object @Nullable [] args)
+        throws InstantiationException, IllegalAccessException, InvocationTargetException {
+      return constructor.newInstance(args);
+    }
+
+    @Override
+    public Object invoke(final Method method, @Nullable final Object target, final Object @Nullable [] args)
+        throws IllegalAccessException, InvocationTargetException {
+      return method.invoke(target, args);
+    }
+
+    @Override
+    public void set(final Field field, @Nullable final Object target, @Nullable final Object value)
+        throws IllegalAccessException {
+      field.set(target, value);
+    }
+  },
+
+  METHOD_HANDLES {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance(final Constructor<T> constructor, final Object @Nullable [] args)
+        throws IllegalAccessException, InvocationTargetException {
+      return (T) Handles.call(constructor, null, args);
+    }
+
+    @Override
+    public Object invoke(final Method method, @Nullable final Object target, final Object @Nullable [] args)
+        throws IllegalAccessException, InvocationTargetException {
+      return Handles.call(method, target, args);
+    }
+
+    @Override
+    public void set(final Field field, @Nullable final Object target, @Nullable final Object value)
+        throws IllegalAccessException {
+      Handles.set(field, target, value);
+    }
+  },
+
+  LAMBDAS {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance(final Constructor<T> constructor, final Object @Nullable [] args)
+        throws IllegalAccessException, InvocationTargetException {
+      return (T) Lambdas.call(constructor, null, args);
+    }
+
+    @Override
+    public Object invoke(final Method method, @Nullable final Object target, final Object @Nullable [] args)
+        throws IllegalAccessException, InvocationTargetException {
+      return Lambdas.call(method, target, args);
+    }
+
+    @Override
+    public void set(final Field field, @Nullable final Object target, @Nullable final Object value)
+        throws IllegalAccessException {
+      // The metafactory only links to methods and constructors
+      Handles.set(field, target, value);
+    }
+  };
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  /**
+   * @return the invoker requested by the given component properties, {@link #REFLECTION} if none is.
+   */
+  public static MemberInvoker fromProperties(final Properties properties) {
+    if (AbstractBehavior.arePropertiesPresent(properties, Characteristics.LAMBDA_INVOCATION, true)) {
+      return LAMBDAS;
+    }
+
+    if (AbstractBehavior.arePropertiesPresent(properties, Characteristics.METHOD_HANDLE_INVOCATION, true)) {
+      return METHOD_HANDLES;
+    }
+
+    return REFLECTION;
+  }
+
+  /**
+   * Wraps what the called member throws, to tell it apart from failures to adapt the arguments.
+   */
+  private static final class TargetException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private TargetException(final Throwable cause) {
+      super(null, cause, false, false);
+    }
+
+    @SuppressWarnings("unused")
+    static Object rethrow(final Throwable cause) {
+      throw new TargetException(cause);
+    }
+  }
+
+  /**
+   * Method handles adapted to {@code (Object target, Object[] args)Object}, or to
+   * {@code (Object target, Object value)void} for fields.
+   */
+  private static final class Handles {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CALL = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType SET = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle RETHROW;
+
+    static {
+      try {
+        RETHROW = LOOKUP.findStatic(TargetException.class, "rethrow", MethodType.methodType(Object.class, Throwable.class));
+      } catch (final ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private static final ClassValue<Map<Member, MethodHandle>> HANDLES = new ClassValue<Map<Member, MethodHandle>>() {
+      @Override
+      protected Map<Member, MethodHandle> computeValue(final Class<?> type) {
+        return new ConcurrentHashMap<>();
+      }
+    };
+
+    static Object call(final Executable executable, @Nullable final Object target, final Object @Nullable [] args)
+        throws IllegalAccessException, InvocationTargetException {
+      final MethodHandle handle = handleOf(executable);
+
+      // Would fail within the member, as far as the handle can tell
+      if (target == null && executable instanceof Method && !isStatic(executable)) {
+        throw new NullPointerException("null target calling " + executable);
+      }
+
+      // Typed as in CALL, invokeExact links to its static types
+      final Object[] arguments = args == null ? NO_ARGS : args;
+
+      try {
+        return handle.invokeExact(target, arguments);
+      } catch (final TargetException e) {
+        throw new InvocationTargetException(e.getCause());
+      } catch (final RuntimeException e) {
+        throw new IllegalArgumentException("argument type mismatch calling " + executable, e);
+      } catch (final Error e) {
+        throw e;
+      } catch (final Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    static void set(final Field field, @Nullable final Object target, @Nullable final Object value)
+        throws IllegalAccessException {
+      final MethodHandle handle = handleOf(field);
+
+      try {
+        handle.invokeExact(target, value);
+      } catch (final RuntimeException e) {
+        if (target == null && !isStatic(field)) {
+          throw new NullPointerException();
+        }
+
+        throw new IllegalArgumentException("Can not set " + field + " to " + value, e);
+      } catch (final Error e) {
+        throw e;
+      } catch (final Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private static MethodHandle handleOf(final Member member) throws IllegalAccessException {
+      final Map<Member, MethodHandle> handles = HANDLES.get(member.getDeclaringClass());
+      MethodHandle handle = handles.get(member);
+
+      // Inaccessible members are not remembered, they may be made accessible later on
+      if (handle == null) {
+        handle = member instanceof Field ? setterOf((Field) member) : callerOf((Executable) member);
+        handles.put(member, handle);
+      }
+
+      return handle;
+    }
+
+    private static MethodHandle callerOf(final Executable executable) throws IllegalAccessException {
+      MethodHandle handle = executable instanceof Constructor
+          ? LOOKUP.unreflectConstructor((Constructor<?>) executable)
+          : LOOKUP.unreflect((Method) executable);
+
+      final MethodType type = handle.type();
+      final MethodHandle rethrow = MethodHandles.dropArguments(
+          RETHROW.asType(MethodType.methodType(type.returnType(), Throwable.class)), 1, type.parameterList());
+      handle = MethodHandles.catchException(handle, Throwable.class, rethrow);
+
+      if (executable instanceof Constructor || isStatic(executable)) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+
+      return handle.asSpreader(Object[].class, executable.getParameterCount()).asType(CALL);
+    }
+
+    private static MethodHandle setterOf(final Field field) throws IllegalAccessException {
+      MethodHandle handle = LOOKUP.unreflectSetter(field);
+
+      if (isStatic(field)) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+
+      return handle.asType(SET);
+    }
+  }
+
+  /**
+   * Lambdas implementing one of the {@code CallN} interfaces, {@code N} being the number
+   * of arguments including the target of instance methods.
+   */
+  private static final class Lambdas {
+    private static final Class<?>[] CALLS = {Call0.class, Call1.class, Call2.class, Call3.class, Call4.class, Call5.class};
+    private static final Class<?>[] VOID_CALLS = {VoidCall0.class, VoidCall1.class, VoidCall2.class, VoidCall3.class, VoidCall4.class, VoidCall5.class};
+
+    private static final ClassValue<Map<Member, Spun>> LAMBDAS = new ClassValue<Map<Member, Spun>>() {
+      @Override
+      protected Map<Member, Spun> computeValue(final Class<?> type) {
+        return new ConcurrentHashMap<>();
+      }
+    };
+
+    static Object call(final Executable executable, @Nullable final Object target, final Object @Nullable [] args)
+        throws IllegalAccessException, InvocationTargetException {
+      final Spun spun = spunFor(executable);
+      final Object[] actualArgs = args == null ? NO_ARGS : args;
+
+      if (spun.lambda == null || !spun.fits(target, actualArgs)) {
+        return Handles.call(executable, target, args);
+      }
+
+      try {
+        return spun.call(target, actualArgs);
+      } catch (final Throwable e) {
+        // The arguments fit, the member itself failed
+        throw new InvocationTargetException(e);
+      }
+    }
+
+    private static Spun spunFor(final Executable executable) throws IllegalAccessException {
+      final Map<Member, Spun> lambdas = LAMBDAS.get(executable.getDeclaringClass());
+      Spun spun = lambdas.get(executable);
+
+      if (spun == null) {
+        spun = new Spun(executable);
+        lambdas.put(executable, spun);
+      }
+
+      return spun;
+    }
+
+    /**
+     * Spun classes live next to this one, so they can only link to public members of public classes
+     * this class can see.
+     */
+    private static boolean isLinkable(final Executable executable) {
+      if (!Modifier.isPublic(executable.getModifiers()) || !isLinkable(executable.getDeclaringClass())) {
+        return false;
+      }
+
+      for (final Class<?> parameterType : executable.getParameterTypes()) {
+        if (!isLinkable(parameterType)) {
+          return false;
+        }
+      }
+
+      return !(executable instanceof Method) || isLinkable(((Method) executable).getReturnType());
+    }
+
+    private static boolean isLinkable(final Class<?> type) {
+      if (type.isPrimitive()) {
+        return true;
+      }
+
+      if (type.isArray()) {
+        return isLinkable(type.getComponentType());
+      }
+
+      if (!Modifier.isPublic(type.getModifiers())) {
+        return false;
+      }
+
+      try {
+        return Class.forName(type.getName(), false, MemberInvokers.class.getClassLoader()) == type;
+      } catch (final ClassNotFoundException | LinkageError e) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * The lambda spun for a member, if it could be, and what its arguments have to be.
+   */
+  private static final class Spun {
+    @Nullable
+    private final Object lambda;
+    private final Class<?> targetType;
+    private final Class<?>[] argTypes;
+    private final boolean[] primitives;
+    private final boolean hasTarget;
+
+    Spun(final Executable executable) throws IllegalAccessException {
+      hasTarget = executable instanceof Method && !isStatic(executable);
+      targetType = executable.getDeclaringClass();
+
+      final MethodType parameterTypes = MethodType.methodType(void.class, executable.getParameterTypes());
+      argTypes = parameterTypes.wrap().parameterArray();
+      primitives = new boolean[argTypes.length];
+
+      for (int i = 0; i < primitives.length; i++) {
+        primitives[i] = parameterTypes.parameterType(i).isPrimitive();
+      }
+
+      lambda = Lambdas.isLinkable(executable) ? spin(executable) : null;
+    }
+
+    @Nullable
+    private static Object spin(final Executable executable) throws IllegalAccessException {
+      final MethodHandle implementation = executable instanceof Constructor
+          ? Handles.LOOKUP.unreflectConstructor((Constructor<?>) executable)
+          : Handles.LOOKUP.unreflect((Method) executable);
+
+      final MethodType implementationType = implementation.type();
+      final int arity = implementationType.parameterCount();
+
+      if (arity >= Lambdas.CALLS.length) {
+        return null;
+      }
+
+      final boolean isVoid = implementationType.returnType() == void.class;
+      final Class<?> callType = isVoid ? Lambdas.VOID_CALLS[arity] : Lambdas.CALLS[arity];
+      final MethodType erasedType = isVoid
+          ? MethodType.genericMethodType(arity).changeReturnType(void.class)
+          : MethodType.genericMethodType(arity);
+      final MethodType instantiatedType = isVoid
+          ? implementationType.wrap().changeReturnType(void.class)
+          : implementationType.wrap();
+
+      try {
+        final CallSite site = LambdaMetafactory.metafactory(
+            Handles.LOOKUP, "call", MethodType.methodType(callType), erasedType, implementation, instantiatedType);
+        return site.getTarget().invoke();
+      } catch (final Throwable e) {
+        return null;
+      }
+    }
+
+    /**
+     * Whether the lambda can be called without it failing on the arguments themselves.
+     * Anything else is left to method handles, which report it like reflection does.
+     */
+    boolean fits(@Nullable final Object target, final Object[] args) {
+      if (hasTarget ? !targetType.isInstance(target) : target != null) {
+        return false;
+      }
+
+      if (args.length != argTypes.length) {
+        return false;
+      }
+
+      for (int i = 0; i < args.length; i++) {
+        final Object arg = args[i];
+
+        if (primitives[i] ? arg == null || arg.getClass() != argTypes[i] : arg != null && !argTypes[i].isInstance(arg)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    @Nullable
+    @SuppressWarnings("OverlyComplexMethod")
+    Object call(@Nullable final Object target, final Object[] args) throws Throwable {
+      switch (hasTarget ? args.length + 1 : args.length) {
+        case 0:
+          if (lambda instanceof Call0) {
+            return ((Call0) lambda).call();
+          }
+          ((VoidCall0) lambda).call();
+          return null;
+        case 1:
+          if (lambda instanceof Call1) {
+            return ((Call1) lambda).call(at(0, target, args));
+          }
+          ((VoidCall1) lambda).call(at(0, target, args));
+          return null;
+        case 2:
+          if (lambda instanceof Call2) {
+            return ((Call2) lambda).call(at(0, target, args), at(1, target, args));
+          }
+          ((VoidCall2) lambda).call(at(0, target, args), at(1, target, args));
+          return null;
+        case 3:
+          if (lambda instanceof Call3) {
+            return ((Call3) lambda).call(at(0, target, args), at(1, target, args), at(2, target, args));
+          }
+          ((VoidCall3) lambda).call(at(0, target, args), at(1, target, args), at(2, target, args));
+          return null;
+        case 4:
+          if (lambda instanceof Call4) {
+            return ((Call4) lambda).call(at(0, target, args), at(1, target, args), at(2, target, args), at(3, target, args));
+          }
+          ((VoidCall4) lambda).call(at(0, target, args), at(1, target, args), at(2, target, args), at(3, target, args));
+          return null;
+        default:
+          if (lambda instanceof Call5) {
+            return ((Call5) lambda).call(
+                at(0, target, args), at(1, target, args), at(2, target, args), at(3, target, args), at(4, target, args));
+          }
+          ((VoidCall5) lambda).call(
+              at(0, target, args), at(1, target, args), at(2, target, args), at(3, target, args), at(4, target, args));
+          return null;
+      }
+    }
+
+    /**
+     * @return the i-th argument of the lambda, the target of instance methods being the first one
+     */
+    private Object at(final int i, @Nullable final Object target, final Object[] args) {
+      if (hasTarget) {
+        return i == 0 ? target : args[i - 1];
+      }
+
+      return args[i];
+    }
+  }
+
+  private static boolean isStatic(final Member member) {
+    return Modifier.isStatic(member.getModifiers());
+  }
+
+  private interface Call0 {
+    Object call() throws Throwable;
+  }
+
+  private interface Call1 {
+    Object call(Object a) throws Throwable;
+  }
+
+  private interface Call2 {
+    Object call(Object a, Object b) throws Throwable;
+  }
+
+  private interface Call3 {
+    Object call(Object a, Object b, Object c) throws Throwable;
+  }
+
+  private interface Call4 {
+    Object call(Object a, Object b, Object c, Object d) throws Throwable;
+  }
+
+  private interface Call5 {
+    Object call(Object a, Object b, Object c, Object d, Object e) throws Throwable;
+  }
+
+  private interface VoidCall0 {
+    void call() throws Throwable;
+  }
+
+  private interface VoidCall1 {
+    void call(Object a) throws Throwable;
+  }
+
+  private interface VoidCall2 {
+    void call(Object a, Object b) throws Throwable;
+  }
+
+  private interface VoidCall3 {
+    void call(Object a, Object b, Object c) throws Throwable;
+  }
+
+  private interface VoidCall4 {
+    void call(Object a, Object b, Object c, Object d) throws Throwable;
+  }
+
+  private interface VoidCall5 {
+    void call(Object a, Object b, Object c, Object d, Object e) throws Throwable;
+  }
+}
@@ -22,6 +22,8 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
 
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
 /**
  * A {@link com.picocontainer.InjectionType} for methods.
  * The factory creates {@link MethodInjector}.
@@ -62,7 +64,7 @@ public class MethodInjection extends AbstractInjectionType {
         public <T> ComponentAdapter<T> createComponentAdapter(final ComponentMonitor monitor, final LifecycleStrategy lifecycle, final Properties componentProps, final Object key, final Class<T> impl, final ConstructorParameters constructorParams, final FieldParameters[] fieldParams, final MethodParameters[] methodParams) throws PicoCompositionException {
             boolean useNames = AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.USE_NAMES, true);
             boolean requireConsumptionOfAllParameters = !(AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.ALLOW_UNUSED_PARAMETERS, false));
-            return wrapLifeCycle(new MethodInjector(key, impl, monitor, injectionMethodName, useNames, requireConsumptionOfAllParameters, methodParams), lifecycle);
+            return wrapLifeCycle(withMemberInvoker(new MethodInjector(key, impl, monitor, injectionMethodName, useNames, requireConsumptionOfAllParameters, methodParams), componentProps), lifecycle);
         }
     }
 
@@ -79,7 +81,7 @@ public class MethodInjection extends AbstractInjectionType {
             boolean requireConsumptionOfAllParameters = !(AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.ALLOW_UNUSED_PARAMETERS, false));
 
             if (injectionMethod.getDeclaringClass().isAssignableFrom(impl)) {
-                return wrapLifeCycle(monitor.newInjector(new SpecificMethodInjector(key, impl, monitor, useNames, requireConsumptionOfAllParameters, methodParams, injectionMethod)), lifecycle);
+                return wrapLifeCycle(monitor.newInjector(withMemberInvoker(new SpecificMethodInjector(key, impl, monitor, useNames, requireConsumptionOfAllParameters, methodParams, injectionMethod), componentProps)), lifecycle);
             } else {
                 throw new PicoCompositionException("method [" + injectionMethod + "] not on impl " + impl.getName());
             }
@@ -99,7 +101,6 @@ public class MethodInjection extends AbstractInjectionType {
      * @author Mauro Talevi
      */
     public static class MethodInjector<T> extends MultiArgMemberInjector<T> {
-        private transient ThreadLocalCyclicDependencyGuard<Object> instantiationGuard;
         private final String methodNamePrefix;
 
         /**
@@ -204,52 +205,42 @@ public class MethodInjection extends AbstractInjectionType {
         }
 
 		@Override
-        @SuppressWarnings("unchecked")
         public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
-        	boolean i_Instantiated = false;
-        	T result;
-        	try {
-	            if (instantiationGuard == null) {
-	            	i_Instantiated = true;
-	                instantiationGuard = new ThreadLocalCyclicDependencyGuard<Object>() {
-	                    @Override
-	                    @SuppressWarnings("synthetic-access")
-	                    public Object run(final Object instance) {
-	                        List<Method> methods = getInjectorMethods();
-	                        T inst = null;
-	                        ComponentMonitor monitor = currentMonitor();
-	                        Method lastMethod = null;
-	                        try {
-	                            monitor.instantiating(container, MethodInjector.this, null);
-	                            long startTime = System.currentTimeMillis();
-	                            Object[] methodParameters = null;
-	                            inst = getComponentImplementation().newInstance();
-	                            for (Method method : methods) {
-	                                lastMethod = method;
-	                                methodParameters = getMemberArguments(guardedContainer, method, into);
-	                                invokeMethod(method, methodParameters, inst, container);
-	                            }
-	                            monitor.instantiated(container, MethodInjector.this,
-	                                                          null, inst, methodParameters, System.currentTimeMillis() - startTime);
-	                            return inst;
-	                        } catch (InstantiationException e) {
-	                            return caughtInstantiationException(monitor, null, e, container);
-	                        } catch (IllegalAccessException e) {
-	                            return caughtIllegalAccessException(monitor, lastMethod, inst, e);
-
-	                        }
-	                    }
-	                };
-	            }
-	            instantiationGuard.setGuardedContainer(container);
-	            result =  (T) instantiationGuard.observe(getComponentImplementation(), null);
-        	} finally {
-	            if (i_Instantiated) {
-	            	instantiationGuard.remove();
-	            	instantiationGuard = null;
-	            }
-        	}
-            return result;
+            final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
+            try {
+                return instantiate(container, into);
+            } finally {
+                resolution.exit();
+            }
+        }
+
+        private T instantiate(final PicoContainer container, final Type into) {
+            List<Method> methods = getInjectorMethods();
+            T inst = null;
+            ComponentMonitor monitor = currentMonitor();
+            Method lastMethod = null;
+            try {
+                boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INSTANTIATION);
+                if (monitored) {
+                    monitor.instantiating(container, this, null);
+                }
+                long startTime = monitored ? System.nanoTime() : 0L;
+                Object[] methodParameters = null;
+                inst = getComponentImplementation().newInstance();
+                for (Method method : methods) {
+                    lastMethod = method;
+                    methodParameters = getMemberArguments(container, method, into);
+                    invokeMethod(method, methodParameters, inst, container);
+                }
+                if (monitored) {
+                    monitor.instantiated(container, this, null, inst, methodParameters, millisSince(startTime));
+                }
+                return inst;
+            } catch (InstantiationException e) {
+                return caughtInstantiationException(monitor, null, e, container);
+            } catch (IllegalAccessException e) {
+                return caughtIllegalAccessException(monitor, lastMethod, inst, e);
+            }
         }
 
         protected Object[] getMemberArguments(final PicoContainer container, final Method method, final Type into) {
@@ -264,47 +255,25 @@ public class MethodInjection extends AbstractInjectionType {
 
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public Object partiallyDecorateComponentInstance(final PicoContainer container, final Type into, final T instance,
 				final Class<?> injectionTypeFilter) {
-			boolean iInstantiated = false;
-			Object o;
-			try {
-	            if (instantiationGuard == null) {
-	            	iInstantiated = true;
-	                instantiationGuard = new ThreadLocalCyclicDependencyGuard<Object>() {
-	                    @Override
-	                    @SuppressWarnings("synthetic-access")
-	                    public Object run(final Object inst) {
-	                        List<Method> methods = getInjectorMethods();
-	                        Object lastReturn = null;
-	                        for (Method method : methods) {
-	                        	Class<?> methodClass = method.getDeclaringClass();
-	                        	Class<?> filterClass = injectionTypeFilter;
-	                        	if (!allowedMethodBasedOnFilter(filterClass, method)) {
-	                        		continue;
-	                        	}
-
-	                            if (methodClass.isAssignableFrom(inst.getClass())) {
-	                                Object[] methodParameters = getMemberArguments(guardedContainer, method, into);
-	                                lastReturn = invokeMethod(method, methodParameters, (T) inst, container);
-	                            }
-	                        }
-	                        return lastReturn;
-	                    }
-
-	                };
-	            }
-	            instantiationGuard.setGuardedContainer(container);
-	            o = instantiationGuard.observe(getComponentImplementation(), instance);
-			} finally {
-	            if (iInstantiated) {
-	            	instantiationGuard.remove();
-	            	instantiationGuard = null;
-	            }
-			}
-
-            return o;
+            final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
+            try {
+                Object lastReturn = null;
+                for (Method method : getInjectorMethods()) {
+                    if (!allowedMethodBasedOnFilter(injectionTypeFilter, method)) {
+                        continue;
+                    }
+
+                    if (method.getDeclaringClass().isAssignableFrom(instance.getClass())) {
+                        Object[] methodParameters = getMemberArguments(container, method, into);
+                        lastReturn = invokeMethod(method, methodParameters, instance, container);
+                    }
+                }
+                return lastReturn;
+            } finally {
+                resolution.exit();
+            }
         }
 
 		/**
@@ -320,12 +289,17 @@ public class MethodInjection extends AbstractInjectionType {
 
         Object invokeMethod(final Method method, final Object[] methodParameters, final T instance, final PicoContainer container) {
             try {
-                Object rv = currentMonitor().invoking(container, MethodInjector.this, (Member) method, instance, methodParameters);
+                ComponentMonitor monitor = currentMonitor();
+                if (!monitor.isMonitoring(ComponentMonitor.Event.INVOCATION)) {
+                    makeAccessibleIfDesired(method);
+                    return getMemberInvoker().invoke(method, instance, methodParameters);
+                }
+                Object rv = monitor.invoking(container, MethodInjector.this, (Member) method, instance, methodParameters);
                 if (rv == ComponentMonitor.KEEP) {
-                    long str = System.currentTimeMillis();
+                    long str = System.nanoTime();
                     makeAccessibleIfDesired(method);
-                    rv = method.invoke(instance, methodParameters);
-                    currentMonitor().invoked(container, MethodInjector.this, method, instance, System.currentTimeMillis() - str, rv, methodParameters);
+                    rv = getMemberInvoker().invoke(method, instance, methodParameters);
+                    monitor.invoked(container, MethodInjector.this, method, instance, millisSince(str), rv, methodParameters);
                 }
                 return rv;
             } catch (IllegalAccessException e) {
@@ -352,43 +326,24 @@ public class MethodInjection extends AbstractInjectionType {
 
 
 		@Override
-		@SuppressWarnings("unchecked")
         public void verify(final PicoContainer container) throws PicoCompositionException {
-			boolean i_created = false;
-			try {
-	            if (verifyingGuard == null) {
-	            	i_created = true;
-	                verifyingGuard = new ThreadLocalCyclicDependencyGuard<Void>() {
-	                    @Override
-	                    public Void run(final Object inst) {
-	                        final List<Method> methods = getInjectorMethods();
-	                        for (Method method : methods) {
-
-	                            final Class[] parameterTypes = method.getParameterTypes();
-
-	                            AccessibleObjectParameterSet paramsForMethod = getParameterToUseForObject(method, parameters);
-
-
-	                            final Parameter[] currentParameters = paramsForMethod != null ? paramsForMethod.getParams() : createDefaultParameters(parameterTypes.length);
-	                            for (int i = 0; i < currentParameters.length; i++) {
-	                                currentParameters[i].verify(container, MethodInjector.this, parameterTypes[i],
-	                                        new ParameterNameBinding(getParanamer(), method, i), useNames(),
-	                                        getBindings(method.getParameterAnnotations())[i]);
-	                            }
-
-	                        }
-	                        return null;
-	                    }
-	                };
-	            }
-	            verifyingGuard.setGuardedContainer(container);
-	            verifyingGuard.observe(getComponentImplementation(), null);
-			} finally {
-	            if (i_created) {
-	            	verifyingGuard.remove();
-	            	verifyingGuard = null;
-	            }
-			}
+            final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.VERIFICATION, getComponentImplementation());
+            try {
+                for (Method method : getInjectorMethods()) {
+                    final Class[] parameterTypes = method.getParameterTypes();
+
+                    AccessibleObjectParameterSet paramsForMethod = getParameterToUseForObject(method, parameters);
+
+                    final Parameter[] currentParameters = paramsForMethod != null ? paramsForMethod.getParams() : createDefaultParameters(parameterTypes.length);
+                    for (int i = 0; i < currentParameters.length; i++) {
+                        currentParameters[i].verify(container, this, parameterTypes[i],
+                                ParameterNames.bindingOf(method, i), useNames(),
+                                getBindings(method.getParameterAnnotations())[i]);
+                    }
+                }
+            } finally {
+                resolution.exit();
+            }
         }
 
 
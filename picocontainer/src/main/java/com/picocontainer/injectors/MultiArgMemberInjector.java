@@ -12,10 +12,6 @@ import com.picocontainer.*;
 import com.picocontainer.Parameter.Resolver;
 import com.picocontainer.annotations.Bind;
 import com.picocontainer.parameters.AccessibleObjectParameterSet;
-import com.thoughtworks.paranamer.AdaptiveParanamer;
-import com.thoughtworks.paranamer.AnnotationParanamer;
-import com.thoughtworks.paranamer.CachingParanamer;
-import com.thoughtworks.paranamer.Paranamer;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.annotation.Annotation;
@@ -36,8 +32,6 @@ import static com.picocontainer.injectors.PrimitiveMemberChecker.isPrimitiveArgu
 @SuppressWarnings("serial")
 public abstract class MultiArgMemberInjector<T> extends AbstractInjector<T> {
 
-    private transient Paranamer paranamer;
-
 	private final boolean useAllParameters;
 
     public MultiArgMemberInjector(final Object key,
@@ -51,13 +45,6 @@ public abstract class MultiArgMemberInjector<T> extends AbstractInjector<T> {
 		this.useAllParameters = useAllParameters;
     }
 
-    protected Paranamer getParanamer() {
-        if (paranamer == null) {
-            paranamer = new CachingParanamer(new AnnotationParanamer(new AdaptiveParanamer()));
-        }
-        return paranamer;
-    }
-
     protected Object[] getMemberArguments(final PicoContainer container, final AccessibleObject member, final Type[] parameterTypes, final Annotation[] bindings, final Type into) {
         boxParameters(parameterTypes);
         //Object[] result = new Object[parameterTypes.length];
@@ -103,7 +90,7 @@ public abstract class MultiArgMemberInjector<T> extends AbstractInjector<T> {
 
 
 
-        ParameterNameBinding expectedNameBinding = new ParameterNameBinding(getParanamer(), member, i);
+        ParameterNameBinding expectedNameBinding = ParameterNames.bindingOf(member, i);
         Resolver resolver = currentParameter.resolve(container, this, injecteeAdapter, parameterType, expectedNameBinding, useNames(), binding);
 
         if (!resolver.isResolved()) {
@@ -58,16 +58,19 @@ public class MultiInjection extends AbstractInjectionType {
         !AbstractBehavior.arePropertiesPresent(componentProps, Characteristics.ALLOW_UNUSED_PARAMETERS, false);
 
     return wrapLifeCycle(
-        new MultiInjector<>(
-            key,
-            impl,
-            monitor,
-            setterPrefix,
-            useNames,
-            requireConsumptionOfAllParameters,
-            constructorParams,
-            fieldParams,
-            methodParams
+        withMemberInvoker(
+            new MultiInjector<>(
+                key,
+                impl,
+                monitor,
+                setterPrefix,
+                useNames,
+                requireConsumptionOfAllParameters,
+                constructorParams,
+                fieldParams,
+                methodParams
+            ),
+            componentProps
         ),
         lifecycle
     );
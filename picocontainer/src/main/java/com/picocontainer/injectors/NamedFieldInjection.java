@@ -80,13 +80,16 @@ public class NamedFieldInjection extends AbstractInjectionType {
 
     return wrapLifeCycle(
         monitor.newInjector(
-            new NamedFieldInjector<>(
-                key,
-                impl,
-                monitor,
-                fieldNames,
-                requireConsumptionOfallParameters,
-                fieldParams
+            withMemberInvoker(
+                new NamedFieldInjector<>(
+                    key,
+                    impl,
+                    monitor,
+                    fieldNames,
+                    requireConsumptionOfallParameters,
+                    fieldParams
+                ),
+                componentProps
             )
         ),
         lifecycle
@@ -173,7 +176,7 @@ public class NamedFieldInjection extends AbstractInjectionType {
         final Object toInject) throws IllegalAccessException {
       final Field field = (Field) member;
       field.setAccessible(true);
-      field.set(componentInstance, toInject);
+      getMemberInvoker().set(field, componentInstance, toInject);
       return null;
     }
 
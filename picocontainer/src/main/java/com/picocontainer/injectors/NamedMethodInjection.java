@@ -53,7 +53,7 @@ public class NamedMethodInjection extends AbstractInjectionType {
       final FieldParameters[] fieldParams,
       final MethodParameters[] methodParams) {
     return wrapLifeCycle(
-        monitor.newInjector(new NamedMethodInjector<>(key, impl, monitor, prefix, optional, methodParams)),
+        monitor.newInjector(withMemberInvoker(new NamedMethodInjector<>(key, impl, monitor, prefix, optional, methodParams), componentProps)),
         lifecycle
     );
   }
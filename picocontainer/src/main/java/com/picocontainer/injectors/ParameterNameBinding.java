@@ -14,7 +14,11 @@ import com.thoughtworks.paranamer.Paranamer;
 import java.lang.reflect.AccessibleObject;
 
 /**
- * TODO
+ * The name of a parameter of a constructor or method.
+ * <p>
+ * Injectors get theirs from {@link ParameterNames}, which looks each name up once. Bindings made with a
+ * {@link Paranamer} look the name up the first time it is asked for.
+ * </p>
  */
 public class ParameterNameBinding implements NameBinding {
   private final AccessibleObject member;
@@ -31,6 +35,11 @@ public class ParameterNameBinding implements NameBinding {
     this.index = index;
   }
 
+  ParameterNameBinding(final AccessibleObject member, final int index, final String name) {
+    this(null, member, index);
+    this.name = name;
+  }
+
   @Override
   public String getName() {
     if (name != null) {
@@ -0,0 +1,141 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import com.thoughtworks.paranamer.AdaptiveParanamer;
+import com.thoughtworks.paranamer.AnnotationParanamer;
+import com.thoughtworks.paranamer.Paranamer;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * The parameter names of constructors and methods, looked up once for all injectors and containers.
+ * <p>
+ * Names given by {@code @Named} annotations come first, then the names compiled in with {@code -parameters}, read
+ * through {@link Parameter}, and only then names read from the class files by Paranamer. As reading class files is
+ * slow, the names of the members of a class can be looked up ahead of time with {@link #prewarm(Class)}, for example
+ * by a container as components are registered (see
+ * {@link com.picocontainer.DefaultPicoContainer#setParameterNamesExecutor(Executor)}).
+ * </p>
+ * <p>
+ * Lookups take no lock once done, and are kept for as long as the class declaring the member is loaded.
+ * </p>
+ */
+public final class ParameterNames {
+  private static final Paranamer PARANAMER = new AnnotationParanamer(new ReflectionParanamer());
+
+  private static final ClassValue<Map<AccessibleObject, ParameterNameBinding[]>> BINDINGS =
+      new ClassValue<Map<AccessibleObject, ParameterNameBinding[]>>() {
+        @Override
+        protected Map<AccessibleObject, ParameterNameBinding[]> computeValue(final Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private static final ParameterNameBinding[] NONE = new ParameterNameBinding[0];
+
+  private ParameterNames() {
+  }
+
+  /**
+   * @return the binding of the name of a parameter, whose name is the empty string if it cannot be told.
+   */
+  static ParameterNameBinding bindingOf(final AccessibleObject member, final int index) {
+    final ParameterNameBinding[] bindings = bindingsOf(member);
+    return index < bindings.length ? bindings[index] : new ParameterNameBinding(member, index, "");
+  }
+
+  /**
+   * Looks up the parameter names of the constructors and public methods of a class.
+   */
+  public static void prewarm(final Class<?> type) {
+    for (final Constructor<?> constructor : type.getDeclaredConstructors()) {
+      bindingsOf(constructor);
+    }
+
+    for (final Method method : type.getMethods()) {
+      if (method.getParameterCount() > 0 && method.getDeclaringClass() != Object.class) {
+        bindingsOf(method);
+      }
+    }
+  }
+
+  /**
+   * Looks up the parameter names of the constructors and public methods of a class on an executor.
+   *
+   * @return completes once the names are looked up.
+   */
+  public static CompletableFuture<Void> prewarm(final Executor executor, final Class<?> type) {
+    return CompletableFuture.runAsync(() -> prewarm(type), executor);
+  }
+
+  private static ParameterNameBinding[] bindingsOf(final AccessibleObject member) {
+    if (!(member instanceof Executable)) {
+      return NONE;
+    }
+
+    final Executable executable = (Executable) member;
+    final Map<AccessibleObject, ParameterNameBinding[]> ofClass = BINDINGS.get(executable.getDeclaringClass());
+    final ParameterNameBinding[] bindings = ofClass.get(member);
+    return bindings != null ? bindings : ofClass.computeIfAbsent(member, ParameterNames::lookUpBindings);
+  }
+
+  private static ParameterNameBinding[] lookUpBindings(final AccessibleObject member) {
+    final int count = ((Executable) member).getParameterCount();
+
+    if (count == 0) {
+      return NONE;
+    }
+
+    final String[] names = PARANAMER.lookupParameterNames(member, false);
+    final ParameterNameBinding[] bindings = new ParameterNameBinding[count];
+
+    for (int i = 0; i < count; i++) {
+      bindings[i] = new ParameterNameBinding(member, i, i < names.length ? names[i] : "");
+    }
+
+    return bindings;
+  }
+
+  /**
+   * Reads the names compiled in with {@code -parameters}, and has Paranamer read the class file otherwise.
+   */
+  private static final class ReflectionParanamer implements Paranamer {
+    private final Paranamer fallback = new AdaptiveParanamer();
+
+    @Override
+    public String[] lookupParameterNames(final AccessibleObject member) {
+      return lookupParameterNames(member, true);
+    }
+
+    @Override
+    public String[] lookupParameterNames(final AccessibleObject member, final boolean throwExceptionIfMissing) {
+      final Parameter[] parameters = ((Executable) member).getParameters();
+      final String[] names = new String[parameters.length];
+
+      for (int i = 0; i < parameters.length; i++) {
+        if (!parameters[i].isNamePresent()) {
+          return fallback.lookupParameterNames(member, throwExceptionIfMissing);
+        }
+
+        names[i] = parameters[i].getName();
+      }
+
+      return names;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import com.picocontainer.injectors.AbstractInjector.CyclicDependencyException;
+
+import java.util.Arrays;
+
+/**
+ * The injectors a thread is currently resolving, innermost last.
+ * <p>
+ * All injectors share the one stack of their thread: entering an injector pushes a frame,
+ * leaving it pops the frame again, and entering an injector that already has a frame for
+ * the same purpose on the stack is a dependency cycle, reported with the components of all the
+ * frames on the stack, innermost first. Frames are compared by identity and
+ * the arrays holding them are kept for the lifetime of the thread, so a resolution neither
+ * creates thread locals nor allocates once the stack has grown to the depth of the
+ * deepest dependency graph the thread resolves.
+ */
+final class ResolutionStack {
+  /**
+   * Purpose of a frame instantiating or decorating a component.
+   */
+  static final byte INSTANTIATION = 0;
+
+  /**
+   * Purpose of a frame verifying the dependencies of a component.
+   */
+  static final byte VERIFICATION = 1;
+
+  private static final int INITIAL_DEPTH = 16;
+
+  private static final ThreadLocal<ResolutionStack> CURRENT = ThreadLocal.withInitial(ResolutionStack::new);
+
+  private Object[] owners = new Object[INITIAL_DEPTH];
+  private byte[] purposes = new byte[INITIAL_DEPTH];
+  private Class<?>[] stackFrames = new Class<?>[INITIAL_DEPTH];
+  private int depth;
+
+  private ResolutionStack() {
+  }
+
+  /**
+   * Pushes a frame on the stack of the current thread.
+   *
+   * @param owner the injector (or guard) resolving
+   * @param purpose {@link #INSTANTIATION} or {@link #VERIFICATION}
+   * @param stackFrame the component implementation reported if a cycle is detected with the frame on the stack
+   *
+   * @return the stack to {@link #exit()} once the resolution is done
+   *
+   * @throws CyclicDependencyException if the owner is already resolving for the same purpose
+   */
+  static ResolutionStack enter(final Object owner, final byte purpose, final Class<?> stackFrame) {
+    final ResolutionStack stack = CURRENT.get();
+    stack.push(owner, purpose, stackFrame);
+    return stack;
+  }
+
+  private void push(final Object owner, final byte purpose, final Class<?> stackFrame) {
+    for (int i = depth - 1; i >= 0; i--) {
+      if (owners[i] == owner && purposes[i] == purpose) {
+        throw cycle(stackFrame);
+      }
+    }
+
+    if (depth == owners.length) {
+      owners = Arrays.copyOf(owners, depth * 2);
+      purposes = Arrays.copyOf(purposes, depth * 2);
+      stackFrames = Arrays.copyOf(stackFrames, depth * 2);
+    }
+
+    owners[depth] = owner;
+    purposes[depth] = purpose;
+    stackFrames[depth] = stackFrame;
+    depth++;
+  }
+
+  private CyclicDependencyException cycle(final Class<?> stackFrame) {
+    final CyclicDependencyException cycle = new CyclicDependencyException(stackFrame);
+
+    for (int i = depth - 1; i >= 0; i--) {
+      cycle.push(stackFrames[i]);
+    }
+
+    return cycle;
+  }
+
+  /**
+   * Pops the innermost frame, to be called in the {@code finally} block of a successful
+   * {@link #enter(Object, byte, Class)}.
+   */
+  void exit() {
+    owners[--depth] = null;
+    stackFrames[depth] = null;
+  }
+
+  /**
+   * @return the number of frames on the stack of the current thread
+   */
+  static int depth() {
+    return CURRENT.get().depth;
+  }
+}
@@ -97,7 +97,7 @@ public class SetterInjection extends AbstractInjectionType {
             methodParams
         );
 
-    final com.picocontainer.Injector<T> injector = monitor.newInjector(setterInjector);
+    final com.picocontainer.Injector<T> injector = monitor.newInjector(withMemberInvoker(setterInjector, componentProps));
     return wrapLifeCycle(injector, lifecycle);
   }
 
@@ -170,7 +170,7 @@ public class SetterInjection extends AbstractInjectionType {
         final AccessibleObject member,
         final Object componentInstance,
         final Object toInject) throws IllegalAccessException, InvocationTargetException {
-      return ((Method) member).invoke(componentInstance, toInject);
+      return getMemberInvoker().invoke((Method) member, componentInstance, new Object[]{toInject});
     }
 
     @Override
@@ -45,7 +45,6 @@ import java.util.List;
 public class SpecificFieldInjector<T> extends AbstractFieldInjector<T> implements StaticInjector<T> {
   private final Field[] fieldsToInject;
   private final boolean isStaticInjection;
-  private transient ThreadLocalCyclicDependencyGuard<T> instantiationGuard;
 
   /**
    * Ugly hack to pass the initialized reference set to the inject method
@@ -103,29 +102,15 @@ public class SpecificFieldInjector<T> extends AbstractFieldInjector<T> implement
       throw new PicoCompositionException(Arrays.deepToString(fieldsToInject) + " are non static fields, injectStatics should not be called.");
     }
 
-    boolean iInstantiated = false;
+    final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
     try {
-      if (instantiationGuard == null) {
-        iInstantiated = true;
-        instantiationGuard = new ThreadLocalCyclicDependencyGuard<T>() {
-          @Override
-          public T run(final Object instance) {
-            final ParameterToAccessibleObjectPair[] matchingParameters = getMatchingParameterListForMembers(guardedContainer);
-
-            //Funky call where the instance we're decorating
-            //happens to be null for static injection.
-            return decorateComponentInstance(matchingParameters, currentMonitor(), null, container, guardedContainer, into, null);
-          }
-        };
-      }
-      instantiationGuard.setGuardedContainer(container);
-      instantiationGuard.observe(getComponentImplementation(), null);
-    } finally {
-      if (iInstantiated) {
-        instantiationGuard.remove();
-        instantiationGuard = null;
-      }
+      final ParameterToAccessibleObjectPair[] matchingParameters = getMatchingParameterListForMembers(container);
 
+      //Funky call where the instance we're decorating
+      //happens to be null for static injection.
+      decorateComponentInstance(matchingParameters, currentMonitor(), null, container, container, into, null);
+    } finally {
+      resolution.exit();
       this.initializedReferenceSet = null;
     }
   }
@@ -198,7 +183,7 @@ public class SpecificFieldInjector<T> extends AbstractFieldInjector<T> implement
       return null;
     });
 
-    field.set(componentInstance, toInject);
+    getMemberInvoker().set(field, componentInstance, toInject);
   }
 
   @Override
@@ -33,7 +33,6 @@ import java.util.List;
 public class SpecificMethodInjector<T> extends MethodInjector<T> implements StaticInjector<T> {
   private final List<Method> injectionMethods;
   private final boolean isStaticInjection;
-  private transient ThreadLocalCyclicDependencyGuard<Object> instantiationGuard;
   private StaticsInitializedReferenceSet initializedReferenceSet;
 
   public SpecificMethodInjector(
@@ -86,33 +85,14 @@ public class SpecificMethodInjector<T> extends MethodInjector<T> implements Stat
       );
     }
 
-    boolean i_Instantiated = false;
-
+    final ResolutionStack resolution = ResolutionStack.enter(this, ResolutionStack.INSTANTIATION, getComponentImplementation());
     try {
-      if (instantiationGuard == null) {
-        i_Instantiated = true;
-        instantiationGuard = new ThreadLocalCyclicDependencyGuard<Object>() {
-          @Nullable
-          @SuppressWarnings("synthetic-access")
-          @Override
-          public Object run(final Object instance) {
-            final List<Method> methods = getInjectorMethods();
-
-            for (final Method method : methods) {
-              final Object[] methodParameters = getMemberArguments(guardedContainer, method, into);
-              invokeMethod(method, methodParameters, null, container);
-            }
-            return null;
-          }
-        };
+      for (final Method method : getInjectorMethods()) {
+        final Object[] methodParameters = getMemberArguments(container, method, into);
+        invokeMethod(method, methodParameters, null, container);
       }
-      instantiationGuard.setGuardedContainer(container);
-      instantiationGuard.observe(getComponentImplementation(), null);
     } finally {
-      if (i_Instantiated) {
-        instantiationGuard.remove();
-        instantiationGuard = null;
-      }
+      resolution.exit();
     }
   }
 
@@ -53,8 +53,8 @@ public class TypedFieldInjection extends AbstractInjectionType {
         if (fieldTypes == null) {
             fieldTypes = "";
         }
-        return wrapLifeCycle(monitor.newInjector(new TypedFieldInjector<T>(key, impl, monitor, fieldTypes, requireConsumptionOfAllParameters, fieldParams
-        )), lifecycle);
+        return wrapLifeCycle(monitor.newInjector(withMemberInvoker(new TypedFieldInjector<T>(key, impl, monitor, fieldTypes, requireConsumptionOfAllParameters, fieldParams
+        ), componentProps)), lifecycle);
     }
 
     public static Properties injectionFieldTypes(final String... fieldTypes) {
@@ -128,7 +128,7 @@ public class TypedFieldInjection extends AbstractInjectionType {
             throws IllegalAccessException, InvocationTargetException {
             Field field = (Field) member;
             field.setAccessible(true);
-            field.set(componentInstance, toInject);
+            getMemberInvoker().set(field, componentInstance, toInject);
             return null;
         }
 
@@ -17,17 +17,31 @@ import javax.annotation.PreDestroy;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
 /**
  * Java EE 5 has some annotations {@link PreDestroy} and {@link PostConstruct}
  * that map to start() and dispose() in our world.
+ * <p>
+ * The annotated methods of a class are looked up once, and kept for as long as the class is loaded.
+ * </p>
  *
  * @author Paul Hammant
  */
 @SuppressWarnings("serial")
 public final class JavaEE5LifecycleStrategy extends AbstractMonitoringLifecycleStrategy {
+  private static final ClassValue<Lifecycle> LIFECYCLES = new ClassValue<Lifecycle>() {
+    @Override
+    protected Lifecycle computeValue(final Class<?> type) {
+      return new Lifecycle(type);
+    }
+  };
+
   /**
    * @param monitor the monitor to use
    *
@@ -39,7 +53,7 @@ public final class JavaEE5LifecycleStrategy extends AbstractMonitoringLifecycleS
 
   @Override
   public void start(final Object component) {
-    doLifecycleMethod(component, PostConstruct.class, true);
+    invoke(component, LIFECYCLES.get(component.getClass()).postConstructs);
   }
 
   @Override
@@ -47,74 +61,119 @@ public final class JavaEE5LifecycleStrategy extends AbstractMonitoringLifecycleS
 
   @Override
   public void dispose(final Object component) {
-    doLifecycleMethod(component, PreDestroy.class, false);
-  }
-
-  private void doLifecycleMethod(
-      final Object component,
-      final Class<? extends Annotation> annotation,
-      final boolean superFirst) {
-    doLifecycleMethod(component, annotation, component.getClass(), superFirst, new HashSet<>());
+    invoke(component, LIFECYCLES.get(component.getClass()).preDestroys);
   }
 
-  private void doLifecycleMethod(
-      final Object component,
-      final Class<? extends Annotation> annotation,
-      final Class<?> clazz,
-      final boolean superFirst,
-      final Set<? super String> doneAlready) {
-    final Class<?> parent = clazz.getSuperclass();
-
-    if (superFirst && parent != Object.class) {
-      doLifecycleMethod(component, annotation, parent, superFirst, doneAlready);
+  private void invoke(final Object component, final Method[] methods) {
+    if (methods.length == 0) {
+      return;
     }
 
-    final Method[] methods = clazz.getDeclaredMethods();
+    final ComponentMonitor monitor = currentMonitor();
+    final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INVOCATION);
 
     for (final Method method : methods) {
-      final String signature = signature(method);
-
-      if (method.isAnnotationPresent(annotation) && !doneAlready.contains(signature)) {
-        try {
-          final long str = System.currentTimeMillis();
-          currentMonitor().invoking(null, null, method, component);
-          AnnotationInjectionUtils.setMemberAccessible(method);
-          method.invoke(component);
-          doneAlready.add(signature);
-          currentMonitor().invoked(null, null, method, component, System.currentTimeMillis() - str, null);
-        } catch (final IllegalAccessException | InvocationTargetException e) {
-          throw new PicoLifecycleException(method, component, e);
+      try {
+        final long str = monitored ? System.nanoTime() : 0L;
+
+        if (monitored) {
+          monitor.invoking(null, null, method, component);
+        }
+
+        method.invoke(component);
+
+        if (monitored) {
+          monitor.invoked(null, null, method, component, millisSince(str), null);
         }
+      } catch (final IllegalAccessException | InvocationTargetException e) {
+        throw new PicoLifecycleException(method, component, e);
       }
     }
+  }
 
-    if (!superFirst && parent != Object.class) {
-      // noinspection ConstantConditions
-      doLifecycleMethod(component, annotation, parent, superFirst, doneAlready);
-    }
+  @Override
+  public boolean hasLifecycle(final Class<?> type) {
+    return LIFECYCLES.get(type).declared;
   }
 
-  private static String signature(final Method method) {
-    final StringBuilder sb = new StringBuilder(method.getName());
-    final Class<?>[] pt = method.getParameterTypes();
+  /**
+   * The lifecycle methods of a class, in the order they are called, looked up and made accessible once.
+   */
+  private static final class Lifecycle {
+    private static final Method[] NONE = new Method[0];
+
+    final Method[] postConstructs;
+    final Method[] preDestroys;
+
+    /**
+     * Whether the class itself, not counting its superclasses, declares a lifecycle method.
+     */
+    final boolean declared;
 
-    for (final Class<?> objectClass : pt) {
-      sb.append(objectClass.getName());
+    Lifecycle(final Class<?> type) {
+      postConstructs = lookUp(type, PostConstruct.class, true);
+      preDestroys = lookUp(type, PreDestroy.class, false);
+      declared = declares(type);
     }
 
-    return sb.toString();
-  }
+    /**
+     * Walks the hierarchy, superclasses first or last, a method overriding or overridden by one already found being
+     * left out.
+     */
+    private static Method[] lookUp(final Class<?> type, final Class<? extends Annotation> annotation, final boolean superFirst) {
+      final List<Method> found = new ArrayList<>();
+      lookUp(type, annotation, superFirst, found, new HashSet<>());
 
-  @Override
-  public boolean hasLifecycle(final Class<?> type) {
-    final Method[] methods = type.getDeclaredMethods();
+      for (final Method method : found) {
+        AnnotationInjectionUtils.setMemberAccessible(method);
+      }
 
-    for (final Method method : methods) {
-      if (method.isAnnotationPresent(PreDestroy.class) || method.isAnnotationPresent(PostConstruct.class)) {
-        return true;
+      return found.isEmpty() ? NONE : found.toArray(NONE);
+    }
+
+    private static void lookUp(
+        final Class<?> clazz,
+        final Class<? extends Annotation> annotation,
+        final boolean superFirst,
+        final List<Method> found,
+        final Set<? super String> doneAlready) {
+      final Class<?> parent = clazz.getSuperclass();
+      final boolean walkParent = parent != null && parent != Object.class;
+
+      if (superFirst && walkParent) {
+        lookUp(parent, annotation, superFirst, found, doneAlready);
+      }
+
+      for (final Method method : clazz.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(annotation) && doneAlready.add(signature(method))) {
+          found.add(method);
+        }
+      }
+
+      if (!superFirst && walkParent) {
+        lookUp(parent, annotation, superFirst, found, doneAlready);
       }
     }
 
-    return false;
+    private static String signature(final Method method) {
+      final StringBuilder sb = new StringBuilder(method.getName());
+      final Class<?>[] pt = method.getParameterTypes();
+
+      for (final Class<?> objectClass : pt) {
+        sb.append(objectClass.getName());
+      }
+
+      return sb.toString();
+    }
+
+    private static boolean declares(final Class<?> type) {
+      for (final Method method : type.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(PreDestroy.class) || method.isAnnotationPresent(PostConstruct.class)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
   }
 }
@@ -0,0 +1,47 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.lifecycle;
+
+import com.picocontainer.PicoException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Subclass of {@link PicoException} that is thrown when several components failed
+ * the same lifecycle operation, which a container carried out on all of them before
+ * rethrowing the failures collectively.
+ */
+@SuppressWarnings("serial")
+public final class LifecycleFailuresException extends PicoException {
+  private final List<Throwable> lifecycleFailures;
+
+  public LifecycleFailuresException(final List<? extends Throwable> lifecycleFailures) {
+    this.lifecycleFailures = Collections.unmodifiableList(new ArrayList<Throwable>(lifecycleFailures));
+
+    for (final Throwable lifecycleFailure : lifecycleFailures) {
+      addSuppressed(lifecycleFailure);
+    }
+  }
+
+  @Override
+  public String getMessage() {
+    final StringBuilder message = new StringBuilder();
+
+    for (final Throwable lifecycleFailure : lifecycleFailures) {
+      message.append(lifecycleFailure.getMessage()).append(";  ");
+    }
+
+    return message.toString();
+  }
+
+  public List<Throwable> getFailures() {
+    return lifecycleFailures;
+  }
+}
@@ -0,0 +1,74 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.lifecycle;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The public no-argument methods of a class that lifecycle strategies looked up by name, shared by all strategies.
+ * <p>
+ * A method is looked up once per class and name, then read without locking. The descriptors are kept for as long as
+ * their class is loaded, and do not keep it loaded.
+ * </p>
+ */
+final class LifecycleMethods {
+  private static final ClassValue<LifecycleMethods> METHODS = new ClassValue<LifecycleMethods>() {
+    @Override
+    protected LifecycleMethods computeValue(final Class<?> type) {
+      return new LifecycleMethods(type);
+    }
+  };
+
+  /**
+   * Stands for a method the class does not have.
+   */
+  private static final Object NONE = new Object();
+
+  private final Class<?> type;
+  private final ConcurrentHashMap<String, Object> byName = new ConcurrentHashMap<>(4);
+
+  private LifecycleMethods(final Class<?> type) {
+    this.type = type;
+  }
+
+  static LifecycleMethods of(final Class<?> type) {
+    return METHODS.get(type);
+  }
+
+  /**
+   * @param name the name of the method, null for none
+   *
+   * @return the public method of that name without arguments, as {@link Class#getMethod(String, Class[])} finds it,
+   *     null if there is none.
+   */
+  @Nullable
+  Method find(@Nullable final String name) {
+    if (name == null) {
+      return null;
+    }
+
+    Object method = byName.get(name);
+
+    if (method == null) {
+      method = byName.computeIfAbsent(name, this::lookUp);
+    }
+
+    return method == NONE ? null : (Method) method;
+  }
+
+  private Object lookUp(final String name) {
+    try {
+      return type.getMethod(name);
+    } catch (final NoSuchMethodException ignored) {
+      return NONE;
+    }
+  }
+}
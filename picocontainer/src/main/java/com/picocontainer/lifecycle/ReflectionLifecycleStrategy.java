@@ -11,14 +11,15 @@ import com.picocontainer.ComponentMonitor;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
 
 /**
  * Reflection lifecycle strategy.
  * <p>
  * Starts, stops, disposes of component if appropriate methods are present.
- * The component may implement only one of the three methods.
+ * The component may implement only one of the three methods. The methods are
+ * looked up once per class, in a cache all lifecycle strategies share.
  *
  * @author Paul Hammant
  * @author Mauro Talevi
@@ -49,11 +50,6 @@ public class ReflectionLifecycleStrategy extends AbstractMonitoringLifecycleStra
    */
   private final String[] methodNames;
 
-  /**
-   * Map of classes mapped to method arrays that are cached for reflection.
-   */
-  private final transient Map<Class<?>, Method[]> methodMap = new HashMap<>();
-
   public ReflectionLifecycleStrategy(final ComponentMonitor monitor) {
     this(monitor, "start", "stop", "dispose");
   }
@@ -78,30 +74,39 @@ public class ReflectionLifecycleStrategy extends AbstractMonitoringLifecycleStra
 
   @Override
   public void start(final Object component) {
-    final Method[] methods = init(component.getClass());
-    invokeMethod(component, methods[START]);
-
+    invokeMethod(component, START);
   }
 
   @Override
   public void stop(final Object component) {
-    final Method[] methods = init(component.getClass());
-    invokeMethod(component, methods[STOP]);
+    invokeMethod(component, STOP);
   }
 
   @Override
   public void dispose(final Object component) {
-    final Method[] methods = init(component.getClass());
-    invokeMethod(component, methods[DISPOSE]);
+    invokeMethod(component, DISPOSE);
+  }
+
+  private void invokeMethod(final Object component, final int index) {
+    if (component != null) {
+      invokeMethod(component, LifecycleMethods.of(component.getClass()).find(methodNames[index]));
+    }
   }
 
   private void invokeMethod(final Object component, final Method method) {
     if (component != null && method != null) {
       try {
-        final long str = System.currentTimeMillis();
-        currentMonitor().invoking(null, null, method, component);
+        final ComponentMonitor monitor = currentMonitor();
+
+        if (!monitor.isMonitoring(ComponentMonitor.Event.INVOCATION)) {
+          method.invoke(component);
+          return;
+        }
+
+        final long str = System.nanoTime();
+        monitor.invoking(null, null, method, component);
         method.invoke(component);
-        currentMonitor().invoked(null, null, method, component, System.currentTimeMillis() - str, null);
+        monitor.invoked(null, null, method, component, millisSince(str), null);
       } catch (final IllegalAccessException e) {
         monitorAndThrowReflectionLifecycleException(method, e, component);
       } catch (final InvocationTargetException e) {
@@ -134,52 +139,14 @@ public class ReflectionLifecycleStrategy extends AbstractMonitoringLifecycleStra
    */
   @Override
   public boolean hasLifecycle(final Class<?> type) {
-    final Method[] methods = init(type);
+    final LifecycleMethods methods = LifecycleMethods.of(type);
 
-    for (final Method method : methods) {
-      if (method != null) {
+    for (final String methodName : methodNames) {
+      if (methods.find(methodName) != null) {
         return true;
       }
     }
 
     return false;
   }
-
-  /**
-   * Initializes the method array with the given type.
-   *
-   * @param type the type to examine for reflection lifecycle methods.
-   *
-   * @return Method array containing start/stop/dispose methods.
-   */
-  private Method[] init(final Class<?> type) {
-    Method[] methods;
-
-    synchronized (methodMap) {
-      methods = methodMap.get(type);
-
-      if (methods == null) {
-        methods = new Method[methodNames.length];
-
-        for (int i = 0; i < methods.length; i++) {
-          try {
-            final String methodName = methodNames[i];
-
-            if (methodName == null) {
-              // skipping, we're not interested in this lifecycle method.
-              continue;
-            }
-
-            methods[i] = type.getMethod(methodName);
-          } catch (final NoSuchMethodException ignored) {
-            // continue
-          }
-        }
-
-        methodMap.put(type, methods);
-      }
-    }
-
-    return methods;
-  }
 }
@@ -15,6 +15,8 @@ import com.picocontainer.Startable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import static com.picocontainer.monitors.ComponentMonitorHelper.millisSince;
+
 /**
  * <p>
  * Startable lifecycle strategy.
@@ -41,20 +43,16 @@ public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrat
   }
 
   private void doMethodsIfNotDone() {
-    try {
-      if (start == null) {
-        start = getStartableInterface().getMethod(getStartMethodName());
-      }
+    if (start == null) {
+      start = LifecycleMethods.of(getStartableInterface()).find(getStartMethodName());
+    }
 
-      if (stop == null) {
-        stop = getStartableInterface().getMethod(getStopMethodName());
-      }
+    if (stop == null) {
+      stop = LifecycleMethods.of(getStartableInterface()).find(getStopMethodName());
+    }
 
-      if (dispose == null) {
-        dispose = getDisposableInterface().getMethod(getDisposeMethodName());
-      }
-    } catch (final NoSuchMethodException ignored) {
-      //
+    if (dispose == null) {
+      dispose = LifecycleMethods.of(getDisposableInterface()).find(getDisposeMethodName());
     }
   }
 
@@ -90,12 +88,20 @@ public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrat
     doMethodsIfNotDone();
 
     if (component != null && getStartableInterface().isAssignableFrom(component.getClass())) {
-      final long str = System.currentTimeMillis();
-      currentMonitor().invoking(null, null, start, component);
+      final ComponentMonitor monitor = currentMonitor();
+      final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INVOCATION);
+      final long str = monitored ? System.nanoTime() : 0L;
+
+      if (monitored) {
+        monitor.invoking(null, null, start, component);
+      }
 
       try {
         startComponent(component);
-        currentMonitor().invoked(null, null, start, component, System.currentTimeMillis() - str, null);
+
+        if (monitored) {
+          monitor.invoked(null, null, start, component, millisSince(str), null);
+        }
       } catch (final RuntimeException cause) {
         currentMonitor().lifecycleInvocationFailed(null, null, start, component, cause); // may re-throw
       }
@@ -133,12 +139,20 @@ public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrat
     doMethodsIfNotDone();
 
     if (component != null && getStartableInterface().isAssignableFrom(component.getClass())) {
-      final long str = System.currentTimeMillis();
-      currentMonitor().invoking(null, null, stop, component);
+      final ComponentMonitor monitor = currentMonitor();
+      final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INVOCATION);
+      final long str = monitored ? System.nanoTime() : 0L;
+
+      if (monitored) {
+        monitor.invoking(null, null, stop, component);
+      }
 
       try {
         stopComponent(component);
-        currentMonitor().invoked(null, null, stop, component, System.currentTimeMillis() - str, null);
+
+        if (monitored) {
+          monitor.invoked(null, null, stop, component, millisSince(str), null);
+        }
       } catch (final RuntimeException cause) {
         currentMonitor().lifecycleInvocationFailed(null, null, stop, component, cause); // may re-throw
       }
@@ -150,12 +164,20 @@ public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrat
     doMethodsIfNotDone();
 
     if (component != null && getDisposableInterface().isAssignableFrom(component.getClass())) {
-      final long str = System.currentTimeMillis();
-      currentMonitor().invoking(null, null, dispose, component);
+      final ComponentMonitor monitor = currentMonitor();
+      final boolean monitored = monitor.isMonitoring(ComponentMonitor.Event.INVOCATION);
+      final long str = monitored ? System.nanoTime() : 0L;
+
+      if (monitored) {
+        monitor.invoking(null, null, dispose, component);
+      }
 
       try {
         disposeComponent(component);
-        currentMonitor().invoked(null, null, dispose, component, System.currentTimeMillis() - str, null);
+
+        if (monitored) {
+          monitor.invoked(null, null, dispose, component, millisSince(str), null);
+        }
       } catch (final RuntimeException cause) {
         currentMonitor().lifecycleInvocationFailed(null, null, dispose, component, cause); // may re-throw
       }
@@ -0,0 +1,507 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import com.picocontainer.ChangedBehavior;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.Injector;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoContainer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.picocontainer.monitors.ComponentMonitorHelper.ctorToString;
+import static com.picocontainer.monitors.ComponentMonitorHelper.memberToString;
+import static com.picocontainer.monitors.ComponentMonitorHelper.methodToString;
+import static com.picocontainer.monitors.ComponentMonitorHelper.parmsToString;
+
+/**
+ * A {@link ComponentMonitor} which writes the same lines as {@link WriterComponentMonitor}, but not on the thread
+ * the events happen on: events are put in a bounded ring buffer, and formatted and written in batches by a daemon
+ * thread. When the buffer is full, the {@link OverflowPolicy} decides whether events are dropped or their threads
+ * wait, dropped events being counted.
+ * <p>
+ * As lines are formatted later, the {@code toString()} of components is called on the writer thread, and reflects
+ * their state at that time. {@link #flush()} waits for the events so far to be written, {@link #close()} writes the
+ * remaining ones and stops the writer thread.
+ * </p>
+ */
+public class AsyncWriterComponentMonitor implements ComponentMonitor, Closeable {
+  /**
+   * What happens to an event when the buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The event is dropped, and counted in {@link #getDroppedEvents()}.
+     */
+    DROP,
+
+    /**
+     * The thread waits for the writer to make room, slowing down to the pace of the writer.
+     */
+    BLOCK
+  }
+
+  public static final int DEFAULT_CAPACITY = 8192;
+
+  private static final int BATCH = 256;
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final PrintWriter out;
+  private final ComponentMonitor delegate;
+  private final OverflowPolicy overflowPolicy;
+  private final RingBuffer events;
+  private final LongAdder dropped = new LongAdder();
+  private final Thread writer;
+  private volatile boolean idle;
+  private volatile boolean closed;
+  private volatile long written;
+
+  public AsyncWriterComponentMonitor(final Writer out) {
+    this(out, new NullComponentMonitor());
+  }
+
+  public AsyncWriterComponentMonitor(final Writer out, final ComponentMonitor delegate) {
+    this(out, DEFAULT_CAPACITY, OverflowPolicy.DROP, delegate);
+  }
+
+  /**
+   * @param capacity how many events can wait to be written, rounded up to a power of two.
+   */
+  public AsyncWriterComponentMonitor(
+      final Writer out,
+      final int capacity,
+      final OverflowPolicy overflowPolicy,
+      final ComponentMonitor delegate) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be positive, was " + capacity);
+    }
+
+    this.out = new PrintWriter(new BufferedWriter(out));
+    this.delegate = delegate;
+    this.overflowPolicy = overflowPolicy;
+    this.events = new RingBuffer(capacity);
+    this.writer = new Thread(this::writeEvents, "PicoContainer monitor writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public void resolving(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolving(container, componentAdapter);
+  }
+
+  @Override
+  public void resolved(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolved(container, componentAdapter);
+  }
+
+  @Override
+  public <T> Constructor<T> instantiating(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor) {
+    enqueue(Line.INSTANTIATING, constructor, null, null, 0L);
+    return delegate.instantiating(container, componentAdapter, constructor);
+  }
+
+  @Override
+  public <T> void instantiated(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Object instantiated,
+      final Object[] injected,
+      final long duration) {
+    enqueue(Line.INSTANTIATED, constructor, instantiated.getClass(), injected, duration);
+    delegate.instantiated(container, componentAdapter, constructor, instantiated, injected, duration);
+  }
+
+  @Override
+  public <T> void instantiationFailed(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Exception cause) {
+    enqueue(Line.INSTANTIATION_FAILED, constructor, cause, null, 0L);
+    delegate.instantiationFailed(container, componentAdapter, constructor, cause);
+  }
+
+  @Override
+  public Object invoking(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final Object... args) {
+    enqueue(Line.INVOKING, member, instance, null, 0L);
+    return delegate.invoking(container, componentAdapter, member, instance, args);
+  }
+
+  @Override
+  public void invoked(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final long duration,
+      final Object retVal,
+      final Object... args) {
+    enqueue(Line.INVOKED, member, instance, null, duration);
+    delegate.invoked(container, componentAdapter, member, instance, duration, retVal, args);
+  }
+
+  @Override
+  public void invocationFailed(final Member member, final Object instance, final Exception cause) {
+    enqueue(Line.INVOCATION_FAILED, member, instance, cause, 0L);
+    delegate.invocationFailed(member, instance, cause);
+  }
+
+  @Override
+  public void lifecycleInvocationFailed(
+      final MutablePicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Method method,
+      final Object instance,
+      final RuntimeException cause) {
+    enqueue(Line.LIFECYCLE_INVOCATION_FAILED, method, instance, cause, 0L);
+    delegate.lifecycleInvocationFailed(container, componentAdapter, method, instance, cause);
+  }
+
+  @Override
+  public void lockWaited(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long waited) {
+    enqueue(Line.LOCK_WAITED, componentAdapter.getComponentKey(), null, null, waited);
+    delegate.lockWaited(container, componentAdapter, waited);
+  }
+
+  @Override
+  public void containerStarting(final PicoContainer container) {
+    delegate.containerStarting(container);
+  }
+
+  @Override
+  public void containerStarted(final PicoContainer container, final long duration) {
+    delegate.containerStarted(container, duration);
+  }
+
+  @Override
+  public Object noComponentFound(final MutablePicoContainer container, final Object key) {
+    enqueue(Line.NO_COMPONENT, key, null, null, 0L);
+    return delegate.noComponentFound(container, key);
+  }
+
+  @Override
+  public <T> Injector<T> newInjector(final Injector<T> injector) {
+    return delegate.newInjector(injector);
+  }
+
+  @Override
+  public <T> ChangedBehavior<T> changedBehavior(final ChangedBehavior<T> changedBehavior) {
+    return delegate.changedBehavior(changedBehavior);
+  }
+
+  /**
+   * @return how many events were not written, because the buffer was full or the monitor closed.
+   */
+  public long getDroppedEvents() {
+    return dropped.sum();
+  }
+
+  /**
+   * Waits for the events that happened so far to be written.
+   */
+  public void flush() {
+    final long target = events.published();
+
+    while (written < target && writer.isAlive()) {
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(BACKOFF_NANOS);
+    }
+  }
+
+  /**
+   * Writes the remaining events and stops the writer thread. Events that happen afterwards are dropped.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(writer);
+
+    try {
+      writer.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void enqueue(final Line line, final Object a, final Object b, final Object c, final long duration) {
+    while (!closed) {
+      if (events.offer(line, a, b, c, duration)) {
+        if (idle) {
+          LockSupport.unpark(writer);
+        }
+
+        return;
+      }
+
+      // The writer thread waiting for itself would never return
+      if (overflowPolicy == OverflowPolicy.DROP || Thread.currentThread() == writer) {
+        break;
+      }
+
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(BACKOFF_NANOS);
+    }
+
+    dropped.increment();
+  }
+
+  private void writeEvents() {
+    final Slot slot = new Slot();
+    long count = 0;
+
+    while (true) {
+      int batch = 0;
+
+      while (batch < BATCH && events.poll(slot)) {
+        writeLine(slot);
+        batch++;
+      }
+
+      if (batch > 0) {
+        out.flush();
+        count += batch;
+        written = count;
+        continue;
+      }
+
+      if (closed) {
+        // Enqueueing stops when closed, but an event may have been claimed just before
+        if (events.isEmpty()) {
+          out.flush();
+          return;
+        }
+
+        continue;
+      }
+
+      idle = true;
+
+      if (events.isEmpty()) {
+        LockSupport.parkNanos(this, IDLE_NANOS);
+      }
+
+      idle = false;
+    }
+  }
+
+  private void writeLine(final Slot slot) {
+    try {
+      out.println(slot.line.format(slot));
+    } catch (final RuntimeException e) {
+      // A component whose toString() fails must not stop the writer
+      out.println("PicoContainer: could not write a " + slot.line + " event: " + e);
+    } finally {
+      slot.clear();
+    }
+  }
+
+  /**
+   * The lines written, and how they are formatted from what was enqueued.
+   */
+  private enum Line {
+    INSTANTIATING(ComponentMonitorHelper.INSTANTIATING) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, ctorToString((Constructor<?>) slot.a));
+      }
+    },
+
+    INSTANTIATED(ComponentMonitorHelper.INSTANTIATED) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, ctorToString((Constructor<?>) slot.a), slot.duration,
+            ((Class<?>) slot.b).getName(), parmsToString((Object[]) slot.c));
+      }
+    },
+
+    INSTANTIATION_FAILED(ComponentMonitorHelper.INSTANTIATION_FAILED) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, ctorToString((Constructor<?>) slot.a),
+            ((Exception) slot.b).getMessage());
+      }
+    },
+
+    INVOKING(ComponentMonitorHelper.INVOKING) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, memberToString((Member) slot.a), slot.b);
+      }
+    },
+
+    INVOKED(ComponentMonitorHelper.INVOKED) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, methodToString((Member) slot.a), slot.b, slot.duration);
+      }
+    },
+
+    INVOCATION_FAILED(ComponentMonitorHelper.INVOCATION_FAILED) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, memberToString((Member) slot.a), slot.b,
+            ((Exception) slot.c).getMessage());
+      }
+    },
+
+    LIFECYCLE_INVOCATION_FAILED(ComponentMonitorHelper.LIFECYCLE_INVOCATION_FAILED) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, methodToString((Member) slot.a), slot.b,
+            ((Exception) slot.c).getMessage());
+      }
+    },
+
+    LOCK_WAITED(ComponentMonitorHelper.LOCK_WAITED) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, slot.a, slot.duration);
+      }
+    },
+
+    NO_COMPONENT(ComponentMonitorHelper.NO_COMPONENT) {
+      @Override
+      String format(final Slot slot) {
+        return ComponentMonitorHelper.format(template, slot.a);
+      }
+    };
+
+    final String template;
+
+    Line(final String template) {
+      this.template = template;
+    }
+
+    abstract String format(Slot slot);
+  }
+
+  /**
+   * An event as enqueued: no formatting happens until it is written.
+   */
+  private static final class Slot {
+    Line line;
+    Object a;
+    Object b;
+    Object c;
+    long duration;
+
+    void clear() {
+      line = null;
+      a = null;
+      b = null;
+      c = null;
+    }
+  }
+
+  /**
+   * A bounded queue for many threads to put events in and one to take them from, without locks: a slot is claimed
+   * by moving the tail forward, and handed over through its sequence number once filled.
+   */
+  private static final class RingBuffer {
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    private volatile long head;
+
+    RingBuffer(final int capacity) {
+      final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+      slots = new Slot[size];
+      sequences = new AtomicLongArray(size);
+      mask = size - 1;
+
+      for (int i = 0; i < size; i++) {
+        slots[i] = new Slot();
+        sequences.set(i, i);
+      }
+    }
+
+    boolean offer(final Line line, final Object a, final Object b, final Object c, final long duration) {
+      while (true) {
+        final long position = tail.get();
+        final int index = (int) position & mask;
+        final long sequence = sequences.get(index);
+
+        if (sequence < position) {
+          // Not yet taken since the last time around
+          return false;
+        }
+
+        if (sequence == position && tail.compareAndSet(position, position + 1)) {
+          final Slot slot = slots[index];
+          slot.line = line;
+          slot.a = a;
+          slot.b = b;
+          slot.c = c;
+          slot.duration = duration;
+          sequences.set(index, position + 1);
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Only ever called by the writer thread.
+     */
+    boolean poll(final Slot into) {
+      final long position = head;
+      final int index = (int) position & mask;
+
+      if (sequences.get(index) != position + 1) {
+        return false;
+      }
+
+      final Slot slot = slots[index];
+      into.line = slot.line;
+      into.a = slot.a;
+      into.b = slot.b;
+      into.c = slot.c;
+      into.duration = slot.duration;
+      slot.clear();
+      sequences.set(index, position + slots.length);
+      head = position + 1;
+      return true;
+    }
+
+    boolean isEmpty() {
+      return tail.get() == head;
+    }
+
+    /**
+     * @return how many events were claimed so far, some of them possibly being filled still.
+     */
+    long published() {
+      return tail.get();
+    }
+  }
+}
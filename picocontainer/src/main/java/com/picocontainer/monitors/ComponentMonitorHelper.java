@@ -17,6 +17,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An abstract {@link ComponentMonitor} which supports all the message formats.
@@ -31,8 +32,18 @@ public final class ComponentMonitorHelper {
   public static final String INVOKED = "PicoContainer: invoked {0} on {1} [{2} ms]";
   public static final String INVOCATION_FAILED = "PicoContainer: invocation failed: {0} on {1}, reason: {2}";
   public static final String LIFECYCLE_INVOCATION_FAILED = "PicoContainer: lifecycle invocation failed: {0} on {1}, reason: {2}";
+  public static final String LOCK_WAITED = "PicoContainer: waited for lock on {0} [{1} ns]";
   public static final String NO_COMPONENT = "PicoContainer: No component for key: {0}";
 
+  /**
+   * @param start a {@link System#nanoTime()}
+   *
+   * @return the milliseconds elapsed since then, the unit durations are reported in.
+   */
+  public static long millisSince(final long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
   public static String format(final String template, final Object... arguments) {
     return MessageFormat.format(template, arguments);
   }
@@ -28,6 +28,15 @@ public class ComposingMonitor extends AbstractComponentMonitor {
     this.composers = composers;
   }
 
+  /**
+   * Monitors what the delegate monitors, composing does not need any event. Subclasses handling the events that can be
+   * left out override this.
+   */
+  @Override
+  public boolean isMonitoring(final Event event) {
+    return currentMonitor().isMonitoring(event);
+  }
+
   @Override
   public Object noComponentFound(final MutablePicoContainer container, final Object key) {
     for (final Composer composer : composers) {
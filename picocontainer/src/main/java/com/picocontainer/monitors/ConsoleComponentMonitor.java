@@ -76,6 +76,16 @@ public class ConsoleComponentMonitor implements ComponentMonitor, Serializable {
     this.delegate = delegate;
   }
 
+  @Override
+  public void resolving(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolving(container, componentAdapter);
+  }
+
+  @Override
+  public void resolved(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolved(container, componentAdapter);
+  }
+
   @Override
   public <T> Constructor<T> instantiating(
       final PicoContainer container,
@@ -201,6 +211,22 @@ public class ConsoleComponentMonitor implements ComponentMonitor, Serializable {
     delegate.lifecycleInvocationFailed(container, componentAdapter, method, instance, cause);
   }
 
+  @Override
+  public void lockWaited(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long waited) {
+    out.println(ComponentMonitorHelper.format(ComponentMonitorHelper.LOCK_WAITED, componentAdapter.getComponentKey(), waited));
+    delegate.lockWaited(container, componentAdapter, waited);
+  }
+
+  @Override
+  public void containerStarting(final PicoContainer container) {
+    delegate.containerStarting(container);
+  }
+
+  @Override
+  public void containerStarted(final PicoContainer container, final long duration) {
+    delegate.containerStarted(container, duration);
+  }
+
   @Override
   public Object noComponentFound(final MutablePicoContainer container, final Object key) {
     out.println(ComponentMonitorHelper.format(ComponentMonitorHelper.NO_COMPONENT, key));
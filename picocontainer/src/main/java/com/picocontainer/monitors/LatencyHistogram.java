@@ -0,0 +1,165 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of durations in nanoseconds, with buckets growing exponentially the way HDR histograms do:
+ * each power of two is split in {@value #SUB_BUCKETS} buckets, so that a value is known to within 25%, from a
+ * nanosecond up to about 18 minutes. Longer durations fall in the last bucket.
+ * <p>
+ * Recording never blocks: counts are kept in {@link LongAdder}s and in an {@link AtomicLongArray} of buckets.
+ * </p>
+ */
+@SuppressWarnings("serial")
+public final class LatencyHistogram implements Serializable {
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40;
+  static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  /**
+   * @param nanos a duration, negative ones count as zero.
+   */
+  public void record(final long nanos) {
+    final long value = Math.max(nanos, 0L);
+    count.increment();
+    sum.add(value);
+    buckets.incrementAndGet(bucketOf(value));
+
+    long known = max.get();
+
+    while (value > known && !max.compareAndSet(known, value)) {
+      known = max.get();
+    }
+  }
+
+  /**
+   * @return a consistent enough copy: recordings made while it is taken may be partly in it.
+   */
+  public Snapshot snapshot() {
+    final long[] counts = new long[BUCKETS];
+
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = buckets.get(i);
+    }
+
+    return new Snapshot(count.sum(), sum.sum(), max.get(), counts);
+  }
+
+  static int bucketOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+
+    final int subBucket = (int) (value >>> exponent - SUB_BUCKET_BITS) & SUB_BUCKETS - 1;
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * @return the lowest value of a bucket.
+   */
+  static long lowestOf(final int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << exponent - SUB_BUCKET_BITS;
+  }
+
+  /**
+   * The recordings of a histogram at some point.
+   */
+  public static final class Snapshot implements Serializable {
+    private final long count;
+    private final long sum;
+    private final long max;
+    private final long[] buckets;
+
+    Snapshot(final long count, final long sum, final long max, final long[] buckets) {
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+      this.buckets = buckets;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * @return the sum of the recorded durations, in nanoseconds.
+     */
+    public long getSum() {
+      return sum;
+    }
+
+    /**
+     * @return the longest recorded duration, in nanoseconds.
+     */
+    public long getMax() {
+      return max;
+    }
+
+    /**
+     * @return the mean of the recorded durations, in nanoseconds, 0 if there are none.
+     */
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     *
+     * @return the highest duration, in nanoseconds, of the bucket holding the given percentile, or the longest
+     *     duration if that is lower. 0 if there are no recordings.
+     */
+    public long getValueAtPercentile(final double percentile) {
+      long total = 0;
+
+      for (final long bucket : buckets) {
+        total += bucket;
+      }
+
+      if (total == 0) {
+        return 0;
+      }
+
+      final long rank = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+      long seen = 0;
+
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+
+        if (seen >= rank) {
+          final long highest = i == buckets.length - 1 ? Long.MAX_VALUE : lowestOf(i + 1) - 1;
+          return Math.min(highest, max);
+        }
+      }
+
+      return max;
+    }
+  }
+}
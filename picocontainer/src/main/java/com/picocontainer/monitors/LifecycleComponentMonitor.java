@@ -48,6 +48,21 @@ public final class LifecycleComponentMonitor implements ComponentMonitor {
     this(new NullComponentMonitor());
   }
 
+  @Override
+  public boolean isMonitoring(final Event event) {
+    return delegate.isMonitoring(event);
+  }
+
+  @Override
+  public void resolving(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolving(container, componentAdapter);
+  }
+
+  @Override
+  public void resolved(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolved(container, componentAdapter);
+  }
+
   @Override
   public <T> Constructor<T> instantiating(
       final PicoContainer container,
@@ -94,7 +109,7 @@ public final class LifecycleComponentMonitor implements ComponentMonitor {
       final Object instance,
       final long duration,
       final Object retVal,
-      final Object[] args) {
+      final Object... args) {
     delegate.invoked(container, componentAdapter, member, instance, duration, retVal, args);
   }
 
@@ -119,6 +134,21 @@ public final class LifecycleComponentMonitor implements ComponentMonitor {
     }
   }
 
+  @Override
+  public void lockWaited(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long waited) {
+    delegate.lockWaited(container, componentAdapter, waited);
+  }
+
+  @Override
+  public void containerStarting(final PicoContainer container) {
+    delegate.containerStarting(container);
+  }
+
+  @Override
+  public void containerStarted(final PicoContainer container, final long duration) {
+    delegate.containerStarted(container, duration);
+  }
+
   @Override
   public Object noComponentFound(final MutablePicoContainer container, final Object key) {
     return delegate.noComponentFound(container, key);
@@ -0,0 +1,297 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoContainer;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ComponentMonitor} that aggregates numbers instead of reporting each event: per component key, the
+ * durations of instantiations, of calls to hidden or intercepted components and to injected members, of lifecycle
+ * methods and of waits for locks, and how many times no component was found for a key.
+ * <p>
+ * Recording takes no lock, durations go to {@link LatencyHistogram}s. What was recorded is read with
+ * {@link #snapshot()}, and written out by a {@link MetricsExporter}, or through JMX by registering the monitor as the
+ * {@link MetricsComponentMonitorMBean standard MBean} it is.
+ * </p>
+ * <p>
+ * Durations are measured by the monitor itself, in nanoseconds, between the event telling something is about to
+ * happen and the one telling it did. Every event is passed on to the delegate.
+ * </p>
+ */
+@SuppressWarnings("serial")
+public class MetricsComponentMonitor extends AbstractComponentMonitor implements MetricsComponentMonitorMBean {
+  /**
+   * The kinds of durations recorded.
+   */
+  public enum Kind {
+    INSTANTIATION,
+
+    /**
+     * Calls to hidden or intercepted components, and to the members injectors inject into.
+     */
+    INVOCATION,
+
+    /**
+     * Calls to lifecycle methods, keyed by the class of the component.
+     */
+    LIFECYCLE,
+
+    /**
+     * Waits for the locks of locking behaviors.
+     */
+    LOCK_WAIT
+  }
+
+  private final EnumMap<Kind, ConcurrentHashMap<Object, LatencyHistogram>> latencies = new EnumMap<>(Kind.class);
+  private final ConcurrentHashMap<Object, LongAdder> misses = new ConcurrentHashMap<>();
+  private transient ThreadLocal<Timings> timings = ThreadLocal.withInitial(Timings::new);
+
+  public MetricsComponentMonitor(final ComponentMonitor delegate) {
+    super(delegate);
+
+    for (final Kind kind : Kind.values()) {
+      latencies.put(kind, new ConcurrentHashMap<>());
+    }
+  }
+
+  public MetricsComponentMonitor() {
+    this(new NullComponentMonitor());
+  }
+
+  @Override
+  public <T> Constructor<T> instantiating(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor) {
+    final Constructor<T> result = super.instantiating(container, componentAdapter, constructor);
+    timings.get().start(componentAdapter);
+    return result;
+  }
+
+  @Override
+  public <T> void instantiated(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Object instantiated,
+      final Object[] injected,
+      final long duration) {
+    record(Kind.INSTANTIATION, componentAdapter.getComponentKey(), timings.get().stop(componentAdapter), duration);
+    super.instantiated(container, componentAdapter, constructor, instantiated, injected, duration);
+  }
+
+  @Override
+  public <T> void instantiationFailed(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Exception e) {
+    timings.get().stop(componentAdapter);
+    super.instantiationFailed(container, componentAdapter, constructor, e);
+  }
+
+  @Override
+  public Object invoking(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final Object... args) {
+    final Object result = super.invoking(container, componentAdapter, member, instance, args);
+
+    // Otherwise the member is not called, and there will be no invoked event
+    if (result == KEEP) {
+      timings.get().start(member);
+    }
+
+    return result;
+  }
+
+  @Override
+  public void invoked(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final long duration,
+      final Object retVal,
+      final Object... args) {
+    final long nanos = timings.get().stop(member);
+
+    if (componentAdapter == null) {
+      record(Kind.LIFECYCLE, instance == null ? member.getDeclaringClass() : instance.getClass(), nanos, duration);
+    } else {
+      record(Kind.INVOCATION, componentAdapter.getComponentKey(), nanos, duration);
+    }
+
+    super.invoked(container, componentAdapter, member, instance, duration, retVal, args);
+  }
+
+  @Override
+  public void invocationFailed(final Member member, final Object instance, final Exception e) {
+    timings.get().stop(member);
+    super.invocationFailed(member, instance, e);
+  }
+
+  @Override
+  public void lifecycleInvocationFailed(
+      final MutablePicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Method method,
+      final Object instance,
+      final RuntimeException cause) {
+    timings.get().stop(method);
+    super.lifecycleInvocationFailed(container, componentAdapter, method, instance, cause);
+  }
+
+  @Override
+  public void lockWaited(@Nullable final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long waited) {
+    histogram(Kind.LOCK_WAIT, componentAdapter.getComponentKey()).record(waited);
+    super.lockWaited(container, componentAdapter, waited);
+  }
+
+  @Override
+  public Object noComponentFound(final MutablePicoContainer container, final Object key) {
+    misses.computeIfAbsent(key, k -> new LongAdder()).increment();
+    return super.noComponentFound(container, key);
+  }
+
+  /**
+   * @return what was recorded so far.
+   */
+  public MetricsSnapshot snapshot() {
+    final EnumMap<Kind, Map<Object, LatencyHistogram.Snapshot>> latencySnapshots = new EnumMap<>(Kind.class);
+
+    for (final Map.Entry<Kind, ConcurrentHashMap<Object, LatencyHistogram>> ofKind : latencies.entrySet()) {
+      final Map<Object, LatencyHistogram.Snapshot> snapshots = new HashMap<>();
+
+      for (final Map.Entry<Object, LatencyHistogram> entry : ofKind.getValue().entrySet()) {
+        snapshots.put(entry.getKey(), entry.getValue().snapshot());
+      }
+
+      latencySnapshots.put(ofKind.getKey(), snapshots);
+    }
+
+    final Map<Object, Long> missCounts = new HashMap<>();
+
+    for (final Map.Entry<Object, LongAdder> entry : misses.entrySet()) {
+      missCounts.put(entry.getKey(), entry.getValue().sum());
+    }
+
+    return new MetricsSnapshot(latencySnapshots, missCounts);
+  }
+
+  /**
+   * Writes what was recorded so far.
+   */
+  public void export(final MetricsExporter exporter) throws IOException {
+    exporter.export(snapshot());
+  }
+
+  @Override
+  public String getMetricsAsText() {
+    return exportToString(false);
+  }
+
+  @Override
+  public String getMetricsAsJson() {
+    return exportToString(true);
+  }
+
+  @Override
+  public void reset() {
+    for (final ConcurrentHashMap<Object, LatencyHistogram> ofKind : latencies.values()) {
+      ofKind.clear();
+    }
+
+    misses.clear();
+  }
+
+  private String exportToString(final boolean json) {
+    final StringBuilder sb = new StringBuilder();
+
+    try {
+      export(json ? MetricsExporters.json(sb) : MetricsExporters.text(sb));
+    } catch (final IOException e) {
+      // A StringBuilder does not throw
+      throw new IllegalStateException(e);
+    }
+
+    return sb.toString();
+  }
+
+  private void record(final Kind kind, final Object key, final long nanos, final long millis) {
+    histogram(kind, key).record(nanos < 0 ? millis * 1_000_000L : nanos);
+  }
+
+  private LatencyHistogram histogram(final Kind kind, final Object key) {
+    final ConcurrentHashMap<Object, LatencyHistogram> ofKind = latencies.get(kind);
+    final LatencyHistogram histogram = ofKind.get(key);
+    return histogram != null ? histogram : ofKind.computeIfAbsent(key, k -> new LatencyHistogram());
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    timings = ThreadLocal.withInitial(Timings::new);
+  }
+
+  /**
+   * When the events of a thread started, events for dependencies and nested calls being stacked on top of the ones
+   * they happen within.
+   */
+  private static final class Timings {
+    private Object[] subjects = new Object[8];
+    private long[] starts = new long[8];
+    private int depth;
+
+    void start(final Object subject) {
+      if (depth == subjects.length) {
+        subjects = Arrays.copyOf(subjects, depth * 2);
+        starts = Arrays.copyOf(starts, depth * 2);
+      }
+
+      subjects[depth] = subject;
+      starts[depth++] = System.nanoTime();
+    }
+
+    /**
+     * Unstacks the subject, along with whatever was started after it and never stopped.
+     *
+     * @return the nanoseconds since the subject started, -1 if it was not started.
+     */
+    long stop(final Object subject) {
+      for (int i = depth - 1; i >= 0; i--) {
+        if (subjects[i] == subject) {
+          final long nanos = System.nanoTime() - starts[i];
+          Arrays.fill(subjects, i, depth, null);
+          depth = i;
+          return nanos;
+        }
+      }
+
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+/**
+ * The management interface of a {@link MetricsComponentMonitor}, for it to be registered as a standard MBean.
+ */
+public interface MetricsComponentMonitorMBean {
+  /**
+   * @see MetricsExporters#text(Appendable)
+   */
+  String getMetricsAsText();
+
+  /**
+   * @see MetricsExporters#json(Appendable)
+   */
+  String getMetricsAsJson();
+
+  /**
+   * Forgets everything recorded so far.
+   */
+  void reset();
+}
@@ -0,0 +1,20 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link MetricsSnapshot} somewhere dashboards can pick it up.
+ *
+ * @see MetricsExporters
+ */
+public interface MetricsExporter {
+  void export(MetricsSnapshot snapshot) throws IOException;
+}
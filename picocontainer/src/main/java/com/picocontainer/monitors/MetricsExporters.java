@@ -0,0 +1,107 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The available {@link MetricsExporter}s.
+ */
+public final class MetricsExporters {
+  private MetricsExporters() {
+  }
+
+  /**
+   * @return an exporter writing one line per component key and kind of event, durations in microseconds.
+   */
+  public static MetricsExporter text(final Appendable out) {
+    return snapshot -> {
+      for (final MetricsComponentMonitor.Kind kind : MetricsComponentMonitor.Kind.values()) {
+        for (final Map.Entry<Object, LatencyHistogram.Snapshot> entry : snapshot.getLatencies(kind).entrySet()) {
+          final LatencyHistogram.Snapshot latency = entry.getValue();
+          out.append(String.format(Locale.ROOT, "%s %s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n",
+              kind.name().toLowerCase(Locale.ROOT),
+              entry.getKey(),
+              latency.getCount(),
+              latency.getMean() / 1000,
+              latency.getValueAtPercentile(50) / 1000.0,
+              latency.getValueAtPercentile(99) / 1000.0,
+              latency.getMax() / 1000.0));
+        }
+      }
+
+      for (final Map.Entry<Object, Long> entry : snapshot.getMisses().entrySet()) {
+        out.append(String.format(Locale.ROOT, "miss %s count=%d%n", entry.getKey(), entry.getValue()));
+      }
+    };
+  }
+
+  /**
+   * @return an exporter writing a JSON object with a member per kind of event, each with a member per component key,
+   *     and a {@code miss} member. Durations are in nanoseconds.
+   */
+  public static MetricsExporter json(final Appendable out) {
+    return snapshot -> {
+      out.append('{');
+
+      for (final MetricsComponentMonitor.Kind kind : MetricsComponentMonitor.Kind.values()) {
+        out.append('"').append(kind.name().toLowerCase(Locale.ROOT)).append("\":{");
+        String separator = "";
+
+        for (final Map.Entry<Object, LatencyHistogram.Snapshot> entry : snapshot.getLatencies(kind).entrySet()) {
+          final LatencyHistogram.Snapshot latency = entry.getValue();
+          out.append(separator);
+          quote(out, String.valueOf(entry.getKey()));
+          out.append(":{\"count\":").append(Long.toString(latency.getCount()))
+              .append(",\"sum\":").append(Long.toString(latency.getSum()))
+              .append(",\"p50\":").append(Long.toString(latency.getValueAtPercentile(50)))
+              .append(",\"p90\":").append(Long.toString(latency.getValueAtPercentile(90)))
+              .append(",\"p99\":").append(Long.toString(latency.getValueAtPercentile(99)))
+              .append(",\"max\":").append(Long.toString(latency.getMax()))
+              .append('}');
+          separator = ",";
+        }
+
+        out.append("},");
+      }
+
+      out.append("\"miss\":{");
+      String separator = "";
+
+      for (final Map.Entry<Object, Long> entry : snapshot.getMisses().entrySet()) {
+        out.append(separator);
+        quote(out, String.valueOf(entry.getKey()));
+        out.append(':').append(Long.toString(entry.getValue()));
+        separator = ",";
+      }
+
+      out.append("}}");
+    };
+  }
+
+  private static void quote(final Appendable out, final String value) throws IOException {
+    out.append('"');
+
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+
+      if (c == '"' || c == '\\') {
+        out.append('\\').append(c);
+      } else if (c < ' ') {
+        out.append(String.format("\\u%04x", (int) c));
+      } else {
+        out.append(c);
+      }
+    }
+
+    out.append('"');
+  }
+}
@@ -0,0 +1,48 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What a {@link MetricsComponentMonitor} recorded, per component key, at some point.
+ *
+ * @see MetricsExporter
+ */
+@SuppressWarnings("serial")
+public final class MetricsSnapshot implements Serializable {
+  private final Map<MetricsComponentMonitor.Kind, Map<Object, LatencyHistogram.Snapshot>> latencies;
+  private final Map<Object, Long> misses;
+
+  MetricsSnapshot(
+      final EnumMap<MetricsComponentMonitor.Kind, Map<Object, LatencyHistogram.Snapshot>> latencies,
+      final Map<Object, Long> misses) {
+    this.latencies = Collections.unmodifiableMap(latencies);
+    this.misses = Collections.unmodifiableMap(misses);
+  }
+
+  /**
+   * @return the durations of some kind of event, by component key. Lifecycle methods are keyed by the class of the
+   *     component, as lifecycle strategies do not know its key.
+   */
+  public Map<Object, LatencyHistogram.Snapshot> getLatencies(final MetricsComponentMonitor.Kind kind) {
+    final Map<Object, LatencyHistogram.Snapshot> ofKind = latencies.get(kind);
+    return ofKind == null ? Collections.emptyMap() : ofKind;
+  }
+
+  /**
+   * @return how many times no component was found for a key a dependency asked for.
+   */
+  public Map<Object, Long> getMisses() {
+    return misses;
+  }
+}
@@ -32,6 +32,15 @@ import java.lang.reflect.Method;
  */
 @SuppressWarnings("serial")
 public class NullComponentMonitor implements ComponentMonitor, Serializable {
+  /**
+   * Monitors nothing, unless subclassed: subclasses are taken to monitor every event unless they say otherwise.
+   * Mocks of this class are subclasses too, and have to be told whether they monitor.
+   */
+  @Override
+  public boolean isMonitoring(final Event event) {
+    return getClass() != NullComponentMonitor.class;
+  }
+
   @Override
   public <T> Constructor<T> instantiating(
       final PicoContainer container,
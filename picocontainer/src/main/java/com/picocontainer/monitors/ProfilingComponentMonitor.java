@@ -0,0 +1,348 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoContainer;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ComponentMonitor} that profiles the start of containers, to tell which components the time goes to.
+ * <p>
+ * While a container starts, it records which component got which other one instantiated, how long the lifecycle
+ * methods took, and for each component the time spent on reflection, in its constructor, and in total. Once the
+ * outermost container started, the {@link StartupProfile} is written, as collapsed stacks for flame graph tools and
+ * as a summary of the components that took the most time themselves. Outside of starts, events are only passed on to
+ * the delegate.
+ * </p>
+ * <p>
+ * Components are timed from the {@link #resolving} to the {@link #resolved} event of their injectors. The components
+ * of injectors that do not send those are timed from {@link #instantiating} to {@link #instantiated}.
+ * </p>
+ */
+@SuppressWarnings("serial")
+public class ProfilingComponentMonitor extends AbstractComponentMonitor {
+  public static final int DEFAULT_TOP = 20;
+
+  @Nullable
+  private final transient Writer collapsedStacks;
+  @Nullable
+  private final transient Writer summary;
+  private final int top;
+  private final AtomicInteger starting = new AtomicInteger();
+  private final List<StartupProfile.Frame> roots = new ArrayList<>();
+  private transient ThreadLocal<ArrayDeque<Probe>> probes = ThreadLocal.withInitial(ArrayDeque::new);
+  @Nullable
+  private transient volatile StartupProfile lastProfile;
+  @Nullable
+  private transient volatile IOException lastWriteFailure;
+
+  /**
+   * @param collapsedStacks where to write the collapsed stacks, null not to.
+   * @param summary where to write the summary, null not to.
+   * @param top how many frames the summary lists.
+   */
+  public ProfilingComponentMonitor(
+      final ComponentMonitor delegate,
+      @Nullable final Writer collapsedStacks,
+      @Nullable final Writer summary,
+      final int top) {
+    super(delegate);
+    this.collapsedStacks = collapsedStacks;
+    this.summary = summary;
+    this.top = top;
+  }
+
+  public ProfilingComponentMonitor(@Nullable final Writer collapsedStacks, @Nullable final Writer summary) {
+    this(new NullComponentMonitor(), collapsedStacks, summary, DEFAULT_TOP);
+  }
+
+  /**
+   * Only keeps the profile, for {@link #getLastProfile()}.
+   */
+  public ProfilingComponentMonitor() {
+    this(null, null);
+  }
+
+  @Override
+  public void containerStarting(final PicoContainer container) {
+    if (starting.getAndIncrement() == 0) {
+      synchronized (roots) {
+        roots.clear();
+      }
+    }
+
+    final String name = container instanceof MutablePicoContainer ? ((MutablePicoContainer) container).getName() : null;
+    probes.get().push(new Probe("start " + (name != null ? name : "container"), container));
+    super.containerStarting(container);
+  }
+
+  @Override
+  public void containerStarted(final PicoContainer container, final long duration) {
+    end(container);
+
+    if (starting.decrementAndGet() == 0) {
+      final StartupProfile profile;
+
+      synchronized (roots) {
+        profile = new StartupProfile(roots);
+        roots.clear();
+      }
+
+      lastProfile = profile;
+      write(profile);
+    }
+
+    super.containerStarted(container, duration);
+  }
+
+  @Override
+  public void resolving(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    if (starting.get() > 0) {
+      probes.get().push(new Probe(nameOf(componentAdapter.getComponentKey()), componentAdapter));
+    }
+
+    super.resolving(container, componentAdapter);
+  }
+
+  @Override
+  public void resolved(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    end(componentAdapter);
+    super.resolved(container, componentAdapter);
+  }
+
+  @Override
+  public <T> Constructor<T> instantiating(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor) {
+    final Constructor<T> result = super.instantiating(container, componentAdapter, constructor);
+
+    if (starting.get() > 0) {
+      final ArrayDeque<Probe> stack = probes.get();
+      Probe probe = stack.peek();
+
+      if (probe == null || probe.subject != componentAdapter) {
+        probe = new Probe(nameOf(componentAdapter.getComponentKey()), componentAdapter);
+        probe.implicit = true;
+        stack.push(probe);
+      }
+
+      probe.instantiating = System.nanoTime();
+      probe.childrenBeforeInstantiating = probe.children;
+    }
+
+    return result;
+  }
+
+  @Override
+  public <T> void instantiated(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Object instantiated,
+      final Object[] injected,
+      final long duration) {
+    final Probe probe = probes.get().peek();
+
+    if (probe != null && probe.subject == componentAdapter && probe.instantiating != 0) {
+      final long now = System.nanoTime();
+      probe.frame.reflection = Math.max(0, probe.instantiating - probe.start - probe.childrenBeforeInstantiating);
+      probe.frame.construction = now - probe.instantiating - (probe.children - probe.childrenBeforeInstantiating);
+
+      if (probe.implicit) {
+        end(componentAdapter);
+      }
+    }
+
+    super.instantiated(container, componentAdapter, constructor, instantiated, injected, duration);
+  }
+
+  @Override
+  public <T> void instantiationFailed(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Exception e) {
+    final Probe probe = probes.get().peek();
+
+    if (probe != null && probe.subject == componentAdapter && probe.implicit) {
+      end(componentAdapter);
+    }
+
+    super.instantiationFailed(container, componentAdapter, constructor, e);
+  }
+
+  @Override
+  public Object invoking(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final Object... args) {
+    final Object result = super.invoking(container, componentAdapter, member, instance, args);
+
+    // Lifecycle methods are the ones called without an adapter, and there is no invoked event unless kept
+    if (componentAdapter == null && result == KEEP && starting.get() > 0) {
+      final String type = instance == null ? member.getDeclaringClass().getName() : instance.getClass().getName();
+      probes.get().push(new Probe(type + "." + member.getName(), member));
+    }
+
+    return result;
+  }
+
+  @Override
+  public void invoked(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final long duration,
+      final Object retVal,
+      final Object... args) {
+    endIfInnermost(member);
+    super.invoked(container, componentAdapter, member, instance, duration, retVal, args);
+  }
+
+  @Override
+  public void invocationFailed(final Member member, final Object instance, final Exception e) {
+    endIfInnermost(member);
+    super.invocationFailed(member, instance, e);
+  }
+
+  @Override
+  public void lifecycleInvocationFailed(
+      final MutablePicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Method method,
+      final Object instance,
+      final RuntimeException cause) {
+    endIfInnermost(method);
+    super.lifecycleInvocationFailed(container, componentAdapter, method, instance, cause);
+  }
+
+  /**
+   * @return the profile of the last start, null if no container started yet.
+   */
+  @Nullable
+  public StartupProfile getLastProfile() {
+    return lastProfile;
+  }
+
+  private void endIfInnermost(final Object subject) {
+    final Probe probe = probes.get().peek();
+
+    if (probe != null && probe.subject == subject) {
+      end(subject);
+    }
+  }
+
+  /**
+   * Ends the probe of the subject, along with those started after it and never ended.
+   */
+  private void end(final Object subject) {
+    final ArrayDeque<Probe> stack = probes.get();
+
+    if (stack.stream().noneMatch(probe -> probe.subject == subject)) {
+      return;
+    }
+
+    final long now = System.nanoTime();
+    Probe probe;
+
+    do {
+      probe = stack.pop();
+      final long total = now - probe.start;
+      probe.frame.count = 1;
+      probe.frame.total = total;
+      probe.frame.self = total - probe.children;
+
+      final Probe parent = stack.peek();
+
+      if (parent != null) {
+        parent.children += total;
+        parent.frame.children.add(probe.frame);
+      } else {
+        synchronized (roots) {
+          roots.add(probe.frame);
+        }
+      }
+    } while (probe.subject != subject);
+  }
+
+  /**
+   * @return why the profile of the last start could not be written, null if it could.
+   */
+  @Nullable
+  public IOException getLastWriteFailure() {
+    return lastWriteFailure;
+  }
+
+  /**
+   * Writes the profile. This happens when the container is done starting, possibly because it failed to,
+   * so a failure to write must not hide the outcome of the start; it is kept for {@link #getLastWriteFailure()}.
+   */
+  private void write(final StartupProfile profile) {
+    lastWriteFailure = null;
+
+    try {
+      if (collapsedStacks != null) {
+        profile.writeCollapsedStacks(collapsedStacks);
+        collapsedStacks.flush();
+      }
+
+      if (summary != null) {
+        profile.writeSummary(summary, top);
+        summary.flush();
+      }
+    } catch (final IOException e) {
+      lastWriteFailure = e;
+    }
+  }
+
+  private static String nameOf(final Object key) {
+    return key instanceof Class ? ((Class<?>) key).getName() : String.valueOf(key);
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    probes = ThreadLocal.withInitial(ArrayDeque::new);
+  }
+
+  /**
+   * A frame being recorded.
+   */
+  private static final class Probe {
+    final StartupProfile.Frame frame;
+    final Object subject;
+    final long start = System.nanoTime();
+    boolean implicit;
+    long instantiating;
+    long childrenBeforeInstantiating;
+    long children;
+
+    Probe(final String name, final Object subject) {
+      this.frame = new StartupProfile.Frame(name);
+      this.subject = subject;
+    }
+  }
+}
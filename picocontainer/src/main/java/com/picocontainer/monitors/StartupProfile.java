@@ -0,0 +1,170 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timed tree of what happened while a container started, as recorded by a {@link ProfilingComponentMonitor}:
+ * the start of the container, the components it instantiated, the dependencies those got, and the lifecycle methods
+ * called.
+ */
+public final class StartupProfile {
+  private final List<Frame> roots;
+
+  StartupProfile(final List<Frame> roots) {
+    this.roots = Collections.unmodifiableList(new ArrayList<>(roots));
+  }
+
+  /**
+   * @return the frames that were not within another one of their thread, usually the start of the container, and the
+   *     components started by other threads.
+   */
+  public List<Frame> getRoots() {
+    return roots;
+  }
+
+  /**
+   * Writes one line per distinct path from a root, its frames separated by semicolons, followed by the microseconds
+   * spent in the innermost frame itself: the collapsed stacks that flame graph tools read.
+   */
+  public void writeCollapsedStacks(final Appendable out) throws IOException {
+    final Map<String, Long> stacks = new LinkedHashMap<>();
+
+    for (final Frame root : roots) {
+      collapse(root, "", stacks);
+    }
+
+    for (final Map.Entry<String, Long> stack : stacks.entrySet()) {
+      if (stack.getValue() > 0) {
+        out.append(stack.getKey()).append(' ').append(String.valueOf(stack.getValue())).append('\n');
+      }
+    }
+  }
+
+  /**
+   * Writes the frames that took the most time themselves, those of the same name added up.
+   *
+   * @param top how many frames to write
+   */
+  public void writeSummary(final Appendable out, final int top) throws IOException {
+    final Map<String, Frame> byName = new LinkedHashMap<>();
+
+    for (final Frame root : roots) {
+      sum(root, byName);
+    }
+
+    final List<Frame> sums = new ArrayList<>(byName.values());
+    sums.sort((a, b) -> Long.compare(b.self, a.self));
+
+    out.append(String.format(Locale.ROOT, "%12s %12s %12s %12s %6s  %s%n",
+        "self ms", "total ms", "reflection ms", "ctor ms", "count", "frame"));
+
+    for (final Frame sum : sums.subList(0, Math.min(top, sums.size()))) {
+      out.append(String.format(Locale.ROOT, "%12.3f %12.3f %12.3f %12.3f %6d  %s%n",
+          millis(sum.self), millis(sum.total), millis(sum.reflection), millis(sum.construction), sum.count, sum.name));
+    }
+  }
+
+  private static void collapse(final Frame frame, final String path, final Map<String, Long> stacks) {
+    final String stack = path + frame.name.replace(';', ',').replace('\n', ' ');
+    stacks.merge(stack, TimeUnit.NANOSECONDS.toMicros(frame.self), Long::sum);
+
+    for (final Frame child : frame.children) {
+      collapse(child, stack + ";", stacks);
+    }
+  }
+
+  private static void sum(final Frame frame, final Map<String, Frame> byName) {
+    final Frame sum = byName.computeIfAbsent(frame.name, Frame::new);
+    sum.count++;
+    sum.total += frame.total;
+    sum.self += frame.self;
+    sum.reflection += frame.reflection;
+    sum.construction += frame.construction;
+
+    for (final Frame child : frame.children) {
+      sum(child, byName);
+    }
+  }
+
+  private static double millis(final long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  /**
+   * The instantiation of a component, the call of a lifecycle method or the start of a container. Times are in
+   * nanoseconds.
+   */
+  public static final class Frame {
+    final String name;
+    final List<Frame> children = new ArrayList<>();
+    int count;
+    long total;
+    long self;
+    long reflection;
+    long construction;
+
+    Frame(final String name) {
+      this.name = name;
+    }
+
+    /**
+     * @return the key of the component, the lifecycle method or the name of the container.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the frames that happened within this one, on the same thread.
+     */
+    public List<Frame> getChildren() {
+      return Collections.unmodifiableList(children);
+    }
+
+    public long getTotal() {
+      return total;
+    }
+
+    /**
+     * @return the total time, less the total time of the children.
+     */
+    public long getSelf() {
+      return self;
+    }
+
+    /**
+     * @return the time spent looking for the constructor and members to inject before instantiating, less the time
+     *     spent getting dependencies.
+     */
+    public long getReflection() {
+      return reflection;
+    }
+
+    /**
+     * @return the time spent in the constructor, less the time spent getting components from within it.
+     */
+    public long getConstruction() {
+      return construction;
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+}
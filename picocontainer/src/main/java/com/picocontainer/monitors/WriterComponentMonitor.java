@@ -43,6 +43,16 @@ public class WriterComponentMonitor implements ComponentMonitor {
     this.delegate = delegate;
   }
 
+  @Override
+  public void resolving(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolving(container, componentAdapter);
+  }
+
+  @Override
+  public void resolved(final PicoContainer container, final ComponentAdapter<?> componentAdapter) {
+    delegate.resolved(container, componentAdapter);
+  }
+
   @Override
   public <T> Constructor<T> instantiating(
       final PicoContainer container,
@@ -116,7 +126,7 @@ public class WriterComponentMonitor implements ComponentMonitor {
       final Object instance,
       final long duration,
       final Object retVal,
-      final Object[] args) {
+      final Object... args) {
     out.println(
         ComponentMonitorHelper.format(
             ComponentMonitorHelper.INVOKED,
@@ -162,6 +172,22 @@ public class WriterComponentMonitor implements ComponentMonitor {
     delegate.lifecycleInvocationFailed(container, componentAdapter, method, instance, cause);
   }
 
+  @Override
+  public void lockWaited(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long waited) {
+    out.println(ComponentMonitorHelper.format(ComponentMonitorHelper.LOCK_WAITED, componentAdapter.getComponentKey(), waited));
+    delegate.lockWaited(container, componentAdapter, waited);
+  }
+
+  @Override
+  public void containerStarting(final PicoContainer container) {
+    delegate.containerStarting(container);
+  }
+
+  @Override
+  public void containerStarted(final PicoContainer container, final long duration) {
+    delegate.containerStarted(container, duration);
+  }
+
   @Override
   public Object noComponentFound(final MutablePicoContainer container, final Object key) {
     out.println(ComponentMonitorHelper.format(ComponentMonitorHelper.NO_COMPONENT, key));
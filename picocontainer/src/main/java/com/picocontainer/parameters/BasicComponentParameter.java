@@ -163,10 +163,13 @@ public class BasicComponentParameter extends AbstractParameter implements Serial
           //can't go through all the processing we normally do.
         }
 
-        if (componentAdapter.findAdapterOfType(ProviderAdapter.class) != null && targetType.getRawType().isAssignableFrom(Provider.class)) {
-          //Target requires Provideradapter
+        if (targetType.getRawType().isAssignableFrom(Provider.class)) {
           final ProviderAdapter providerAdapter = componentAdapter.findAdapterOfType(ProviderAdapter.class);
-          return providerAdapter.getProvider();
+
+          if (providerAdapter != null) {
+            //Target requires Provideradapter
+            return providerAdapter.getProvider();
+          }
         }
 
         return convert(getConverters(container), container.getComponentInto(componentAdapter.getComponentKey(), makeInjectInto(forAdapter)), expectedType);
@@ -334,8 +337,9 @@ public class BasicComponentParameter extends AbstractParameter implements Serial
       // javax.inject.Provider -- have to compare the return type of the provider to
       // the desired type instead.
       if (!compatible) {
-        if (testValue.findAdapterOfType(ProviderAdapter.class) != null) {
-          final ProviderAdapter providerAdapter = testValue.findAdapterOfType(ProviderAdapter.class);
+        final ProviderAdapter providerAdapter = testValue.findAdapterOfType(ProviderAdapter.class);
+
+        if (providerAdapter != null) {
           return JTypeHelper.isAssignableFrom(type, providerAdapter.getProviderReturnType());
         }
       }
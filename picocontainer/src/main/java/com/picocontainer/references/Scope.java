@@ -0,0 +1,218 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.references;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * An explicit context holding the instances of {@link ScopeReference scoped} components, such as the ones of a
+ * request or a unit of work.
+ * <p>
+ * Unlike the per thread maps behind {@link ThreadLocalReference} and {@link ThreadLocalMapObjectReference}, a scope
+ * is not tied to the thread that made it: it is bound to a thread only for as long as {@link #bind()},
+ * {@link #run(Runnable)} or {@link #call(Callable)} last, and carried to other threads, or to the subtasks of a
+ * structured task scope, by {@link #wrap(Runnable)} and {@link #wrap(Callable)}. Threads that are not running in a
+ * scope hold nothing, and the instances of a scope go away when it is {@link #close() closed} or unreachable,
+ * however many threads took part in it.
+ * </p>
+ * <p>
+ * A scope can be used by several threads at the same time.
+ * </p>
+ */
+public final class Scope implements Closeable {
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private static final Object[] CLOSED = new Object[0];
+
+  /**
+   * Keys and values side by side, keys compared by identity and found by linear probing.
+   */
+  private Object[] table = new Object[8];
+  private int size;
+
+  /**
+   * @return the scope bound to the current thread, or null if there is none.
+   */
+  @Nullable
+  public static Scope current() {
+    return CURRENT.get();
+  }
+
+  static Scope required() {
+    final Scope scope = CURRENT.get();
+
+    if (scope == null) {
+      throw new IllegalStateException("No scope is bound to the current thread");
+    }
+
+    return scope;
+  }
+
+  /**
+   * Binds the scope to the current thread until the returned binding is closed, which restores the scope that was
+   * bound before, if any.
+   *
+   * @return the binding, to close in a {@code finally} block or with try-with-resources.
+   */
+  public Binding bind() {
+    final Scope previous = CURRENT.get();
+    CURRENT.set(this);
+    return new Binding(previous);
+  }
+
+  /**
+   * Runs the task with the scope bound to the current thread.
+   */
+  public void run(final Runnable task) {
+    final Binding binding = bind();
+
+    try {
+      task.run();
+    } finally {
+      binding.close();
+    }
+  }
+
+  /**
+   * Calls the task with the scope bound to the current thread.
+   */
+  public <V> V call(final Callable<V> task) throws Exception {
+    final Binding binding = bind();
+
+    try {
+      return task.call();
+    } finally {
+      binding.close();
+    }
+  }
+
+  /**
+   * @return a task that runs the given one in this scope, on whichever thread runs it.
+   */
+  public Runnable wrap(final Runnable task) {
+    return () -> run(task);
+  }
+
+  /**
+   * @return a task that calls the given one in this scope, on whichever thread calls it.
+   */
+  public <V> Callable<V> wrap(final Callable<V> task) {
+    return () -> call(task);
+  }
+
+  /**
+   * Drops every instance held by the scope, which stays usable, so that it can be reused for another request or
+   * unit of work without allocating a new one.
+   */
+  public synchronized void clear() {
+    guardNotClosed();
+    Arrays.fill(table, null);
+    size = 0;
+  }
+
+  /**
+   * Drops every instance held by the scope. The scope can't be used afterwards.
+   */
+  @Override
+  public synchronized void close() {
+    table = CLOSED;
+    size = 0;
+  }
+
+  public synchronized boolean isClosed() {
+    return table == CLOSED;
+  }
+
+  /**
+   * @return the number of instances held by the scope.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  synchronized Object get(final Object key) {
+    guardNotClosed();
+
+    final int slot = slotOf(table, key);
+    return table[slot] == null ? null : table[slot + 1];
+  }
+
+  synchronized void put(final Object key, final Object value) {
+    guardNotClosed();
+
+    int slot = slotOf(table, key);
+
+    if (table[slot] == null) {
+      if ((size + 1) * 4 > table.length) {
+        grow();
+        slot = slotOf(table, key);
+      }
+
+      table[slot] = key;
+      size++;
+    }
+
+    table[slot + 1] = value;
+  }
+
+  private void grow() {
+    final Object[] old = table;
+    table = new Object[old.length * 2];
+
+    for (int i = 0; i < old.length; i += 2) {
+      if (old[i] != null) {
+        final int slot = slotOf(table, old[i]);
+        table[slot] = old[i];
+        table[slot + 1] = old[i + 1];
+      }
+    }
+  }
+
+  private static int slotOf(final Object[] table, final Object key) {
+    final int mask = table.length - 2;
+    int slot = System.identityHashCode(key) * 2 & mask;
+
+    while (table[slot] != null && table[slot] != key) {
+      slot = slot + 2 & mask;
+    }
+
+    return slot;
+  }
+
+  private void guardNotClosed() {
+    if (table == CLOSED) {
+      throw new IllegalStateException("Scope closed");
+    }
+  }
+
+  /**
+   * The binding of a scope to a thread, closing it unbinds the scope.
+   */
+  public static final class Binding implements AutoCloseable {
+    @Nullable
+    private final Scope previous;
+
+    private Binding(@Nullable final Scope previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
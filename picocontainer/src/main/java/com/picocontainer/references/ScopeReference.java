@@ -0,0 +1,31 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.references;
+
+import com.picocontainer.ObjectReference;
+
+import java.io.Serializable;
+
+/**
+ * Gets and sets references in the {@link Scope} bound to the current thread.
+ * Using it on a thread that is not running in a scope is an {@link IllegalStateException}.
+ */
+@SuppressWarnings("serial")
+public class ScopeReference<T> implements ObjectReference<T>, Serializable {
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get() {
+    return (T) Scope.required().get(this);
+  }
+
+  @Override
+  public void set(final T item) {
+    Scope.required().put(this, item);
+  }
+}
@@ -14,6 +14,7 @@ import static com.picocontainer.Characteristics.SDI;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -36,6 +37,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.RandomAccess;
 
 import javax.inject.Provider;
 
@@ -1056,4 +1058,160 @@ public final class DefaultPicoContainerTestCase extends AbstractPicoContainerTes
 		assertTrue(mpc.getLifecycleState().isDisposed());
 	}    
 
+
+	@Test public void testTypeLookupsPreserveRegistrationOrder() {
+		DefaultPicoContainer pico = new DefaultPicoContainer();
+		pico.addComponent("array", ArrayList.class);
+		pico.addComponent("map", HashMap.class);
+		pico.addComponent("linked", LinkedList.class);
+
+		List<ComponentAdapter<List>> lists = pico.getComponentAdapters(List.class);
+		assertEquals(2, lists.size());
+		assertEquals("array", lists.get(0).getComponentKey());
+		assertEquals("linked", lists.get(1).getComponentKey());
+
+		List<ComponentAdapter<Object>> all = pico.getComponentAdapters(Object.class);
+		assertEquals(3, all.size());
+		assertEquals("map", all.get(1).getComponentKey());
+	}
+
+	@Test public void testTypeLookupsDoNotFindRemovedComponents() {
+		DefaultPicoContainer pico = new DefaultPicoContainer();
+		pico.addComponent("array", ArrayList.class);
+		pico.addComponent("linked", LinkedList.class);
+		pico.removeComponent("array");
+
+		List<ComponentAdapter<List>> lists = pico.getComponentAdapters(List.class);
+		assertEquals(1, lists.size());
+		assertEquals("linked", lists.get(0).getComponentKey());
+		assertEquals(0, pico.getComponentAdapters(RandomAccess.class).size());
+	}
+
+	public static class StringProvider implements Provider<String> {
+		public String get() {
+			return "provided";
+		}
+	}
+
+	@Test public void testTypeLookupsFindProvidersByProvidedType() {
+		DefaultPicoContainer pico = new DefaultPicoContainer();
+		pico.addProvider(new StringProvider());
+
+		assertEquals(1, pico.getComponentAdapters(String.class).size());
+		assertEquals(1, pico.getComponentAdapters(CharSequence.class).size());
+		assertEquals("provided", pico.getComponent(CharSequence.class));
+	}
+
+	@Test public void testTypeLookupsOfPrimitivesFindWrapperInstances() {
+		DefaultPicoContainer pico = new DefaultPicoContainer();
+		pico.addComponent("one", 1);
+
+		assertEquals(1, pico.getComponentAdapters(int.class).size());
+		assertEquals(1, pico.getComponentAdapters(Number.class).size());
+		assertEquals(0, pico.getComponentAdapters(long.class).size());
+	}
+
+
+	@Test public void testRepeatedTypeResolutionIsAnsweredFromResolutionCache() {
+		DefaultPicoContainer pico = new DefaultPicoContainer();
+		pico.addComponent(SimpleTouchable.class);
+
+		ComponentAdapter<Touchable> first = pico.getComponentAdapter(Touchable.class, (NameBinding) null);
+		ComponentAdapter<Touchable> second = pico.getComponentAdapter(Touchable.class, (NameBinding) null);
+		assertNotNull(first);
+		assertSame(first, second);
+		assertEquals(1, pico.getResolutionCacheMisses());
+		assertEquals(1, pico.getResolutionCacheHits());
+	}
+
+	@Test public void testResolutionCacheForgetsMissesWhenComponentsAreAdded() {
+		DefaultPicoContainer pico = new DefaultPicoContainer();
+		assertNull(pico.getComponentAdapter(Touchable.class, (NameBinding) null));
+		assertNull(pico.getComponentAdapter(Touchable.class, (NameBinding) null));
+		assertEquals(1, pico.getResolutionCacheHits());
+
+		pico.addComponent(SimpleTouchable.class);
+		assertNotNull(pico.getComponentAdapter(Touchable.class, (NameBinding) null));
+
+		pico.removeComponent(SimpleTouchable.class);
+		assertNull(pico.getComponentAdapter(Touchable.class, (NameBinding) null));
+	}
+
+	@Test public void testMonitorsAreToldAboutRememberedMisses() {
+		final List<Object> missingInParent = new ArrayList<Object>();
+		final List<Object> missingInChild = new ArrayList<Object>();
+		DefaultPicoContainer parent = new DefaultPicoContainer(new NullComponentMonitor() {
+			@Override
+			public Object noComponentFound(final MutablePicoContainer container, final Object key) {
+				missingInParent.add(key);
+				return null;
+			}
+		});
+		DefaultPicoContainer child = new DefaultPicoContainer(parent, new NullComponentMonitor() {
+			@Override
+			public Object noComponentFound(final MutablePicoContainer container, final Object key) {
+				missingInChild.add(key);
+				return missingInChild.size() > 2 ? new SimpleTouchable() : null;
+			}
+		});
+
+		assertNull(child.getComponentAdapter(Touchable.class, (NameBinding) null));
+		int parentTold = missingInParent.size();
+		int childTold = missingInChild.size();
+		assertNull(child.getComponentAdapter(Touchable.class, (NameBinding) null));
+		assertEquals(1, child.getResolutionCacheHits());
+		assertTrue(missingInParent.size() > parentTold);
+		assertTrue(missingInChild.size() > childTold);
+
+		assertNotNull(child.getComponent(Touchable.class));
+	}
+
+	@Test public void testResolutionCacheOfChildForgetsMissesWhenParentChanges() {
+		DefaultPicoContainer parent = new DefaultPicoContainer();
+		DefaultPicoContainer child = new DefaultPicoContainer(parent);
+		assertNull(child.getComponentAdapter(Touchable.class, (NameBinding) null));
+
+		parent.addComponent(SimpleTouchable.class);
+		assertNotNull(child.getComponentAdapter(Touchable.class, (NameBinding) null));
+		assertEquals(0, child.getResolutionCacheHits());
+	}
+
+	@Test public void testResolutionCacheDistinguishesNamesWhenTypeIsAmbiguous() {
+		DefaultPicoContainer pico = new DefaultPicoContainer();
+		pico.addComponent("a", "Alpha");
+		pico.addComponent("b", "Beta");
+
+		assertEquals("b", pico.getComponentAdapter(String.class, (NameBinding) () -> "b").getComponentKey());
+		assertEquals("a", pico.getComponentAdapter(String.class, (NameBinding) () -> "a").getComponentKey());
+		assertEquals("b", pico.getComponentAdapter(String.class, (NameBinding) () -> "b").getComponentKey());
+		assertEquals(1, pico.getResolutionCacheHits());
+	}
+
+	@Test public void testAdaptersOfParentAreBoundToItOncePerChange() {
+		DefaultPicoContainer parent = new DefaultPicoContainer();
+		DefaultPicoContainer child = new DefaultPicoContainer(parent);
+		parent.addComponent("touchable", SimpleTouchable.class);
+
+		ComponentAdapter<?> adapter = child.getComponentAdapter("touchable");
+		assertTrue(adapter instanceof DefaultPicoContainer.KnowsContainerAdapter);
+		assertSame(adapter, child.getComponentAdapter("touchable"));
+
+		parent.addComponent("other", SimpleTouchable.class);
+		ComponentAdapter<?> rebound = child.getComponentAdapter("touchable");
+		assertNotSame(adapter, rebound);
+		assertEquals("touchable", rebound.getComponentKey());
+	}
+
+	@Test public void testComponentsOfParentAreRetrievedFromParentThroughBoundAdapters() {
+		DefaultPicoContainer parent = new DefaultPicoContainer();
+		DefaultPicoContainer child = new DefaultPicoContainer(parent);
+		parent.as(Characteristics.CACHE).addComponent("touchable", SimpleTouchable.class);
+
+		Object touchable = child.getComponent("touchable");
+		assertNotNull(touchable);
+		assertSame(touchable, child.getComponent("touchable"));
+		assertSame(touchable, parent.getComponent("touchable"));
+		assertEquals(0, child.getComponents().size());
+	}
+
 }
@@ -10,10 +10,13 @@
 package com.picocontainer.behaviors;
 
 import static com.picocontainer.Characteristics.AUTOMATIC;
+import static com.picocontainer.Characteristics.CACHE;
+import static com.picocontainer.Characteristics.LOCK;
 import static com.picocontainer.behaviors.Behaviors.automatic;
 import static com.picocontainer.behaviors.Behaviors.caching;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
@@ -160,4 +163,19 @@ public class AutomatingTestCase {
         assertEquals("Cached+Lifecycle:Automated:ConstructorInjector-class com.picocontainer.behaviors.AutomatingTestCase$Foo", pico.getComponentAdapter(Foo.class).toString());
     }
 
+    @Test public void testAutomatedBehaviorsWithinAChainStillAnswerAsBefore() {
+        DefaultPicoContainer pico = new DefaultPicoContainer();
+        pico.as(CACHE).addComponent(StringBuilder.class);
+        pico.as(AUTOMATIC, LOCK, CACHE).addComponent(Foo.class);
+        pico.start();
+
+        StringBuilder sb = pico.getComponent(StringBuilder.class);
+        assertEquals(MESSAGE, sb.toString());
+        assertSame(pico.getComponent(Foo.class), pico.getComponent(Foo.class));
+        ComponentAdapter<?> adapter = pico.getComponentAdapter(Foo.class);
+        assertNotNull(adapter.findAdapterOfType(Automating.Automated.class));
+        assertNotNull(adapter.findAdapterOfType(Locking.Locked.class));
+        assertEquals(Foo.class, adapter.getComponentImplementation());
+    }
+
 }
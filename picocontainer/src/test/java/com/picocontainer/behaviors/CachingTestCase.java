@@ -11,6 +11,8 @@ package com.picocontainer.behaviors;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 import com.picocontainer.tck.AbstractComponentFactoryTest;
@@ -19,10 +21,12 @@ import com.picocontainer.Characteristics;
 import com.picocontainer.ComponentAdapter;
 import com.picocontainer.ComponentFactory;
 import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.Injector;
 import com.picocontainer.adapters.InstanceAdapter;
 import com.picocontainer.behaviors.Caching;
 import com.picocontainer.containers.EmptyPicoContainer;
 import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.injectors.ProviderAdapter;
 import com.picocontainer.lifecycle.NullLifecycleStrategy;
 import com.picocontainer.monitors.NullComponentMonitor;
 
@@ -90,4 +94,19 @@ public class CachingTestCase extends AbstractComponentFactoryTest {
     }
 
 
-}
\ No newline at end of file
+
+    @Test public void testAdaptersOfTheChainAreFoundAgainOnceFound() {
+        DefaultPicoContainer pico =
+            new DefaultPicoContainer(new Caching().wrap(new Locking().wrap(new ConstructorInjection())));
+        pico.addComponent("foo", String.class);
+        ComponentAdapter<?> foo = pico.getComponentAdapter("foo");
+
+        for (int i = 0; i < 2; i++) {
+            assertSame(foo, foo.findAdapterOfType(Caching.Cached.class));
+            assertSame(foo.getDelegate(), foo.findAdapterOfType(Locking.Locked.class));
+            assertSame(foo.getDelegate().findAdapterOfType(ConstructorInjection.ConstructorInjector.class), foo.findAdapterOfType(Injector.class));
+            assertNull(foo.findAdapterOfType(ProviderAdapter.class));
+        }
+        assertEquals(ConstructorInjection.ConstructorInjector.class, foo.findAdapterOfType(Injector.class).getClass());
+    }
+}
@@ -0,0 +1,189 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.behaviors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentFactory;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.Startable;
+import com.picocontainer.adapters.InstanceAdapter;
+import com.picocontainer.containers.EmptyPicoContainer;
+import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.lifecycle.NullLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
+import com.picocontainer.tck.AbstractComponentFactoryTest;
+
+public class ConcurrentCachingTestCase extends AbstractComponentFactoryTest {
+
+    @Override
+    protected ComponentFactory createComponentFactory() {
+        return new ConcurrentCaching().wrap(new ConstructorInjection());
+    }
+
+    @Test public void testAddComponentUsesConcurrentCachingBehavior() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ConcurrentCaching().wrap(new ConstructorInjection()));
+        pico.addComponent("foo", String.class);
+        ComponentAdapter<?> foo = pico.getComponentAdapter("foo");
+        assertEquals(ConcurrentCaching.ConcurrentCached.class, foo.getClass());
+        assertSame(pico.getComponent("foo"), pico.getComponent("foo"));
+    }
+
+    @Test public void testNoCachePropertyOptsOut() {
+        DefaultPicoContainer pico =
+            new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(), new ConcurrentCaching().wrap(new ConstructorInjection()));
+        pico.change(Characteristics.NO_CACHE).addComponent("foo", String.class);
+        pico.change(Characteristics.NO_CONCURRENT_CACHE).addComponent("bar", String.class);
+        assertEquals(ConstructorInjection.ConstructorInjector.class, pico.getComponentAdapter("foo").getClass());
+        assertEquals(ConstructorInjection.ConstructorInjector.class, pico.getComponentAdapter("bar").getClass());
+    }
+
+    @Test public void testAddAdapterUsesConcurrentCachingBehavior() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ConcurrentCaching().wrap(new ConstructorInjection()));
+        pico.addAdapter(new InstanceAdapter<>("foo", "bar", new NullLifecycleStrategy(), new NullComponentMonitor()));
+        ComponentAdapter<?> foo = pico.getComponentAdapter("foo");
+        assertEquals(ConcurrentCaching.ConcurrentCached.class, foo.getClass());
+        assertEquals(InstanceAdapter.class, foo.getDelegate().getClass());
+    }
+
+    @Test public void testCharacteristicSelectsConcurrentCachingInDefaultContainer() {
+        MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.as(Characteristics.CONCURRENT_CACHE).addComponent(Counted.class);
+        ComponentAdapter<?> adapter = pico.getComponentAdapter(Counted.class);
+        assertEquals(ConcurrentCaching.ConcurrentCached.class, adapter.getClass());
+        assertEquals("ConcurrentCached+Lifecycle", adapter.getDescriptor());
+    }
+
+    @Test public void testBuilderSelectsConcurrentCaching() {
+        MutablePicoContainer pico = new PicoBuilder().withConcurrentCaching().build();
+        pico.addComponent(Counted.class);
+        assertEquals(ConcurrentCaching.ConcurrentCached.class, pico.getComponentAdapter(Counted.class).getClass());
+    }
+
+    @Test public void testComponentIsInstantiatedOnceWhenThreadsRaceForIt() throws InterruptedException {
+        Counted.instantiations.set(0);
+        final MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.as(Characteristics.CONCURRENT_CACHE).addComponent(Counted.class);
+
+        final CountDownLatch go = new CountDownLatch(1);
+        final List<Object> seen = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                Object counted = pico.getComponent(Counted.class);
+                synchronized (seen) {
+                    seen.add(counted);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, Counted.instantiations.get());
+        assertEquals(8, seen.size());
+        for (Object counted : seen) {
+            assertSame(seen.get(0), counted);
+        }
+    }
+
+    @Test public void testLifecycleStateIsKept() {
+        MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.as(Characteristics.CONCURRENT_CACHE).addComponent(Counted.class);
+        ConcurrentCaching.ConcurrentCached<?> adapter = (ConcurrentCaching.ConcurrentCached<?>) pico.getComponentAdapter(Counted.class);
+
+        assertTrue(adapter.componentHasLifecycle());
+        assertNull(adapter.getStoredObject());
+        adapter.start(pico);
+        assertTrue(adapter.isStarted());
+        Counted counted = (Counted) adapter.getStoredObject();
+        assertTrue(counted.started);
+
+        try {
+            adapter.start(pico);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("'" + Counted.class + "' already started", e.getMessage());
+        }
+
+        adapter.stop(pico);
+        assertFalse(adapter.isStarted());
+        assertFalse(counted.started);
+        adapter.dispose(pico);
+
+        try {
+            adapter.start(pico);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("'" + Counted.class + "' already disposed", e.getMessage());
+        }
+    }
+
+    @Test public void testFlushStopsStartedInstanceAndForgetsIt() {
+        MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.as(Characteristics.CONCURRENT_CACHE).addComponent(Counted.class);
+        ConcurrentCaching.ConcurrentCached<?> adapter = (ConcurrentCaching.ConcurrentCached<?>) pico.getComponentAdapter(Counted.class);
+
+        adapter.start(pico);
+        Counted first = (Counted) adapter.getStoredObject();
+        adapter.flush();
+
+        assertFalse(first.started);
+        assertNull(adapter.getStoredObject());
+        assertFalse(adapter.isStarted());
+        assertTrue(first != pico.getComponent(Counted.class));
+    }
+
+    public static class Counted implements Startable {
+        static final AtomicInteger instantiations = new AtomicInteger();
+        boolean started;
+
+        public Counted() {
+            instantiations.incrementAndGet();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public void start() {
+            started = true;
+        }
+
+        public void stop() {
+            started = false;
+        }
+    }
+}
@@ -12,6 +12,12 @@ package com.picocontainer.behaviors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 import com.picocontainer.tck.AbstractComponentFactoryTest;
@@ -20,6 +26,7 @@ import com.picocontainer.Characteristics;
 import com.picocontainer.ComponentAdapter;
 import com.picocontainer.ComponentFactory;
 import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.PicoContainer;
 import com.picocontainer.adapters.InstanceAdapter;
 import com.picocontainer.behaviors.AbstractBehavior;
 import com.picocontainer.behaviors.Caching;
@@ -27,6 +34,7 @@ import com.picocontainer.behaviors.ImplementationHiding;
 import com.picocontainer.containers.EmptyPicoContainer;
 import com.picocontainer.injectors.AdaptingInjection;
 import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.injectors.MemberInvokers;
 import com.picocontainer.lifecycle.NullLifecycleStrategy;
 import com.picocontainer.monitors.NullComponentMonitor;
 
@@ -167,4 +175,46 @@ public class ImplementationHidingTestCase extends AbstractComponentFactoryTest{
         assertEquals(expectation, sb.toString());
     }
 
-}
\ No newline at end of file
+    @Test public void testProxiesOfAComponentShareTheirClass() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ImplementationHiding());
+        StringBuilder sb = new StringBuilder();
+        pico.addComponent(sb);
+        pico.addComponent(NeedsStringBuilder.class, NeedsStringBuilderImpl.class);
+        NeedsStringBuilder one = pico.getComponent(NeedsStringBuilder.class);
+        NeedsStringBuilder two = pico.getComponent(NeedsStringBuilder.class);
+        assertNotSame(one, two);
+        assertSame(one.getClass(), two.getClass());
+        one.foo();
+        two.foo();
+        assertEquals("<init>foo()<init>foo()", sb.toString());
+    }
+
+    @Test public void testInvocationCharacteristicChoosesHowTheRealSubjectIsCalled() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ImplementationHiding());
+        StringBuilder sb = new StringBuilder();
+        pico.addComponent(sb);
+        pico.as(Characteristics.LAMBDA_INVOCATION).addComponent(NeedsStringBuilder.class, NeedsStringBuilderImpl.class);
+        ImplementationHiding.HiddenImplementation<?> hidden =
+            (ImplementationHiding.HiddenImplementation<?>) pico.getComponentAdapter(NeedsStringBuilder.class);
+        assertSame(MemberInvokers.LAMBDAS, hidden.getMemberInvoker());
+        pico.getComponent(NeedsStringBuilder.class).foo();
+        assertEquals("<init>foo()", sb.toString());
+    }
+
+    @Test public void testMonitorIsToldOfCallsUnlessItIsTheNullOne() {
+        final List<Member> invoked = new ArrayList<>();
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new NullLifecycleStrategy(), new NullComponentMonitor() {
+            @Override
+            public void invoked(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final Member member,
+                                final Object instance, final long duration, final Object retVal, final Object[] args) {
+                invoked.add(member);
+            }
+        }, new ImplementationHiding());
+        pico.addComponent(StringBuilder.class);
+        pico.addComponent(NeedsStringBuilder.class, NeedsStringBuilderImpl.class);
+        pico.getComponent(NeedsStringBuilder.class).foo();
+        assertEquals(1, invoked.size());
+        assertEquals("foo", invoked.get(0).getName());
+    }
+
+}
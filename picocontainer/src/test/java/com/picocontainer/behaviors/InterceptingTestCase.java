@@ -11,6 +11,7 @@ package com.picocontainer.behaviors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
 
@@ -195,6 +196,80 @@ public class InterceptingTestCase {
         assertEquals("Intercepted:CompositeInjector(ConstructorInjector)-interface com.picocontainer.behaviors.InterceptingTestCase$Person", pico.getComponentAdapter(Person.class).toString());
     }
 
+    @Test public void testSeveralInterceptorsAreCalledInTheOrderTheyWereAdded() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(), new Intercepting());
+        pico.addComponent(StringBuilder.class, sb);
+        pico.addComponent(Person.class, Englishman.class);
+        Intercepting.Intercepted intercepted = pico.getComponentAdapter(Person.class).findAdapterOfType(Intercepting.Intercepted.class);
+        for (final String name : new String[] {"a", "b"}) {
+            intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+                @Override
+                public String greeting() {
+                    sb.append("<").append(name).append(">");
+                    return null;
+                }
+            });
+            intercepted.addPostInvocation(Person.class, new Person.nullobject() {
+                @Override
+                public String greeting() {
+                    sb.append("</").append(name).append(">");
+                    return null;
+                }
+            });
+        }
+
+        assertEquals("How do you do?", pico.getComponent(Person.class).greeting());
+        assertEquals("<a><b>How do you do?</a></b>", sb.toString());
+    }
+
+    @Test public void testVetoStopsTheInterceptorsThatFollow() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(), new Intercepting());
+        pico.addComponent(StringBuilder.class, sb);
+        pico.addComponent(Person.class, Englishman.class);
+        Intercepting.Intercepted intercepted = pico.getComponentAdapter(Person.class).findAdapterOfType(Intercepting.Intercepted.class);
+        final Intercepting.Controller controller = intercepted.getController();
+        intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String parting(final String who) {
+                controller.veto();
+                return "Ciao " + who;
+            }
+        });
+        intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String parting(final String who) {
+                sb.append("[second]");
+                return null;
+            }
+        });
 
+        assertEquals("Ciao Fred", pico.getComponent(Person.class).parting("Fred"));
+        assertEquals("", sb.toString());
+    }
+
+    @Test public void testInterceptorsAddedAfterACallApplyToTheNextOnes() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(), new Intercepting());
+        pico.addComponent(StringBuilder.class, sb);
+        pico.addComponent(Person.class, Englishman.class);
+        Intercepting.Intercepted intercepted = pico.getComponentAdapter(Person.class).findAdapterOfType(Intercepting.Intercepted.class);
+        Person person = pico.getComponent(Person.class);
+
+        person.sleep(1);
+        assertNull(intercepted.getController().getInstance());
+
+        intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public void sleep(final int howLong) {
+                sb.append("[yawn]");
+            }
+        });
+        person.sleep(2);
+
+        assertEquals("Nap for 1[yawn]Nap for 2", sb.toString());
+        assertNotNull(intercepted.getController().getInstance());
+    }
 
-}
\ No newline at end of file
+}
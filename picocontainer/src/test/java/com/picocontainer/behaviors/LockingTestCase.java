@@ -2,17 +2,29 @@ package com.picocontainer.behaviors;
 
 import static com.picocontainer.Characteristics.LOCK;
 import static com.picocontainer.Characteristics.NO_LOCK;
+import static com.picocontainer.Characteristics.READ_WRITE_LOCK;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Test;
 import com.picocontainer.tck.AbstractComponentFactoryTest;
 
+import com.picocontainer.ComponentAdapter;
 import com.picocontainer.ComponentFactory;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.PicoContainer;
 import com.picocontainer.MutablePicoContainer;
 import com.picocontainer.PicoBuilder;
 import com.picocontainer.behaviors.Locking;
 import com.picocontainer.injectors.AdaptingInjection;
+import com.picocontainer.lifecycle.NullLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
 
 
 public class LockingTestCase extends AbstractComponentFactoryTest {
@@ -31,6 +43,111 @@ public class LockingTestCase extends AbstractComponentFactoryTest {
 
 	}
 
+	@Test
+	public void testReadWriteLockingIsSelectedByCharacteristicAndBuilder() {
+		MutablePicoContainer mpc = new DefaultPicoContainer();
+		mpc.as(READ_WRITE_LOCK).addComponent("read-write", StringBuilder.class);
+		assertNotNull(mpc.getComponentAdapter("read-write").findAdapterOfType(Locking.ReadWriteLocked.class));
+		assertNull(mpc.getComponentAdapter("read-write").findAdapterOfType(Locking.Locked.class));
+
+		mpc = new PicoBuilder().withReadWriteLocking().build();
+		mpc.addComponent("read-write", "It is read/write locked");
+		mpc.as(LOCK).addComponent("locked", "It is read/write locked too");
+		mpc.as(NO_LOCK).addComponent("not locked", "It is not locked");
+		assertNotNull(mpc.getComponentAdapter("read-write").findAdapterOfType(Locking.ReadWriteLocked.class));
+		assertNotNull(mpc.getComponentAdapter("locked").findAdapterOfType(Locking.ReadWriteLocked.class));
+		assertNull(mpc.getComponentAdapter("not locked").findAdapterOfType(Locking.ReadWriteLocked.class));
+	}
+
+	@Test
+	public void testReadWriteLockedLetsRetrievalsProceedTogether() throws InterruptedException {
+		final CountDownLatch bothInside = new CountDownLatch(2);
+		MutablePicoContainer mpc = new DefaultPicoContainer(new Locking(Locking.Mode.READ_WRITE).wrap(new AdaptingInjection()));
+		mpc.addComponent(bothInside);
+		mpc.addComponent(Rendezvous.class);
+
+		Thread other = new Thread(() -> mpc.getComponent(Rendezvous.class));
+		other.start();
+		Rendezvous rendezvous = mpc.getComponent(Rendezvous.class);
+		other.join();
+
+		assertTrue(rendezvous.met);
+	}
+
+	@Test
+	public void testWaitingForTheLockIsReported() throws InterruptedException {
+		final AtomicLong waited = new AtomicLong(-1);
+		final Gate gate = new Gate();
+		MutablePicoContainer mpc = new DefaultPicoContainer(null, new NullLifecycleStrategy(), new NullComponentMonitor() {
+			@Override
+			public void lockWaited(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long nanos) {
+				assertEquals(Slow.class, componentAdapter.getComponentKey());
+				waited.set(nanos);
+			}
+		}, new Locking().wrap(new AdaptingInjection()));
+		mpc.addComponent(gate);
+		mpc.addComponent(Slow.class);
+
+		makeOneRetrievalWaitForAnother(mpc, gate);
+
+		assertTrue(waited.get() >= TimeUnit.MILLISECONDS.toNanos(10));
+	}
+
+	@Test
+	public void testWaitingForTheLockIsReportedToTheMonitorTheContainerChangedTo() throws InterruptedException {
+		final AtomicLong waited = new AtomicLong(-1);
+		final Gate gate = new Gate();
+		DefaultPicoContainer mpc = new DefaultPicoContainer(new Locking().wrap(new AdaptingInjection()));
+		mpc.addComponent(gate);
+		mpc.addComponent(Slow.class);
+		mpc.changeMonitor(new NullComponentMonitor() {
+			@Override
+			public void lockWaited(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final long nanos) {
+				waited.set(nanos);
+			}
+		});
+
+		makeOneRetrievalWaitForAnother(mpc, gate);
+
+		assertTrue(waited.get() >= TimeUnit.MILLISECONDS.toNanos(10));
+	}
+
+	private static void makeOneRetrievalWaitForAnother(final PicoContainer pico, final Gate gate) throws InterruptedException {
+		Thread holder = new Thread(() -> pico.getComponent(Slow.class));
+		holder.start();
+		gate.inside.await();
+		Thread waiter = new Thread(() -> pico.getComponent(Slow.class));
+		waiter.start();
+		for (int i = 0; i < 5000 && waiter.getState() != Thread.State.WAITING; i++) {
+			Thread.sleep(1);
+		}
+		Thread.sleep(10);
+		gate.release.countDown();
+		holder.join();
+		waiter.join();
+	}
+
+	public static class Rendezvous {
+		final boolean met;
+
+		public Rendezvous(final CountDownLatch bothInside) throws InterruptedException {
+			bothInside.countDown();
+			met = bothInside.await(5, TimeUnit.SECONDS);
+		}
+	}
+
+	public static class Gate {
+		final CountDownLatch inside = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+	}
+
+	public static class Slow {
+		public Slow(final Gate gate) throws InterruptedException {
+			gate.inside.countDown();
+			gate.release.await(5, TimeUnit.SECONDS);
+		}
+	}
+
 	@Override
 	protected ComponentFactory createComponentFactory() {
 		return locking;
@@ -0,0 +1,158 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.behaviors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.Startable;
+import com.picocontainer.references.Scope;
+
+public class ScopingTestCase {
+
+    public static class Request {
+    }
+
+    public static class Handler {
+        final Request request;
+
+        public Handler(final Request request) {
+            this.request = request;
+        }
+    }
+
+    public static class Connection implements Startable {
+        boolean started;
+
+        public void start() {
+            started = true;
+        }
+
+        public void stop() {
+            started = false;
+        }
+    }
+
+    private final MutablePicoContainer pico = new DefaultPicoContainer(new Scoping());
+
+    @Test public void testInstancesAreSharedWithinAScopeOnly() throws Exception {
+        pico.addComponent(Request.class);
+        pico.addComponent(Handler.class);
+
+        Scope one = new Scope();
+        Scope two = new Scope();
+        Handler first = one.call(() -> pico.getComponent(Handler.class));
+        Handler again = one.call(() -> pico.getComponent(Handler.class));
+        Handler other = two.call(() -> pico.getComponent(Handler.class));
+
+        assertSame(first, again);
+        assertNotSame(first, other);
+        assertNotSame(first.request, other.request);
+        assertEquals(2, one.size());
+    }
+
+    @Test public void testScopeIsCarriedToOtherThreads() throws Exception {
+        pico.addComponent(Request.class);
+
+        Scope scope = new Scope();
+        Request here = scope.call(() -> pico.getComponent(Request.class));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Request there = executor.submit(scope.wrap(() -> pico.getComponent(Request.class))).get();
+            assertSame(here, there);
+        } finally {
+            executor.shutdown();
+        }
+        assertNull(Scope.current());
+    }
+
+    @Test public void testBindingRestoresThePreviousScope() {
+        Scope outer = new Scope();
+        Scope inner = new Scope();
+
+        try (Scope.Binding o = outer.bind()) {
+            try (Scope.Binding i = inner.bind()) {
+                assertSame(inner, Scope.current());
+            }
+            assertSame(outer, Scope.current());
+        }
+        assertNull(Scope.current());
+    }
+
+    @Test public void testRetrievalOutsideOfAnyScopeFails() {
+        pico.addComponent(Request.class);
+
+        try {
+            pico.getComponent(Request.class);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("No scope is bound to the current thread", e.getMessage());
+        }
+    }
+
+    @Test public void testClosedScopeDropsItsInstancesAndCannotBeUsed() {
+        pico.addComponent(Request.class);
+
+        Scope scope = new Scope();
+        scope.run(() -> pico.getComponent(Request.class));
+        scope.close();
+
+        assertTrue(scope.isClosed());
+        assertEquals(0, scope.size());
+        try {
+            scope.run(() -> pico.getComponent(Request.class));
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Scope closed", e.getMessage());
+        }
+    }
+
+    @Test public void testScopeGrowsWithTheNumberOfComponents() {
+        for (int i = 0; i < 100; i++) {
+            pico.addComponent("request-" + i, Request.class);
+        }
+
+        Scope scope = new Scope();
+        scope.run(() -> {
+            for (int i = 0; i < 100; i++) {
+                assertSame(pico.getComponent("request-" + i), pico.getComponent("request-" + i));
+            }
+        });
+        assertEquals(100, scope.size());
+    }
+
+    @Test public void testLifecycleOutsideOfAnyScopeDoesNothingAndInsideAppliesToTheScopedInstance() {
+        pico.addComponent(Connection.class);
+
+        pico.start();
+        pico.stop();
+
+        Scope scope = new Scope();
+        scope.run(() -> {
+            pico.start();
+            Connection connection = pico.getComponent(Connection.class);
+            assertTrue(connection.started);
+            pico.stop();
+            assertFalse(connection.started);
+        });
+    }
+}
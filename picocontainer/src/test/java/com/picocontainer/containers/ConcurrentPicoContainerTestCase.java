@@ -0,0 +1,125 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.containers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.AdaptingBehavior;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
+import com.picocontainer.tck.AbstractPicoContainerTest;
+import com.picocontainer.testmodel.DependsOnTouchable;
+import com.picocontainer.testmodel.SimpleTouchable;
+import com.picocontainer.testmodel.Touchable;
+
+public class ConcurrentPicoContainerTestCase extends AbstractPicoContainerTest {
+
+    @Override
+    protected MutablePicoContainer createPicoContainer(final PicoContainer parent) {
+        return new ConcurrentPicoContainer(parent, new StartableLifecycleStrategy(new NullComponentMonitor()), new NullComponentMonitor(), new AdaptingBehavior());
+    }
+
+    @Override
+    protected Properties[] getProperties() {
+        return new Properties[0];
+    }
+
+    @Override
+    protected void addContainers(final List expectedList) {
+        expectedList.add(ConcurrentPicoContainer.class);
+    }
+
+    @Test public void testChildContainersAreConcurrentToo() {
+        MutablePicoContainer pico = createPicoContainer(null);
+        assertTrue(pico.makeChildContainer() instanceof ConcurrentPicoContainer);
+    }
+
+    @Test public void testCanBeBuiltByPicoBuilder() {
+        MutablePicoContainer pico = new PicoBuilder().withCaching().implementedBy(ConcurrentPicoContainer.class).build();
+        assertTrue(pico instanceof ConcurrentPicoContainer);
+
+        pico.addComponent(Touchable.class, SimpleTouchable.class);
+        assertSame(pico.getComponent(Touchable.class), pico.getComponent(Touchable.class));
+    }
+
+    @Test public void testNullKeysAreNotFound() {
+        MutablePicoContainer pico = createPicoContainer(null);
+        assertNull(pico.getComponentAdapter((Object) null));
+        assertNull(pico.removeComponent(null));
+    }
+
+    @Test public void testComponentsCanBeRetrievedWhileContainerIsChanged() throws Exception {
+        final MutablePicoContainer pico = createPicoContainer(null);
+        pico.as(Characteristics.CACHE).addComponent(Touchable.class, SimpleTouchable.class);
+        pico.as(Characteristics.CACHE).addComponent(DependsOnTouchable.class);
+        final Touchable touchable = pico.getComponent(Touchable.class);
+
+        final int readers = 8;
+        final CountDownLatch started = new CountDownLatch(readers);
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final List<Thread> threads = new ArrayList<Thread>();
+
+        for (int i = 0; i < readers; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    try {
+                        while (done.getCount() > 0) {
+                            if (pico.getComponent(Touchable.class) != touchable) {
+                                throw new AssertionError("another Touchable was instantiated");
+                            }
+                            pico.getComponent(DependsOnTouchable.class);
+                            pico.getComponents(Touchable.class);
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+
+        started.await();
+
+        for (int i = 0; i < 500; i++) {
+            pico.addComponent("key" + i, ArrayList.class);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            pico.removeComponent("key" + i);
+        }
+
+        done.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(2, pico.getComponentAdapters().size());
+    }
+}
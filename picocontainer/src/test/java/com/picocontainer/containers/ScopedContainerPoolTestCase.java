@@ -0,0 +1,204 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.containers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoCompositionException;
+
+public class ScopedContainerPoolTestCase {
+
+    public static class Repository {
+    }
+
+    public static class Request {
+        final String path;
+
+        public Request(final String path) {
+            this.path = path;
+        }
+    }
+
+    public static class Session {
+    }
+
+    public static class Controller {
+        final Repository repository;
+        final Request request;
+        final Session session;
+
+        public Controller(final Repository repository, final Request request, final Session session) {
+            this.repository = repository;
+            this.request = request;
+            this.session = session;
+        }
+    }
+
+    private final MutablePicoContainer application = new DefaultPicoContainer();
+
+    private ScopedContainerPool pool() {
+        application.as(Characteristics.CACHE).addComponent(Repository.class);
+        return new ScopedContainerPool(application)
+            .addScopedInstance(Request.class, Request.class)
+            .addComponent(Session.class)
+            .addComponent(Controller.class)
+            .prepare();
+    }
+
+    @Test public void testEachRequestGetsItsOwnInstancesAndSharesTheParentOnes() {
+        ScopedContainerPool pool = pool();
+
+        Controller first;
+        try (ScopedContainerPool.ScopedContainer request = pool.acquire()) {
+            request.put(Request.class, new Request("/first"));
+            first = request.getComponent(Controller.class);
+            assertSame(first, request.getComponent(Controller.class));
+            assertSame(first.session, request.getComponent(Session.class));
+            assertEquals("/first", first.request.path);
+        }
+
+        try (ScopedContainerPool.ScopedContainer request = pool.acquire()) {
+            request.put(Request.class, new Request("/second"));
+            Controller second = request.getComponent(Controller.class);
+            assertNotSame(first, second);
+            assertNotSame(first.session, second.session);
+            assertSame(first.repository, second.repository);
+            assertEquals("/second", second.request.path);
+        }
+    }
+
+    @Test public void testScopesOfClosedContainersAreReused() {
+        ScopedContainerPool pool = pool();
+
+        ScopedContainerPool.ScopedContainer request = pool.acquire();
+        request.close();
+        request.close();
+        assertEquals(1, pool.getIdleCount());
+
+        pool.acquire();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test public void testClosedContainerStaysClosedOnceItsScopeIsReused() {
+        ScopedContainerPool pool = pool();
+
+        ScopedContainerPool.ScopedContainer stale = pool.acquire();
+        stale.close();
+
+        try (ScopedContainerPool.ScopedContainer request = pool.acquire()) {
+            assertNotSame(stale, request);
+            request.put(Request.class, new Request("/current"));
+
+            try {
+                stale.getComponent(Controller.class);
+                fail("IllegalStateException expected");
+            } catch (IllegalStateException e) {
+                assertEquals("Scoped container closed", e.getMessage());
+            }
+
+            stale.close();
+            assertEquals("/current", request.getComponent(Controller.class).request.path);
+        }
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test public void testConcurrentRequestsDoNotShareInstances() {
+        ScopedContainerPool pool = pool();
+
+        try (ScopedContainerPool.ScopedContainer one = pool.acquire();
+             ScopedContainerPool.ScopedContainer two = pool.acquire()) {
+            one.put(Request.class, new Request("/one"));
+            two.put(Request.class, new Request("/two"));
+
+            assertEquals("/one", one.getComponent(Controller.class).request.path);
+            assertEquals("/two", two.getComponent(Controller.class).request.path);
+        }
+    }
+
+    @Test public void testScopedInstanceMustBePutBeforeItIsNeeded() {
+        ScopedContainerPool pool = pool();
+
+        try (ScopedContainerPool.ScopedContainer request = pool.acquire()) {
+            request.getComponent(Controller.class);
+            fail("PicoCompositionException expected");
+        } catch (PicoCompositionException e) {
+            assertEquals("No instance of 'class " + Request.class.getName() + "' was put in the scope", e.getMessage());
+        }
+    }
+
+    @Test public void testOnlyScopedInstancesCanBePut() {
+        ScopedContainerPool pool = pool();
+
+        try (ScopedContainerPool.ScopedContainer request = pool.acquire()) {
+            request.put(Session.class, new Session());
+            fail("PicoCompositionException expected");
+        } catch (PicoCompositionException e) {
+            assertEquals("'class " + Session.class.getName() + "' is not a scoped instance of the pool", e.getMessage());
+        }
+    }
+
+    @Test public void testClosedContainerCannotBeUsed() {
+        ScopedContainerPool pool = pool();
+
+        ScopedContainerPool.ScopedContainer request = pool.acquire();
+        request.close();
+
+        try {
+            request.getComponent(Controller.class);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Scoped container closed", e.getMessage());
+        }
+
+        try {
+            request.put(Request.class, new Request("/late"));
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Scoped container closed", e.getMessage());
+        }
+    }
+
+    @Test public void testContainerIsGivenBackToThePoolOnceWhenClosedConcurrently() throws InterruptedException {
+        ScopedContainerPool pool = pool();
+        final ScopedContainerPool.ScopedContainer request = pool.acquire();
+        final CountDownLatch go = new CountDownLatch(1);
+        Thread[] closers = new Thread[4];
+
+        for (int i = 0; i < closers.length; i++) {
+            closers[i] = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                request.close();
+            });
+            closers[i].start();
+        }
+
+        go.countDown();
+
+        for (Thread closer : closers) {
+            closer.join();
+        }
+
+        assertEquals(1, pool.getIdleCount());
+    }
+}
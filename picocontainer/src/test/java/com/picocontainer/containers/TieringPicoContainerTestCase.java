@@ -1,6 +1,9 @@
 package com.picocontainer.containers;
 
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.Generational;
 import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.NameBinding;
 import com.picocontainer.annotations.Bind;
 import com.picocontainer.injectors.AbstractInjector;
 import com.picocontainer.testmodel.DependsOnTouchable;
@@ -169,6 +172,52 @@ public class TieringPicoContainerTestCase {
 
     }
 
+    @Test
+    public void testThatRootContainerTracksItsGeneration() {
+        DefaultPicoContainer root = new TieringPicoContainer();
+        root.addComponent(Couch.class);
+
+        Assertions.assertNotEquals(Generational.UNTRACKED, root.getGeneration());
+        Assertions.assertNotNull(root.getComponentAdapter(Couch.class, (NameBinding) null));
+        Assertions.assertNotNull(root.getComponentAdapter(Couch.class, (NameBinding) null));
+        Assertions.assertEquals(1, root.getResolutionCacheHits());
+    }
+
+    @Test
+    public void testThatGrandparentTraversalIsBlockedAfterTheParentResolvedTheComponent() {
+        MutablePicoContainer grandparent = new TieringPicoContainer();
+        MutablePicoContainer parent = grandparent.makeChildContainer();
+        MutablePicoContainer child = parent.makeChildContainer();
+        grandparent.addComponent(Couch.class);
+        child.addComponent(TiredPerson.class);
+
+        Assertions.assertNotNull(parent.getComponent(Couch.class));
+        Assertions.assertEquals(Generational.UNTRACKED, ((Generational) parent).getGeneration());
+        try {
+            child.getComponent(TiredPerson.class);
+            Assertions.fail("should have barfed");
+        } catch (AbstractInjector.UnsatisfiableDependenciesException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testThatConstructorArgumentsAreResolvedAgainWhenTheTieredParentChanges() {
+        MutablePicoContainer parent = new TieringPicoContainer();
+        MutablePicoContainer child = parent.makeChildContainer();
+        Couch first = new Couch();
+        Couch second = new Couch();
+        parent.addComponent(Couch.class, first);
+        child.addComponent(TiredPerson.class);
+
+        Assertions.assertSame(first, child.getComponent(TiredPerson.class).couchToSitOn);
+        Assertions.assertSame(first, child.getComponent(TiredPerson.class).couchToSitOn);
+
+        parent.removeComponent(Couch.class);
+        parent.addComponent(Couch.class, second);
+        Assertions.assertSame(second, child.getComponent(TiredPerson.class).couchToSitOn);
+    }
+
     @Test public void testRepresentationOfContainerTree() {
 		TieringPicoContainer parent = new TieringPicoContainer();
         parent.setName("parent");
@@ -137,6 +137,10 @@ public class AbstractComponentMonitorTestCase {
         mockery.checking(new Expectations() {{
         	one(monitor).instantiating(with(same(child)), with(any(ConstructorInjection.ConstructorInjector.class)), with(equal(needsACoupleOfThings)));
         	will(returnValue(needsACoupleOfThings));
+        	allowing(monitor).isMonitoring(with(any(ComponentMonitor.Event.class)));
+        	will(returnValue(true));
+        	one(monitor).resolving(with(same(child)), with(any(ConstructorInjection.ConstructorInjector.class)));
+        	one(monitor).resolved(with(same(child)), with(any(ConstructorInjection.ConstructorInjector.class)));
         	one(monitor).instantiated(with(same(child)), with(any(ConstructorInjection.ConstructorInjector.class)), with(equal(needsACoupleOfThings)), with(isANACOTThatWozCreated), with(collectionAndStringWereInjected), with(durationIsGreaterThanOrEqualToZero));
             atLeast(2).of(monitor).noComponentFound(with(any(DefaultPicoContainer.class)), with(any(Object.class)));
             will(returnValue(null));
@@ -425,6 +425,10 @@ public class DefaultPicoContainerLifecycleTestCase {
             one(s2).start();
             one(s2).stop();
             // s1 expectations
+            allowing(cm).isMonitoring(with(any(ComponentMonitor.Event.class)));
+            will(returnValue(true));
+            one(cm).containerStarting(with(any(PicoContainer.class)));
+            one(cm).containerStarted(with(any(PicoContainer.class)), with(any(Long.class)));
             one(cm).invoking(with(aNull(PicoContainer.class)), with(aNull(ComponentAdapter.class)), with(equal(Startable.class.getMethod("start", (Class[])null))), with(same(s1)), with(any(Object[].class)));
             one(cm).lifecycleInvocationFailed(with(aNull(MutablePicoContainer.class)), with(aNull(ComponentAdapter.class)), with(any(Method.class)), with(same(s1)), with(any(RuntimeException.class)));
             one(cm).invoking(with(aNull(PicoContainer.class)),
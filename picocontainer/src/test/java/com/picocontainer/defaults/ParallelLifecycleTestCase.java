@@ -0,0 +1,256 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.defaults;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.PicoLifecycleException;
+import com.picocontainer.Startable;
+import com.picocontainer.behaviors.ThreadCaching;
+import com.picocontainer.lifecycle.LifecycleFailuresException;
+
+public class ParallelLifecycleTestCase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+        Recorder.events.clear();
+        Gate.waiting = new CountDownLatch(2);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    public static class Recorder implements Startable {
+        static final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        Thread startedOn;
+
+        public void start() {
+            startedOn = Thread.currentThread();
+            events.add("start " + getClass().getSimpleName());
+        }
+
+        public void stop() {
+            events.add("stop " + getClass().getSimpleName());
+        }
+    }
+
+    public static class Pool extends Recorder {
+    }
+
+    public static class Cache extends Recorder {
+    }
+
+    public static class Service extends Recorder {
+        public Service(final Pool pool, final Cache cache) {
+        }
+    }
+
+    public static class Gate extends Recorder {
+        static CountDownLatch waiting;
+
+        @Override
+        public void start() {
+            super.start();
+            waiting.countDown();
+            try {
+                assertTrue("the other gate was not started concurrently", waiting.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public static class LeftGate extends Gate {
+    }
+
+    public static class RightGate extends Gate {
+    }
+
+    public static class Failing extends Recorder {
+        @Override
+        public void start() {
+            throw new IllegalStateException(getClass().getSimpleName() + " failed");
+        }
+    }
+
+    public static class OtherFailing extends Failing {
+    }
+
+    public static class DependsOnFailing extends Recorder {
+        public DependsOnFailing(final Failing failing) {
+        }
+    }
+
+    public static class Slow extends Recorder {
+        static CountDownLatch starting;
+        static CountDownLatch finishing;
+
+        @Override
+        public void start() {
+            starting.countDown();
+            try {
+                assertTrue("the start was never let finish", finishing.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            super.start();
+        }
+    }
+
+    private MutablePicoContainer container() {
+        return new PicoBuilder().withCaching().withLifecycle().withParallelLifecycle(executor).build();
+    }
+
+    @Test public void testIndependentComponentsAreStartedConcurrently() {
+        final MutablePicoContainer pico = container();
+        pico.addComponent(LeftGate.class);
+        pico.addComponent(RightGate.class);
+
+        pico.start();
+
+        assertEquals(0, Gate.waiting.getCount());
+        assertNotSame(Thread.currentThread(), pico.getComponent(LeftGate.class).startedOn);
+    }
+
+    @Test public void testDependenciesAreStartedFirstAndStoppedLast() {
+        final MutablePicoContainer pico = container();
+        pico.addComponent(Service.class);
+        pico.addComponent(Pool.class);
+        pico.addComponent(Cache.class);
+
+        pico.start();
+        assertEquals("start Service", Recorder.events.get(2));
+        Recorder.events.clear();
+
+        pico.stop();
+        assertEquals("stop Service", Recorder.events.get(0));
+        assertEquals(3, Recorder.events.size());
+        pico.dispose();
+    }
+
+    @Test public void testFailuresAreCollectedAndDependentsOfFailedComponentsAreNotStarted() {
+        final MutablePicoContainer pico = container();
+        pico.addComponent(Failing.class);
+        pico.addComponent(OtherFailing.class);
+        pico.addComponent(DependsOnFailing.class);
+        pico.addComponent(Pool.class);
+
+        try {
+            pico.start();
+            fail();
+        } catch (LifecycleFailuresException e) {
+            assertEquals(2, e.getFailures().size());
+            assertTrue(e.getMessage(), e.getMessage().contains("OtherFailing failed"));
+        }
+
+        assertEquals(Collections.singletonList("start Pool"), Recorder.events);
+    }
+
+    @Test public void testASingleFailureIsRethrownAsIs() {
+        final MutablePicoContainer pico = container();
+        pico.addComponent(Failing.class);
+        pico.addComponent(Pool.class);
+
+        try {
+            pico.start();
+            fail();
+        } catch (PicoLifecycleException e) {
+            assertEquals("Failing failed", e.getCause().getMessage());
+        }
+    }
+
+    @Test public void testComponentsCachedPerThreadAreStartedByTheStartingThread() {
+        final MutablePicoContainer pico = new PicoBuilder().withBehaviors(new ThreadCaching())
+            .withLifecycle().withParallelLifecycle(executor).build();
+        pico.addComponent(Cache.class);
+
+        pico.start();
+
+        assertSame(Thread.currentThread(), pico.getComponent(Cache.class).startedOn);
+    }
+
+    @Test public void testComponentsInstantiatedBeforeTheExecutorWasSetWaitForTheirPredecessors() {
+        final DefaultPicoContainer pico = (DefaultPicoContainer) new PicoBuilder().withCaching().withLifecycle().build();
+        pico.addComponent(Pool.class);
+        pico.addComponent(Service.class);
+        pico.addComponent(Cache.class);
+        pico.getComponent(Service.class);
+        pico.setLifecycleExecutor(executor);
+
+        pico.start();
+
+        assertEquals(3, Recorder.events.size());
+        assertTrue(Recorder.events.indexOf("start Pool") < Recorder.events.indexOf("start Service"));
+    }
+
+    @Test public void testStoppingWaitsForAParallelStartToFinish() throws InterruptedException {
+        final MutablePicoContainer pico = container();
+        pico.addComponent(Slow.class);
+        pico.addComponent(Pool.class);
+        Slow.starting = new CountDownLatch(1);
+        Slow.finishing = new CountDownLatch(1);
+        final Thread starter = new Thread(new Runnable() {
+            public void run() {
+                pico.start();
+            }
+        });
+        final Thread stopper = new Thread(new Runnable() {
+            public void run() {
+                pico.stop();
+            }
+        });
+
+        starter.start();
+        assertTrue(Slow.starting.await(10, TimeUnit.SECONDS));
+        stopper.start();
+        while (stopper.getState() != Thread.State.WAITING && stopper.isAlive()) {
+            Thread.sleep(1);
+        }
+
+        assertTrue("the stop did not wait for the start", stopper.isAlive());
+        assertTrue(pico.getComponent(Pool.class) != null);
+        Slow.finishing.countDown();
+        starter.join(10000);
+        stopper.join(10000);
+
+        assertTrue(pico.getLifecycleState().isStopped());
+        assertEquals(4, Recorder.events.size());
+        assertTrue(Recorder.events.indexOf("start Slow") < Recorder.events.indexOf("stop Pool"));
+        assertTrue(Recorder.events.indexOf("start Slow") < Recorder.events.indexOf("stop Slow"));
+    }
+
+    @Test public void testChildContainersInheritTheExecutor() {
+        final DefaultPicoContainer pico = (DefaultPicoContainer) container();
+        assertSame(executor, ((DefaultPicoContainer) pico.makeChildContainer()).getLifecycleExecutor());
+    }
+}
@@ -14,6 +14,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 import org.junit.Test;
 import com.picocontainer.testmodel.Touchable;
@@ -21,12 +22,15 @@ import com.picocontainer.testmodel.Touchable;
 import com.googlecode.jtype.Generic;
 import com.picocontainer.ComponentAdapter;
 import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
 import com.picocontainer.NameBinding;
 import com.picocontainer.Parameter;
 import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.adapters.InstanceAdapter;
 import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.lifecycle.NullLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
 import com.picocontainer.parameters.ComponentParameter;
 
 /**
@@ -35,6 +39,7 @@ import com.picocontainer.parameters.ComponentParameter;
 public class ResolveAdapterReductionTestCase {
 
     int resolveAdapterCalls;
+    int resolveCalls;
     int getCompInstCalls;
     private Parameter[] parms;
     private ComponentAdapter[] injecteeAdapters;
@@ -87,6 +92,42 @@ public class ResolveAdapterReductionTestCase {
         System.out.println("ResolveAdapterReductionTestCase elapsed: " + (System.currentTimeMillis() - start));
     }
 
+    @Test
+    public void testThatArgumentsAreResolvedOnceUntilTheContainerChanges() throws Exception {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ConstructorInjection());
+        pico.addAdapter(new CountingConstructorInjector(One.class, One.class));
+        pico.addComponent(new Two());
+        pico.getComponent(One.class);
+
+        resolveCalls = 0;
+        for (int x = 0; x < 1000; x++) {
+            One one = pico.getComponent(One.class);
+            assertNotNull(one.two);
+        }
+        assertEquals("arguments of the chosen constructor should not be resolved again", 0, resolveCalls);
+
+        pico.addComponent("foo", "bar");
+        assertNotNull(pico.getComponent(One.class).two);
+        assertEquals("arguments should be resolved again once the container changed", 1, resolveCalls);
+    }
+
+    @Test
+    public void testThatArgumentsSuppliedLateByTheMonitorAreResolvedEveryTime() throws Exception {
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new NullLifecycleStrategy(), new NullComponentMonitor() {
+            @Override
+            public Object noComponentFound(final MutablePicoContainer container, final Object key) {
+                return key == Two.class ? new Two() : null;
+            }
+        }, new ConstructorInjection());
+        pico.addAdapter(new CountingConstructorInjector(One.class, One.class));
+        assertNotNull(pico.getComponent(One.class).two);
+
+        resolveCalls = 0;
+        assertNotNull(pico.getComponent(One.class).two);
+        assertNotNull(pico.getComponent(One.class).two);
+        assertEquals("arguments supplied by the monitor should not be reused", 2, resolveCalls);
+    }
+
     public static class One {
         private final Two two;
 
@@ -163,6 +204,14 @@ public class ResolveAdapterReductionTestCase {
             return true;
         }
 
+        @Override
+        public Resolver resolve(final PicoContainer container, final ComponentAdapter<?> forAdapter, final ComponentAdapter<?> injecteeAdapter, final Type expectedType, final NameBinding expectedNameBinding, final boolean useNames, final Annotation binding) {
+            if (expectedType == Two.class) {
+                resolveCalls++;
+            }
+            return super.resolve(container, forAdapter, injecteeAdapter, expectedType, expectedNameBinding, useNames, binding);
+        }
+
         @Override
 		protected <T> ComponentAdapter<T> resolveAdapter(final PicoContainer container, final ComponentAdapter<?> adapter, final Generic<T> expectedType, final NameBinding expectedNameBinding, final boolean useNames, final Annotation binding) {
             if (expectedType.getType() == Two.class || expectedType.getType() == Touchable.class) {
@@ -0,0 +1,194 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoCompositionException;
+import com.picocontainer.behaviors.Caching;
+import com.picocontainer.injectors.AbstractInjector.CyclicDependencyException;
+import com.picocontainer.injectors.AbstractInjector.UnsatisfiableDependenciesException;
+import com.picocontainer.parameters.ConstantParameter;
+
+/**
+ * The factories below are written the way the picocontainer-processor module generates them.
+ */
+public class GeneratedInjectionTestCase {
+
+    public static class Engine {
+    }
+
+    public static class Car {
+        public final Engine engine;
+        public final String name;
+        @Inject
+        public Engine spare;
+
+        @Inject
+        public Car(final Engine engine, @Named("name") final String name) {
+            this.engine = engine;
+            this.name = name;
+        }
+    }
+
+    public static final class Car$$PicoFactory implements GeneratedFactory<Car> {
+        static int instantiations;
+
+        public Car newInstance(final GeneratedFactory.Dependencies dependencies) throws Exception {
+            instantiations++;
+            return new Car(
+                dependencies.get(Engine.class, "engine", null),
+                dependencies.get(String.class, "name", "name"));
+        }
+
+        public void injectMembers(final Car instance, final GeneratedFactory.Dependencies dependencies) throws Exception {
+            instance.spare = dependencies.get(Engine.class, "spare", null);
+        }
+    }
+
+    public static class Broken {
+        @Inject
+        public Broken() throws IOException {
+            throw new IOException("no way");
+        }
+    }
+
+    public static final class Broken$$PicoFactory implements GeneratedFactory<Broken> {
+        public Broken newInstance(final GeneratedFactory.Dependencies dependencies) throws Exception {
+            return new Broken();
+        }
+
+        public void injectMembers(final Broken instance, final GeneratedFactory.Dependencies dependencies) {
+        }
+    }
+
+    public static class Chicken {
+        @Inject
+        public Chicken(final Egg egg) {
+        }
+    }
+
+    public static class Egg {
+        @Inject
+        public Egg(final Chicken chicken) {
+        }
+    }
+
+    public static final class Chicken$$PicoFactory implements GeneratedFactory<Chicken> {
+        public Chicken newInstance(final GeneratedFactory.Dependencies dependencies) {
+            return new Chicken(dependencies.get(Egg.class, "egg", null));
+        }
+
+        public void injectMembers(final Chicken instance, final GeneratedFactory.Dependencies dependencies) {
+        }
+    }
+
+    public static final class Egg$$PicoFactory implements GeneratedFactory<Egg> {
+        public Egg newInstance(final GeneratedFactory.Dependencies dependencies) {
+            return new Egg(dependencies.get(Chicken.class, "chicken", null));
+        }
+
+        public void injectMembers(final Egg instance, final GeneratedFactory.Dependencies dependencies) {
+        }
+    }
+
+    private static MutablePicoContainer container() {
+        return new DefaultPicoContainer(new Caching().wrap(new GeneratedInjection()));
+    }
+
+    @Test public void testFactoriesAreFoundNextToTheirComponents() {
+        assertTrue(GeneratedInjection.factoryOf(Car.class) instanceof Car$$PicoFactory);
+        assertNull(GeneratedInjection.factoryOf(Engine.class));
+        assertNull(GeneratedInjection.factoryOf(String.class));
+    }
+
+    @Test public void testComponentsAreInstantiatedAndInjectedByTheirFactory() {
+        MutablePicoContainer pico = container();
+        pico.addComponent(Engine.class);
+        pico.addComponent("name", "beetle");
+        pico.addComponent(Car.class);
+
+        int instantiations = Car$$PicoFactory.instantiations;
+        Car car = pico.getComponent(Car.class);
+        assertEquals(instantiations + 1, Car$$PicoFactory.instantiations);
+        assertSame(pico.getComponent(Engine.class), car.engine);
+        assertSame(car.engine, car.spare);
+        assertEquals("beetle", car.name);
+        assertNotNull(pico.getComponentAdapter(Car.class).findAdapterOfType(GeneratedInjection.GeneratedInjector.class));
+        assertNull(pico.getComponentAdapter(Engine.class).findAdapterOfType(GeneratedInjection.GeneratedInjector.class));
+    }
+
+    @Test public void testComponentsWithExplicitParametersAreLeftToTheFallback() {
+        MutablePicoContainer pico = container();
+        pico.addComponent(Engine.class);
+        pico.addComponent(Car.class, Car.class, new ConstantParameter(new Engine()), new ConstantParameter("herbie"));
+
+        assertEquals("herbie", pico.getComponent(Car.class).name);
+        assertNull(pico.getComponentAdapter(Car.class).findAdapterOfType(GeneratedInjection.GeneratedInjector.class));
+    }
+
+    @Test public void testComponentsAskingForAnotherInjectionAreLeftToTheFallback() {
+        MutablePicoContainer pico = container();
+        pico.as(Characteristics.SDI).addComponent(Car.class);
+        assertNull(pico.getComponentAdapter(Car.class).findAdapterOfType(GeneratedInjection.GeneratedInjector.class));
+    }
+
+    @Test public void testUnsatisfiedDependenciesAreReported() {
+        MutablePicoContainer pico = container();
+        pico.addComponent(Engine.class);
+        pico.addComponent(Car.class);
+
+        try {
+            pico.getComponent(Car.class);
+            fail();
+        } catch (UnsatisfiableDependenciesException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("'name'"));
+        }
+    }
+
+    @Test public void testCheckedExceptionsOfComponentsAreWrapped() {
+        MutablePicoContainer pico = container();
+        pico.addComponent(Broken.class);
+
+        try {
+            pico.getComponent(Broken.class);
+            fail();
+        } catch (PicoCompositionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test public void testCyclicDependenciesAreDetected() {
+        MutablePicoContainer pico = container();
+        pico.addComponent(Chicken.class);
+        pico.addComponent(Egg.class);
+
+        try {
+            pico.getComponent(Chicken.class);
+            fail();
+        } catch (CyclicDependencyException e) {
+            assertEquals(Chicken.class, e.getDependencies()[0]);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.annotations.Inject;
+
+public class MemberInvokersTestCase {
+
+    public static class Widget {
+        public final String name;
+        public final int size;
+        public long weight;
+        public String label;
+
+        public Widget() {
+            this("none", 0);
+        }
+
+        public Widget(final String name, final int size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        public Widget(final String a, final String b, final String c, final String d, final String e, final String f, final int size) {
+            this(a + b + c + d + e + f, size);
+        }
+
+        public int grow(final int by) {
+            return size + by;
+        }
+
+        public void setWeight(final long weight) {
+            this.weight = weight;
+        }
+
+        public void explode() {
+            throw new IllegalStateException("boom");
+        }
+
+        public static String describe(final String name) {
+            return "widget " + name;
+        }
+    }
+
+    private static class Hidden {
+        private final String name;
+
+        private Hidden(final String name) {
+            this.name = name;
+        }
+
+        private String shout() {
+            return name.toUpperCase();
+        }
+    }
+
+    @Test public void testEveryEngineCallsConstructors() throws Exception {
+        Constructor<Widget> ctor = Widget.class.getConstructor(String.class, int.class);
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            Widget widget = invoker.newInstance(ctor, new Object[] {"foo", 3});
+            assertEquals(invoker.name(), "foo", widget.name);
+            assertEquals(invoker.name(), 3, widget.size);
+            assertEquals(invoker.name(), "none", invoker.newInstance(Widget.class.getConstructor(), null).name);
+        }
+    }
+
+    @Test public void testEveryEngineCallsConstructorsWithManyArguments() throws Exception {
+        Constructor<Widget> ctor = Widget.class.getConstructor(String.class, String.class, String.class, String.class, String.class, String.class, int.class);
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            Widget widget = invoker.newInstance(ctor, new Object[] {"a", "b", "c", "d", "e", "f", 7});
+            assertEquals(invoker.name(), "abcdef", widget.name);
+            assertEquals(invoker.name(), 7, widget.size);
+        }
+    }
+
+    @Test public void testEveryEngineCallsMethods() throws Exception {
+        Method grow = Widget.class.getMethod("grow", int.class);
+        Method describe = Widget.class.getMethod("describe", String.class);
+        Method setWeight = Widget.class.getMethod("setWeight", long.class);
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            Widget widget = new Widget("foo", 3);
+            assertEquals(invoker.name(), 5, invoker.invoke(grow, widget, new Object[] {2}));
+            assertEquals(invoker.name(), "widget foo", invoker.invoke(describe, null, new Object[] {"foo"}));
+            assertNull(invoker.name(), invoker.invoke(setWeight, widget, new Object[] {12L}));
+            assertEquals(invoker.name(), 12L, widget.weight);
+        }
+    }
+
+    @Test public void testEveryEngineSetsFields() throws Exception {
+        Field label = Widget.class.getField("label");
+        Field weight = Widget.class.getField("weight");
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            Widget widget = new Widget();
+            invoker.set(label, widget, "bar");
+            invoker.set(weight, widget, 4L);
+            assertEquals(invoker.name(), "bar", widget.label);
+            assertEquals(invoker.name(), 4L, widget.weight);
+        }
+    }
+
+    @Test public void testEveryEngineCallsAccessibleNonPublicMembers() throws Exception {
+        Constructor<Hidden> ctor = Hidden.class.getDeclaredConstructor(String.class);
+        ctor.setAccessible(true);
+        Method shout = Hidden.class.getDeclaredMethod("shout");
+        shout.setAccessible(true);
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            Hidden hidden = invoker.newInstance(ctor, new Object[] {"psst"});
+            assertEquals(invoker.name(), "PSST", invoker.invoke(shout, hidden, null));
+        }
+    }
+
+    @Test public void testEveryEngineWrapsWhatMembersThrowInInvocationTargetException() throws Exception {
+        Method explode = Widget.class.getMethod("explode");
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            try {
+                invoker.invoke(explode, new Widget(), null);
+                fail(invoker.name());
+            } catch (InvocationTargetException e) {
+                assertEquals(invoker.name(), IllegalStateException.class, e.getCause().getClass());
+                assertEquals(invoker.name(), "boom", e.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test public void testEveryEngineRejectsArgumentsThatDoNotFit() throws Exception {
+        Method grow = Widget.class.getMethod("grow", int.class);
+        Constructor<Widget> ctor = Widget.class.getConstructor(String.class, int.class);
+        Object[][] misfits = {{"two"}, {null}, {}, {1, 2}};
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            for (Object[] args : misfits) {
+                try {
+                    invoker.invoke(grow, new Widget(), args);
+                    fail(invoker.name() + " " + args.length);
+                } catch (IllegalArgumentException expected) {
+                }
+            }
+            try {
+                invoker.newInstance(ctor, new Object[] {3, "foo"});
+                fail(invoker.name());
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    @Test public void testEveryEngineRejectsMissingTargets() throws Exception {
+        Method grow = Widget.class.getMethod("grow", int.class);
+        for (MemberInvokers invoker : MemberInvokers.values()) {
+            try {
+                invoker.invoke(grow, null, new Object[] {1});
+                fail(invoker.name());
+            } catch (NullPointerException expected) {
+            }
+        }
+    }
+
+    @Test public void testEngineIsChosenByCharacteristics() {
+        MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.addComponent("plain", Widget.class);
+        pico.as(Characteristics.METHOD_HANDLE_INVOCATION).addComponent("handles", Widget.class);
+        pico.as(Characteristics.LAMBDA_INVOCATION).addComponent("lambdas", Widget.class);
+
+        assertSame(MemberInvokers.REFLECTION, memberInvokerOf(pico, "plain"));
+        assertSame(MemberInvokers.METHOD_HANDLES, memberInvokerOf(pico, "handles"));
+        assertSame(MemberInvokers.LAMBDAS, memberInvokerOf(pico, "lambdas"));
+        assertEquals("none", ((Widget) pico.getComponent("lambdas")).name);
+    }
+
+    public static class Part {
+    }
+
+    public static class Gadget {
+        @Inject
+        public Part part;
+        public String label;
+
+        public void setLabel(final String label) {
+            this.label = label;
+        }
+    }
+
+    @Test public void testPicoBuilderChoosesTheEngineOfAllComponents() {
+        MutablePicoContainer pico = new PicoBuilder().withLambdaInvocation().withSetterInjection().withAnnotatedFieldInjection().build();
+        pico.addComponent(Part.class);
+        pico.addComponent(String.class, "shiny");
+        pico.addComponent(Gadget.class);
+
+        Gadget gadget = pico.getComponent(Gadget.class);
+        assertEquals("shiny", gadget.label);
+        assertNotNull(gadget.part);
+        assertSame(MemberInvokers.LAMBDAS, memberInvokerOf(pico, Gadget.class));
+
+        pico = new PicoBuilder().withMethodHandleInvocation().build();
+        pico.addComponent(Widget.class);
+        assertSame(MemberInvokers.METHOD_HANDLES, memberInvokerOf(pico, Widget.class));
+    }
+
+    @Test public void testChosenEngineIsKeptWhenSerialized() throws Exception {
+        MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.addComponent("plain", Widget.class);
+        pico.as(Characteristics.METHOD_HANDLE_INVOCATION).addComponent("handles", Widget.class);
+
+        assertSame(MemberInvokers.REFLECTION, roundTrip(pico.getComponentAdapter("plain").findAdapterOfType(AbstractInjector.class)).getMemberInvoker());
+        assertSame(MemberInvokers.METHOD_HANDLES, roundTrip(pico.getComponentAdapter("handles").findAdapterOfType(AbstractInjector.class)).getMemberInvoker());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(final T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    private static MemberInvoker memberInvokerOf(final MutablePicoContainer pico, final Object key) {
+        return pico.getComponentAdapter(key).findAdapterOfType(AbstractInjector.class).getMemberInvoker();
+    }
+}
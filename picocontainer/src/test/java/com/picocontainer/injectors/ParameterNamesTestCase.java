@@ -0,0 +1,91 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import static com.picocontainer.Characteristics.USE_NAMES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+
+public class ParameterNamesTestCase {
+
+    public static class Dimensions {
+        public final int width;
+        public final int height;
+
+        public Dimensions(final int width, final int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        public void resize(final int newWidth) {
+        }
+    }
+
+    @Test public void testLooksUpTheNamesOfConstructorParameters() throws NoSuchMethodException {
+        Constructor<Dimensions> constructor = Dimensions.class.getConstructor(int.class, int.class);
+
+        assertEquals("width", ParameterNames.bindingOf(constructor, 0).getName());
+        assertEquals("height", ParameterNames.bindingOf(constructor, 1).getName());
+    }
+
+    @Test public void testBindingsAreSharedAcrossLookups() throws NoSuchMethodException {
+        Method resize = Dimensions.class.getMethod("resize", int.class);
+
+        assertSame(ParameterNames.bindingOf(resize, 0), ParameterNames.bindingOf(Dimensions.class.getMethod("resize", int.class), 0));
+        assertEquals("newWidth", ParameterNames.bindingOf(resize, 0).getName());
+    }
+
+    @Test public void testParametersOutOfRangeHaveNoName() throws NoSuchMethodException {
+        assertEquals("", ParameterNames.bindingOf(Dimensions.class.getMethod("resize", int.class), 1).getName());
+    }
+
+    @Test public void testContainerLooksNamesUpOnItsExecutorAsComponentsAreAdded() {
+        final List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+        DefaultPicoContainer pico = new DefaultPicoContainer();
+        pico.setParameterNamesExecutor(executor);
+
+        pico.as(USE_NAMES).addComponent(Dimensions.class);
+        pico.addComponent("width", 3);
+        pico.addComponent("height", 4);
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        Dimensions dimensions = pico.getComponent(Dimensions.class);
+        assertEquals(3, dimensions.width);
+        assertEquals(4, dimensions.height);
+        assertSame(executor, ((DefaultPicoContainer) pico.makeChildContainer()).getParameterNamesExecutor());
+    }
+
+    @Test public void testNamesAreLookedUpWhenFirstInjectedIfTheExecutorRejectsTheLookUp() {
+        DefaultPicoContainer pico = new DefaultPicoContainer();
+        pico.setParameterNamesExecutor(task -> {
+            throw new RejectedExecutionException("shut down");
+        });
+
+        pico.as(USE_NAMES).addComponent(Dimensions.class);
+        pico.addComponent("width", 3);
+        pico.addComponent("height", 4);
+
+        Dimensions dimensions = pico.getComponent(Dimensions.class);
+        assertEquals(3, dimensions.width);
+        assertEquals(4, dimensions.height);
+    }
+}
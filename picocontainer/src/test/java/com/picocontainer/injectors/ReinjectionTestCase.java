@@ -257,6 +257,8 @@ public class ReinjectionTestCase extends AbstractComponentFactoryTest {
         mockery.checking(new Expectations() {{
             atLeast(1).of(cm).newInjector(with(any(com.picocontainer.Injector.class)));
             will(new ReturnParameterAction(0));
+            allowing(cm).isMonitoring(with(any(ComponentMonitor.Event.class)));
+            will(returnValue(true));
             one(cm).invoking(with(any(PicoContainer.class)), with(any(ComponentAdapter.class)),
                     with(any(Method.class)), with(any(Object.class)), with(any(Object[].class)));
             will(returnValue(ComponentMonitor.KEEP));
@@ -0,0 +1,136 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.injectors.AbstractInjector.CyclicDependencyException;
+
+public class ResolutionStackTestCase {
+
+    public static class A {
+        public A(final B b) {
+        }
+    }
+
+    public static class B {
+        public B(final C c) {
+        }
+    }
+
+    public static class C {
+        public C(final B b) {
+        }
+    }
+
+    @Test public void testReenteringAnOwnerForTheSamePurposeIsACycle() {
+        final Object owner = new Object();
+        final ResolutionStack resolution = ResolutionStack.enter(owner, ResolutionStack.INSTANTIATION, String.class);
+        try {
+            ResolutionStack.enter(owner, ResolutionStack.VERIFICATION, String.class).exit();
+            ResolutionStack.enter(new Object(), ResolutionStack.INSTANTIATION, String.class).exit();
+            ResolutionStack.enter(owner, ResolutionStack.INSTANTIATION, Integer.class);
+            fail();
+        } catch (CyclicDependencyException e) {
+            assertArrayEquals(new Class[] {Integer.class, String.class}, e.getDependencies());
+        } finally {
+            resolution.exit();
+        }
+        assertEquals(0, ResolutionStack.depth());
+    }
+
+    @Test public void testTheStackGrowsBeyondItsInitialDepth() {
+        final Object[] owners = new Object[100];
+        final ResolutionStack[] resolutions = new ResolutionStack[owners.length];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = new Object();
+            resolutions[i] = ResolutionStack.enter(owners[i], ResolutionStack.INSTANTIATION, Object.class);
+        }
+        assertEquals(owners.length, ResolutionStack.depth());
+        try {
+            ResolutionStack.enter(owners[0], ResolutionStack.INSTANTIATION, Object.class);
+            fail();
+        } catch (CyclicDependencyException expected) {
+        }
+        for (int i = owners.length - 1; i >= 0; i--) {
+            resolutions[i].exit();
+        }
+        assertEquals(0, ResolutionStack.depth());
+    }
+
+    @Test public void testCyclesReportThePathFromTheInnermostFrameAndUnwindTheStack() {
+        final MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.addComponent(A.class);
+        pico.addComponent(B.class);
+        pico.addComponent(C.class);
+
+        try {
+            pico.getComponent(A.class);
+            fail();
+        } catch (CyclicDependencyException e) {
+            assertArrayEquals(new Class[] {B.class, C.class, B.class, A.class}, e.getDependencies());
+        }
+        assertEquals(0, ResolutionStack.depth());
+    }
+
+    public static class Gate {
+        static CountDownLatch arrived;
+        static CountDownLatch open;
+
+        public Gate() throws InterruptedException {
+            arrived.countDown();
+            open.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    public static class Passenger {
+        public final Gate gate;
+
+        public Passenger(final Gate gate) {
+            this.gate = gate;
+        }
+    }
+
+    @Test public void testThreadsResolvingTheSameInjectorConcurrentlyAreNoCycle() throws Exception {
+        final MutablePicoContainer pico = new DefaultPicoContainer();
+        pico.addComponent(Gate.class);
+        pico.addComponent(Passenger.class);
+
+        final int threads = 4;
+        Gate.arrived = new CountDownLatch(threads);
+        Gate.open = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Future<?>[] passengers = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                passengers[i] = executor.submit(() -> pico.getComponent(Passenger.class));
+            }
+            Gate.arrived.await(10, TimeUnit.SECONDS);
+            Gate.open.countDown();
+            for (Future<?> passenger : passengers) {
+                assertSame(Passenger.class, passenger.get(10, TimeUnit.SECONDS).getClass());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
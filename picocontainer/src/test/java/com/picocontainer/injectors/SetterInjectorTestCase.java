@@ -483,6 +483,8 @@ public class SetterInjectorTestCase
         mockery.checking(new Expectations() {{
             oneOf(componentMonitor).newInjector(with(any(com.picocontainer.Injector.class)));
             will(returnSameInjector());
+            allowing(componentMonitor).isMonitoring(with(any(ComponentMonitor.Event.class)));
+            will(returnValue(true));
         }});
 
         pico.addComponent(B.class);
@@ -499,6 +501,8 @@ public class SetterInjectorTestCase
                     with(same(pico)), with(any(ComponentAdapter.class)), with(equal(B.class.getConstructor())),
                     with(any(Object.class)), with(equal(new Object[0])), with(any(long.class))
            );
+            oneOf(componentMonitor).resolving(with(same(pico)), with(any(ComponentAdapter.class)));
+            oneOf(componentMonitor).resolved(with(same(pico)), with(any(ComponentAdapter.class)));
         }});
         pico.getComponent(B.class);
 
@@ -2,6 +2,13 @@ package com.picocontainer.lifecycle;
 
 import static com.picocontainer.Characteristics.CACHE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 
 import org.junit.Test;
 
@@ -29,4 +36,34 @@ public class CompositeLifecycleStrategyTestCase {
         assertEquals("<<>>!!", sb.toString());
     }
 
+    @Test
+    public void testReflectionStrategiesWithDifferentMethodNamesCanBeComposed() throws Exception {
+        CompositeLifecycleStrategy lifecycle = new CompositeLifecycleStrategy(
+            new ReflectionLifecycleStrategy(new NullComponentMonitor(), "sstart", "sstop", "ddispose"),
+            serializedAndBack(new ReflectionLifecycleStrategy(new NullComponentMonitor())));
+        StringBuilder sb = new StringBuilder();
+
+        ThirdPartyStartableComponent thirdParty = new ThirdPartyStartableComponent(sb);
+        BuiltInStartableComponent builtIn = new BuiltInStartableComponent(sb);
+        lifecycle.start(thirdParty);
+        lifecycle.start(builtIn);
+        lifecycle.dispose(builtIn);
+        lifecycle.dispose(thirdParty);
+
+        assertEquals("<<!!", sb.toString());
+        assertTrue(lifecycle.hasLifecycle(ThirdPartyStartableComponent.class));
+        assertFalse(lifecycle.hasLifecycle(StringBuilder.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T serializedAndBack(final T object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
 }
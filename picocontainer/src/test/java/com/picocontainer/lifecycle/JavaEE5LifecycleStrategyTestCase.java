@@ -8,6 +8,8 @@
 package com.picocontainer.lifecycle;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -164,4 +166,26 @@ public class JavaEE5LifecycleStrategyTestCase {
         assertEquals("post()pre()", pico.getComponent(StringBuilder.class).toString());
     }
 
+    @Test
+    public void testLifecycleMethodsAreCalledOnEachInstanceOfAClass() {
+        StringBuilder sb = new StringBuilder();
+        strategy.start(new ProPostAnnotationJava5Startable2(sb));
+        strategy.start(new ProPostAnnotationJava5Startable2(sb));
+        strategy.dispose(new ProPostAnnotationJava5Startable2(sb));
+        assertEquals("post()subPost()post()subPost()subPre()pre()", sb.toString());
+    }
+
+    public static class InheritedLifecycle extends ProPostAnnotationJava5Startable {
+        public InheritedLifecycle(final StringBuilder sb) {
+            super(sb);
+        }
+    }
+
+    @Test
+    public void testOnlyMethodsDeclaredByTheClassItselfGiveItALifecycle() {
+        assertTrue(strategy.hasLifecycle(ProPostAnnotationJava5Startable2.class));
+        assertFalse(strategy.hasLifecycle(InheritedLifecycle.class));
+        assertFalse(strategy.hasLifecycle(Object.class));
+    }
+
 }
\ No newline at end of file
@@ -50,6 +50,12 @@ public class ReflectionLifecycleStrategyTestCase {
 	@Before
 	public void setUp() {
 		monitor = mockery.mock(ComponentMonitor.class);
+		mockery.checking(new Expectations() {
+			{
+				allowing(monitor).isMonitoring(with(any(ComponentMonitor.Event.class)));
+				will(returnValue(true));
+			}
+		});
 		strategy = new ReflectionLifecycleStrategy(monitor);
 	}
 
@@ -101,6 +107,8 @@ public class ReflectionLifecycleStrategyTestCase {
 		mockery.checking(new Expectations() {
 			{
 				atLeast(1).of(disposable).dispose();
+				allowing(monitor2).isMonitoring(with(any(ComponentMonitor.Event.class)));
+				will(returnValue(true));
 				one(monitor).invoking(
 						with(aNull(PicoContainer.class)),
 						with(aNull(ComponentAdapter.class)),
@@ -0,0 +1,155 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+
+public class AsyncWriterComponentMonitorTestCase {
+
+    private static final String NL = System.getProperty("line.separator");
+
+    public static class Component {
+    }
+
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private AsyncWriterComponentMonitor monitor;
+
+    @After
+    public void tearDown() {
+        released.countDown();
+        monitor.close();
+    }
+
+    @Test public void testWritesTheSameLinesAsTheWriterComponentMonitor() {
+        StringWriter async = new StringWriter();
+        StringWriter sync = new StringWriter();
+        monitor = new AsyncWriterComponentMonitor(async);
+        WriterComponentMonitor writerMonitor = new WriterComponentMonitor(sync);
+
+        for (Writer out : new Writer[] {async, sync}) {
+            DefaultPicoContainer pico = new DefaultPicoContainer(out == async ? monitor : writerMonitor);
+            pico.addComponent(Component.class);
+            pico.getComponent(Component.class);
+            pico.getComponent("missing");
+        }
+
+        monitor.flush();
+        assertEquals(removeDurations(sync.toString()), removeDurations(async.toString()));
+        assertEquals(3, async.toString().split(NL).length);
+    }
+
+    @Test public void testEventsAreDroppedAndCountedWhenTheBufferIsFull() throws InterruptedException {
+        StringWriter out = new StringWriter();
+        monitor = new AsyncWriterComponentMonitor(new BlockingWriter(out), 4, AsyncWriterComponentMonitor.OverflowPolicy.DROP,
+            new NullComponentMonitor());
+        monitor.noComponentFound(null, "first");
+        writing.await();
+
+        for (int i = 0; i < 100; i++) {
+            monitor.noComponentFound(null, i);
+        }
+
+        assertEquals(96, monitor.getDroppedEvents());
+
+        released.countDown();
+        monitor.flush();
+        assertEquals(5, out.toString().split(NL).length);
+    }
+
+    @Test public void testNoEventIsDroppedWhenThreadsWaitForRoom() throws InterruptedException {
+        StringWriter out = new StringWriter();
+        monitor = new AsyncWriterComponentMonitor(new BlockingWriter(out), 4, AsyncWriterComponentMonitor.OverflowPolicy.BLOCK,
+            new NullComponentMonitor());
+
+        // The writer thread is stuck writing this one until released, so the buffer can't drain
+        monitor.noComponentFound(null, "first");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                monitor.noComponentFound(null, i);
+            }
+        });
+        producer.start();
+        Thread.State state = producer.getState();
+        for (int i = 0; i < 5000 && state != Thread.State.TIMED_WAITING; i++) {
+            Thread.sleep(1);
+            state = producer.getState();
+        }
+        assertEquals(Thread.State.TIMED_WAITING, state);
+        assertTrue(producer.isAlive());
+
+        released.countDown();
+        producer.join();
+        monitor.flush();
+        assertEquals(0, monitor.getDroppedEvents());
+        assertEquals(101, out.toString().split(NL).length);
+    }
+
+    @Test public void testEventsAfterCloseAreDropped() {
+        StringWriter out = new StringWriter();
+        monitor = new AsyncWriterComponentMonitor(out);
+        monitor.noComponentFound(null, "before");
+        monitor.close();
+        monitor.noComponentFound(null, "after");
+
+        assertEquals(ComponentMonitorHelper.format(ComponentMonitorHelper.NO_COMPONENT, "before") + NL, out.toString());
+        assertEquals(1, monitor.getDroppedEvents());
+    }
+
+    private static String removeDurations(final String lines) {
+        return lines.replaceAll("\\[\\d+ ms\\]", "");
+    }
+
+    /**
+     * Holds the writer thread until the test releases it.
+     */
+    private class BlockingWriter extends Writer {
+        private final Writer out;
+
+        BlockingWriter(final Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            try {
+                writing.countDown();
+                released.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            out.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.Startable;
+import com.picocontainer.behaviors.ImplementationHiding;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+
+public class MetricsComponentMonitorTestCase {
+
+    public interface Service {
+        int ping();
+    }
+
+    public static class ServiceImpl implements Service, Startable {
+        public int ping() {
+            return 1;
+        }
+
+        public void start() {
+        }
+
+        public void stop() {
+        }
+    }
+
+    public static class Client {
+        public Client(final Service service) {
+        }
+    }
+
+    private final MetricsComponentMonitor monitor = new MetricsComponentMonitor();
+
+    @Test public void testInstantiationsAreCountedPerKey() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(monitor);
+        pico.addComponent(Service.class, ServiceImpl.class);
+        pico.addComponent(Client.class);
+
+        pico.getComponent(Client.class);
+        pico.getComponent(Client.class);
+
+        Map<Object, LatencyHistogram.Snapshot> instantiations = monitor.snapshot().getLatencies(MetricsComponentMonitor.Kind.INSTANTIATION);
+        assertEquals(2, instantiations.get(Client.class).getCount());
+        assertEquals(2, instantiations.get(Service.class).getCount());
+    }
+
+    @Test public void testCallsToHiddenComponentsAreTimed() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor, new ImplementationHiding());
+        pico.addComponent(Service.class, ServiceImpl.class);
+
+        Service service = pico.getComponent(Service.class);
+        service.ping();
+        service.ping();
+        service.ping();
+
+        assertEquals(3, monitor.snapshot().getLatencies(MetricsComponentMonitor.Kind.INVOCATION).get(Service.class).getCount());
+    }
+
+    @Test public void testLifecycleMethodsAreTimedPerImplementation() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor);
+        pico.as(Characteristics.CACHE).addComponent(Service.class, ServiceImpl.class);
+
+        pico.start();
+        pico.stop();
+
+        assertEquals(2, monitor.snapshot().getLatencies(MetricsComponentMonitor.Kind.LIFECYCLE).get(ServiceImpl.class).getCount());
+    }
+
+    @Test public void testMissesAreCounted() {
+        monitor.noComponentFound(null, "missing");
+        monitor.noComponentFound(null, "missing");
+
+        assertEquals(Long.valueOf(2), monitor.snapshot().getMisses().get("missing"));
+    }
+
+    @Test public void testResetForgetsEverything() {
+        monitor.noComponentFound(null, "missing");
+        monitor.reset();
+
+        assertTrue(monitor.snapshot().getMisses().isEmpty());
+    }
+
+    @Test public void testHistogramPercentilesAreWithinABucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000000, snapshot.getMax());
+        assertEquals(500500.0, snapshot.getMean(), 0.001);
+        assertWithin(500000, snapshot.getValueAtPercentile(50));
+        assertWithin(990000, snapshot.getValueAtPercentile(99));
+        assertEquals(1000000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test public void testBucketsFollowEachOther() {
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS - 1; bucket++) {
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.lowestOf(bucket)));
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.lowestOf(bucket + 1) - 1));
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test public void testExportsAsTextAndJson() throws IOException {
+        DefaultPicoContainer pico = new DefaultPicoContainer(monitor);
+        pico.addComponent("service", ServiceImpl.class);
+        pico.getComponent("service");
+        monitor.noComponentFound(null, "a \"quoted\" key");
+
+        StringBuilder text = new StringBuilder();
+        monitor.export(MetricsExporters.text(text));
+        assertTrue(text.toString(), text.toString().startsWith("instantiation service count=1 mean="));
+        assertTrue(text.toString(), text.toString().contains("miss a \"quoted\" key count=1"));
+
+        String json = monitor.getMetricsAsJson();
+        assertTrue(json, json.startsWith("{\"instantiation\":{\"service\":{\"count\":1,\"sum\":"));
+        assertTrue(json, json.endsWith("\"lock_wait\":{},\"miss\":{\"a \\\"quoted\\\" key\":1}}"));
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(expected + " expected, but was " + actual, actual >= expected && actual <= expected * 1.25);
+    }
+}
@@ -10,20 +10,30 @@
 package com.picocontainer.monitors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static com.picocontainer.tck.MockFactory.mockeryWithCountingNamingScheme;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jmock.Mockery;
 import org.jmock.integration.junit4.JMock;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.picocontainer.Characteristics;
 import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.DefaultPicoContainer;
 import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoLifecycleException;
+import com.picocontainer.Startable;
 import com.picocontainer.monitors.NullComponentMonitor;
 
 @RunWith(JMock.class)
@@ -51,6 +61,53 @@ public class NullComponentMonitorTestCase {
 
     }
 
+    @Test public void testMonitorsNothingUnlessAskedTo() {
+        for (ComponentMonitor.Event event : ComponentMonitor.Event.values()) {
+            assertFalse(new NullComponentMonitor().isMonitoring(event));
+            assertTrue(new NullComponentMonitor() {}.isMonitoring(event));
+            assertTrue(new AbstractComponentMonitor().isMonitoring(event));
+            assertFalse(new ComposingMonitor().isMonitoring(event));
+            assertTrue(new ComposingMonitor(new ConsoleComponentMonitor()).isMonitoring(event));
+            assertFalse(new LifecycleComponentMonitor().isMonitoring(event));
+            assertFalse(new DefaultPicoContainer().currentMonitor().isMonitoring(event));
+        }
+    }
+
+    @Test public void testEventsThatAreNotMonitoredAreLeftOut() {
+        final List<String> events = new ArrayList<String>();
+        DefaultPicoContainer pico = new DefaultPicoContainer(new NullComponentMonitor() {
+            @Override
+            public boolean isMonitoring(final Event event) {
+                return event == Event.INVOCATION;
+            }
+
+            @Override
+            public <T> Constructor<T> instantiating(final PicoContainer container, final ComponentAdapter<T> componentAdapter,
+                                                    final Constructor<T> constructor) {
+                events.add("instantiating");
+                return constructor;
+            }
+
+            @Override
+            public void invoked(final PicoContainer container, final ComponentAdapter<?> componentAdapter, final Member member,
+                                final Object instance, final long duration, final Object retVal, final Object... args) {
+                events.add("invoked " + member.getName());
+            }
+        });
+        pico.as(Characteristics.CACHE).addComponent(Lifecycle.class);
+        pico.start();
+
+        assertEquals("[invoked start]", events.toString());
+    }
+
+    public static class Lifecycle implements Startable {
+        public void start() {
+        }
+
+        public void stop() {
+        }
+    }
+
     private MutablePicoContainer makePico() {
         return mockery.mock(MutablePicoContainer.class);
     }
@@ -0,0 +1,155 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ * Original code by                                                          *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.Startable;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+
+public class ProfilingComponentMonitorTestCase {
+
+    public static class Leaf {
+    }
+
+    public static class Middle {
+        public Middle(final Leaf leaf) {
+        }
+    }
+
+    public static class Top implements Startable {
+        public Top(final Middle middle) {
+        }
+
+        public void start() {
+        }
+
+        public void stop() {
+        }
+    }
+
+    public static class SetterTop implements Startable {
+        public void setMiddle(final Middle middle) {
+        }
+
+        public void start() {
+        }
+
+        public void stop() {
+        }
+    }
+
+    private final StringWriter collapsedStacks = new StringWriter();
+    private final StringWriter summary = new StringWriter();
+    private final ProfilingComponentMonitor monitor = new ProfilingComponentMonitor(new NullComponentMonitor(), collapsedStacks, summary, 2);
+
+    @Test public void testRecordsWhoGotWhomInstantiatedWhileStarting() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor);
+        pico.setName("app");
+        pico.addComponent(Leaf.class);
+        pico.addComponent(Middle.class);
+        pico.as(Characteristics.CACHE).addComponent(Top.class);
+
+        pico.start();
+
+        List<StartupProfile.Frame> roots = monitor.getLastProfile().getRoots();
+        assertEquals(1, roots.size());
+        StartupProfile.Frame start = roots.get(0);
+        assertEquals("start app", start.getName());
+        assertEquals("[" + Top.class.getName() + ", " + Top.class.getName() + ".start]", start.getChildren().toString());
+
+        StartupProfile.Frame top = start.getChildren().get(0);
+        StartupProfile.Frame middle = top.getChildren().get(0);
+        assertEquals(Middle.class.getName(), middle.getName());
+        assertEquals(Leaf.class.getName(), middle.getChildren().get(0).getName());
+        assertEquals(top.getTotal() - middle.getTotal(), top.getSelf());
+        assertTrue(top.getReflection() + top.getConstruction() <= top.getSelf());
+    }
+
+    @Test public void testWritesCollapsedStacksAndASummaryOnceStarted() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor);
+        pico.addComponent(Leaf.class);
+        pico.addComponent(Middle.class);
+        pico.as(Characteristics.CACHE).addComponent(Top.class);
+
+        pico.start();
+
+        String path = "start container;" + Top.class.getName() + ";" + Middle.class.getName() + ";" + Leaf.class.getName() + " ";
+        assertTrue(collapsedStacks.toString(), collapsedStacks.toString().contains(path));
+        for (String line : collapsedStacks.toString().split("\n")) {
+            assertTrue(line, line.matches("start container(;[\\w.$]+)* \\d+"));
+        }
+
+        String[] lines = summary.toString().trim().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0], lines[0].contains("self ms"));
+    }
+
+    @Test public void testComponentsOfSetterInjectorsAreProfiled() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor);
+        pico.addComponent(Leaf.class);
+        pico.addComponent(Middle.class);
+        pico.as(Characteristics.CACHE, Characteristics.SDI).addComponent(SetterTop.class);
+
+        pico.start();
+
+        String path = "start container;" + SetterTop.class.getName() + ";" + Middle.class.getName() + ";" + Leaf.class.getName() + " ";
+        assertTrue(collapsedStacks.toString(), collapsedStacks.toString().contains(path));
+    }
+
+    @Test public void testNothingIsRecordedOutsideOfStarts() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor);
+        pico.addComponent(Leaf.class);
+        pico.addComponent(Middle.class);
+
+        pico.getComponent(Middle.class);
+
+        assertNull(monitor.getLastProfile());
+        assertEquals("", collapsedStacks.toString());
+    }
+
+    @Test public void testFailureToWriteTheProfileDoesNotFailTheStart() {
+        final IOException failure = new IOException("disk full");
+        ProfilingComponentMonitor brokenMonitor = new ProfilingComponentMonitor(new Writer() {
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) {
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw failure;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, null);
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(brokenMonitor), brokenMonitor);
+        pico.addComponent(Leaf.class);
+
+        pico.start();
+
+        assertNotNull(brokenMonitor.getLastProfile());
+        assertSame(failure, brokenMonitor.getLastWriteFailure());
+    }
+}
@@ -132,6 +132,26 @@ public class WriterComponentMonitorTestCase  {
                      out.toString());
     }
 
+    @Test public void testShouldTraceLockWaited() {
+        AbstractAdapter adapter = new AbstractAdapter("foo", String.class) {
+            @Override
+            public Object getComponentInstance(final PicoContainer container, final Type into) {
+                return null;
+            }
+
+            @Override
+            public void verify(final PicoContainer container) {
+            }
+
+            @Override
+            public String getDescriptor() {
+                return null;
+            }
+        };
+        monitor.lockWaited(null, adapter, 1500);
+        Assertions.assertEquals(format(ComponentMonitorHelper.LOCK_WAITED, "foo", 1500L) + NL, out.toString());
+    }
+
     @Test public void testNoComponent() {
 
         monitor.noComponentFound(new TransientPicoContainer(), "foo");